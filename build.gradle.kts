@@ -9,6 +9,16 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations.implementation.get())
+configurations["jmhCompileOnly"].extendsFrom(configurations.compileOnly.get())
+
 dependencies {
 
     compileOnly("org.jetbrains:annotations:24.0.1")
@@ -21,8 +31,21 @@ dependencies {
 
     testImplementation("org.openjdk.jmh:jmh-core:1.36")
     testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.36")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.36")
+    "jmhImplementation"("software.amazon.awssdk:dynamodb-enhanced:2.20.22")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.36")
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// gradle jmh -Pjmh="ShapeBenchmark -p shape=wide"
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks with the GC profiler for every thread count up to the core count"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.dooq.benchmarks.BenchmarkRunner")
+    args = (project.findProperty("jmh") as String? ?: "").split(" ").filter { it.isNotBlank() }
+}
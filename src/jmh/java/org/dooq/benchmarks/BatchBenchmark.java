@@ -0,0 +1,51 @@
+package org.dooq.benchmarks;
+
+import org.dooq.converter.Converter;
+import org.dooq.converter.DynamoConverter;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Converter#readAll(List)} and {@link Converter#writeAll(List)} over large batches of flat items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private final Converter<Shapes.Flat> converter = DynamoConverter.getConverter(Shapes.Flat.class);
+    private List<Shapes.Flat> values;
+    private List<Map<String, AttributeValue>> items;
+
+    @Setup
+    public void setup() {
+        values = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            values.add(Shapes.flat(i));
+        }
+
+        items = converter.writeAll(values);
+    }
+
+    @Benchmark
+    public List<Map<String, AttributeValue>> writeAll() {
+        return converter.writeAll(values);
+    }
+
+    @Benchmark
+    public List<Shapes.Flat> readAll() {
+        return converter.readAll(items);
+    }
+}
@@ -0,0 +1,54 @@
+package org.dooq.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the selected benchmarks once per thread count, from 1 up to the number of cores, with the GC profiler
+ * attached so every result also reports {@code gc.alloc.rate.norm} (bytes/op).
+ * <p>
+ * Arguments are regular JMH command line options, e.g. {@code ShapeBenchmark -p shape=wide}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+
+        var commandLine = new CommandLineOptions(args);
+
+        for (int threads : threadCounts(Runtime.getRuntime().availableProcessors())) {
+
+            var options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+
+    /**
+     * Powers of two up to the core count, always including the core count itself
+     */
+    static List<Integer> threadCounts(int cores) {
+        List<Integer> counts = new ArrayList<>();
+
+        for (int threads = 1; threads < cores; threads *= 2) {
+            counts.add(threads);
+        }
+
+        counts.add(cores);
+
+        return counts;
+    }
+}
@@ -0,0 +1,94 @@
+package org.dooq.benchmarks;
+
+import org.dooq.converter.Converter;
+import org.dooq.converter.DynamoConverter;
+import org.dooq.converter.collections.LongHashSet;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Read and write of a single collection field per supported collection type and element size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+
+    @Param({"List<String>", "List<Integer>", "List<Boolean>", "List<Leaf>",
+            "Set<String>", "Set<BigDecimal>", "Set<Long>", "LongHashSet", "int[]", "double[]",
+            "Map<String,String>", "Map<String,BigDecimal>"})
+    public String collection;
+
+    @Param({"10", "100"})
+    public int size;
+
+    private Converter<Object> converter;
+    private Object value;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+
+        value = switch (collection) {
+            case "List<String>" -> new Shapes.StringList(list(i -> "value " + i));
+            case "List<Integer>" -> new Shapes.IntegerList(list(i -> i));
+            case "List<Boolean>" -> new Shapes.BooleanList(list(i -> i % 2 == 0));
+            case "List<Leaf>" -> new Shapes.LeafList(list(i -> new Shapes.Leaf("leaf " + i, i)));
+            case "Set<String>" -> new Shapes.StringSet(new HashSet<>(list(i -> "value " + i)));
+            case "Set<BigDecimal>" -> new Shapes.DecimalSet(new HashSet<>(list(i -> BigDecimal.valueOf(i, 2))));
+            case "Set<Long>" -> new Shapes.LongSet(new HashSet<>(list(i -> 1_000_000L * i)));
+            case "LongHashSet" -> new Shapes.LongHashSetValue(longHashSet());
+            case "int[]" -> new Shapes.IntArray(IntStream.range(0, size).toArray());
+            case "double[]" -> new Shapes.DoubleArray(IntStream.range(0, size).mapToDouble(i -> i / 4d).toArray());
+            case "Map<String,String>" -> new Shapes.StringMap(map(i -> "value " + i));
+            case "Map<String,BigDecimal>" -> new Shapes.DecimalMap(map(i -> BigDecimal.valueOf(i, 2)));
+            default -> throw new IllegalArgumentException("Unknown collection: " + collection);
+        };
+
+        converter = (Converter<Object>) DynamoConverter.getConverter(value.getClass());
+        item = converter.write(value);
+    }
+
+    private <V> List<V> list(IntFunction<V> generator) {
+        return IntStream.range(0, size)
+                .mapToObj(generator)
+                .toList();
+    }
+
+    private LongHashSet longHashSet() {
+        var set = new LongHashSet(size);
+
+        for (int i = 0; i < size; i++) {
+            set.add(1_000_000L * i);
+        }
+
+        return set;
+    }
+
+    private <V> Map<String, V> map(IntFunction<V> generator) {
+        return IntStream.range(0, size)
+                .boxed()
+                .collect(Collectors.toMap(i -> "key" + i, generator::apply));
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> write() {
+        return converter.write(value);
+    }
+
+    @Benchmark
+    public Object read() {
+        return converter.read(item);
+    }
+}
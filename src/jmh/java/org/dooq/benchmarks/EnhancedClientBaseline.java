@@ -0,0 +1,65 @@
+package org.dooq.benchmarks;
+
+import org.dooq.converter.Converter;
+import org.dooq.converter.DynamoConverter;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.BeanTableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline against the SDK Enhanced Client's {@link BeanTableSchema} on the same bean classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnhancedClientBaseline {
+
+    @Param({"flat", "wide"})
+    public String shape;
+
+    private Converter<Object> converter;
+    private BeanTableSchema<Object> schema;
+    private Object value;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+
+        value = switch (shape) {
+            case "flat" -> Shapes.flat(1);
+            case "wide" -> Shapes.wide(1);
+            default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+        };
+
+        converter = (Converter<Object>) DynamoConverter.getConverter(value.getClass());
+        schema = (BeanTableSchema<Object>) BeanTableSchema.create(value.getClass());
+        item = converter.write(value);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> converterWrite() {
+        return converter.write(value);
+    }
+
+    @Benchmark
+    public Object converterRead() {
+        return converter.read(item);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> enhancedClientWrite() {
+        return schema.itemToMap(value, true);
+    }
+
+    @Benchmark
+    public Object enhancedClientRead() {
+        return schema.mapToItem(item);
+    }
+}
@@ -0,0 +1,90 @@
+package org.dooq.benchmarks;
+
+import org.dooq.converter.Converter;
+import org.dooq.converter.DynamoConverter;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.*;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read and write of a single field per supported scalar codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalarBenchmark {
+
+    @Param({"String", "char", "Character", "int", "Integer", "long", "Long", "short", "Short", "byte", "Byte",
+            "float", "Float", "double", "Double", "boolean", "Boolean",
+            "BigDecimal", "BigInteger", "LocalDate", "LocalDateTime", "Instant", "Instant(millis)", "OffsetDateTime", "Duration", "UUID", "UUID(binary)", "URL",
+            "bytes", "ByteBuffer"})
+    public String codec;
+
+    private Converter<Object> converter;
+    private Object value;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws MalformedURLException {
+
+        value = switch (codec) {
+            case "String" -> new Shapes.StringValue("The quick brown fox");
+            case "char" -> new Shapes.CharValue('x');
+            case "Character" -> new Shapes.CharacterValue('x');
+            case "int" -> new Shapes.IntValue(1_234_567);
+            case "Integer" -> new Shapes.IntegerValue(1_234_567);
+            case "long" -> new Shapes.LongValue(1_234_567_890_123L);
+            case "Long" -> new Shapes.LongerValue(1_234_567_890_123L);
+            case "short" -> new Shapes.ShortValue((short) 12_345);
+            case "Short" -> new Shapes.ShorterValue((short) 12_345);
+            case "byte" -> new Shapes.ByteValue((byte) 123);
+            case "Byte" -> new Shapes.ByterValue((byte) 123);
+            case "double" -> new Shapes.DoubleValue(1234.5678);
+            case "Double" -> new Shapes.DoublerValue(1234.5678);
+            case "float" -> new Shapes.FloatValue(1234.5f);
+            case "Float" -> new Shapes.FloaterValue(1234.5f);
+            case "boolean" -> new Shapes.BoolValue(true);
+            case "Boolean" -> new Shapes.BooleanValue(true);
+            case "BigDecimal" -> new Shapes.BigDecimalValue(new BigDecimal("123456.789"));
+            case "BigInteger" -> new Shapes.BigIntegerValue(new BigInteger("123456789012345678901234567890"));
+            case "LocalDate" -> new Shapes.LocalDateValue(LocalDate.of(2024, 5, 1));
+            case "LocalDateTime" -> new Shapes.LocalDateTimeValue(LocalDateTime.of(2024, 5, 1, 13, 45, 30));
+            case "Instant" -> new Shapes.InstantValue(Instant.parse("2024-05-01T13:45:30.123Z"));
+            case "Instant(millis)" -> new Shapes.InstantMillisValue(Instant.parse("2024-05-01T13:45:30.123Z"));
+            case "OffsetDateTime" -> new Shapes.OffsetDateTimeValue(OffsetDateTime.parse("2024-05-01T13:45:30+02:00"));
+            case "Duration" -> new Shapes.DurationValue(Duration.ofMinutes(90));
+            case "UUID" -> new Shapes.UUIDValue(UUID.fromString("4c2a9c54-5bb5-4a5e-8b9b-2f5f3c4a1d20"));
+            case "UUID(binary)" -> new Shapes.UUIDBinaryValue(UUID.fromString("4c2a9c54-5bb5-4a5e-8b9b-2f5f3c4a1d20"));
+            case "URL" -> new Shapes.URLValue(new URL("https://example.com/items/1"));
+            case "bytes" -> new Shapes.BytesValue(new byte[256]);
+            case "ByteBuffer" -> new Shapes.ByteBufferValue(ByteBuffer.allocate(256));
+            default -> throw new IllegalArgumentException("Unknown codec: " + codec);
+        };
+
+        converter = (Converter<Object>) DynamoConverter.getConverter(value.getClass());
+        item = converter.write(value);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> write() {
+        return converter.write(value);
+    }
+
+    @Benchmark
+    public Object read() {
+        return converter.read(item);
+    }
+}
@@ -0,0 +1,62 @@
+package org.dooq.benchmarks;
+
+import org.dooq.converter.Converter;
+import org.dooq.converter.DynamoConverter;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single item read, write and size estimate across entity shapes: flat and wide beans, a record with the flat bean's
+ * fields and nested beans of increasing depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeBenchmark {
+
+    @Param({"flat", "record", "wide", "nested-2", "nested-4", "nested-8"})
+    public String shape;
+
+    private Converter<Object> converter;
+    private Object value;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+
+        value = switch (shape) {
+            case "flat" -> Shapes.flat(1);
+            case "record" -> Shapes.flatRecord(1);
+            case "wide" -> Shapes.wide(1);
+            case "nested-2" -> Shapes.nested(2);
+            case "nested-4" -> Shapes.nested(4);
+            case "nested-8" -> Shapes.nested(8);
+            default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+        };
+
+        converter = (Converter<Object>) DynamoConverter.getConverter(value.getClass());
+        item = converter.write(value);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> write() {
+        return converter.write(value);
+    }
+
+    @Benchmark
+    public long estimateSize() {
+        return converter.estimateSize(value);
+    }
+
+    @Benchmark
+    public Object read() {
+        return converter.read(item);
+    }
+}
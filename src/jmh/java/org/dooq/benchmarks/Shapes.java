@@ -0,0 +1,633 @@
+package org.dooq.benchmarks;
+
+import org.dooq.converter.DynamoBinary;
+import org.dooq.converter.DynamoTemporal;
+import org.dooq.converter.collections.LongHashSet;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Entity shapes shared by the benchmarks.
+ * <p>
+ * Beans use plain {@code void} setters so the same classes can be mapped by the Enhanced Client.
+ */
+public final class Shapes {
+
+    private Shapes() {
+    }
+
+    @DynamoDbBean
+    public static class Flat {
+        private String id;
+        private String name;
+        private int age;
+        private boolean active;
+        private long score;
+        private float ratio;
+        private BigDecimal balance;
+        private LocalDate created;
+
+        @DynamoDbPartitionKey
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public long getScore() {
+            return score;
+        }
+
+        public void setScore(long score) {
+            this.score = score;
+        }
+
+        public float getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(float ratio) {
+            this.ratio = ratio;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        public LocalDate getCreated() {
+            return created;
+        }
+
+        public void setCreated(LocalDate created) {
+            this.created = created;
+        }
+    }
+
+    @DynamoDbBean
+    public static class Wide {
+        private String id;
+        private String text0;
+        private String text1;
+        private String text2;
+        private String text3;
+        private String text4;
+        private String text5;
+        private String text6;
+        private String text7;
+        private String text8;
+        private String text9;
+        private int count0;
+        private int count1;
+        private int count2;
+        private int count3;
+        private int count4;
+        private int count5;
+        private int count6;
+        private int count7;
+        private int count8;
+        private int count9;
+        private long total0;
+        private long total1;
+        private long total2;
+        private long total3;
+        private long total4;
+        private boolean flag0;
+        private boolean flag1;
+        private boolean flag2;
+        private boolean flag3;
+        private boolean flag4;
+
+        @DynamoDbPartitionKey
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getText0() {
+            return text0;
+        }
+
+        public void setText0(String text0) {
+            this.text0 = text0;
+        }
+
+        public String getText1() {
+            return text1;
+        }
+
+        public void setText1(String text1) {
+            this.text1 = text1;
+        }
+
+        public String getText2() {
+            return text2;
+        }
+
+        public void setText2(String text2) {
+            this.text2 = text2;
+        }
+
+        public String getText3() {
+            return text3;
+        }
+
+        public void setText3(String text3) {
+            this.text3 = text3;
+        }
+
+        public String getText4() {
+            return text4;
+        }
+
+        public void setText4(String text4) {
+            this.text4 = text4;
+        }
+
+        public String getText5() {
+            return text5;
+        }
+
+        public void setText5(String text5) {
+            this.text5 = text5;
+        }
+
+        public String getText6() {
+            return text6;
+        }
+
+        public void setText6(String text6) {
+            this.text6 = text6;
+        }
+
+        public String getText7() {
+            return text7;
+        }
+
+        public void setText7(String text7) {
+            this.text7 = text7;
+        }
+
+        public String getText8() {
+            return text8;
+        }
+
+        public void setText8(String text8) {
+            this.text8 = text8;
+        }
+
+        public String getText9() {
+            return text9;
+        }
+
+        public void setText9(String text9) {
+            this.text9 = text9;
+        }
+
+        public int getCount0() {
+            return count0;
+        }
+
+        public void setCount0(int count0) {
+            this.count0 = count0;
+        }
+
+        public int getCount1() {
+            return count1;
+        }
+
+        public void setCount1(int count1) {
+            this.count1 = count1;
+        }
+
+        public int getCount2() {
+            return count2;
+        }
+
+        public void setCount2(int count2) {
+            this.count2 = count2;
+        }
+
+        public int getCount3() {
+            return count3;
+        }
+
+        public void setCount3(int count3) {
+            this.count3 = count3;
+        }
+
+        public int getCount4() {
+            return count4;
+        }
+
+        public void setCount4(int count4) {
+            this.count4 = count4;
+        }
+
+        public int getCount5() {
+            return count5;
+        }
+
+        public void setCount5(int count5) {
+            this.count5 = count5;
+        }
+
+        public int getCount6() {
+            return count6;
+        }
+
+        public void setCount6(int count6) {
+            this.count6 = count6;
+        }
+
+        public int getCount7() {
+            return count7;
+        }
+
+        public void setCount7(int count7) {
+            this.count7 = count7;
+        }
+
+        public int getCount8() {
+            return count8;
+        }
+
+        public void setCount8(int count8) {
+            this.count8 = count8;
+        }
+
+        public int getCount9() {
+            return count9;
+        }
+
+        public void setCount9(int count9) {
+            this.count9 = count9;
+        }
+
+        public long getTotal0() {
+            return total0;
+        }
+
+        public void setTotal0(long total0) {
+            this.total0 = total0;
+        }
+
+        public long getTotal1() {
+            return total1;
+        }
+
+        public void setTotal1(long total1) {
+            this.total1 = total1;
+        }
+
+        public long getTotal2() {
+            return total2;
+        }
+
+        public void setTotal2(long total2) {
+            this.total2 = total2;
+        }
+
+        public long getTotal3() {
+            return total3;
+        }
+
+        public void setTotal3(long total3) {
+            this.total3 = total3;
+        }
+
+        public long getTotal4() {
+            return total4;
+        }
+
+        public void setTotal4(long total4) {
+            this.total4 = total4;
+        }
+
+        public boolean isFlag0() {
+            return flag0;
+        }
+
+        public void setFlag0(boolean flag0) {
+            this.flag0 = flag0;
+        }
+
+        public boolean isFlag1() {
+            return flag1;
+        }
+
+        public void setFlag1(boolean flag1) {
+            this.flag1 = flag1;
+        }
+
+        public boolean isFlag2() {
+            return flag2;
+        }
+
+        public void setFlag2(boolean flag2) {
+            this.flag2 = flag2;
+        }
+
+        public boolean isFlag3() {
+            return flag3;
+        }
+
+        public void setFlag3(boolean flag3) {
+            this.flag3 = flag3;
+        }
+
+        public boolean isFlag4() {
+            return flag4;
+        }
+
+        public void setFlag4(boolean flag4) {
+            this.flag4 = flag4;
+        }
+    }
+
+    public static class Node {
+        private String name;
+        private int value;
+        private List<String> tags;
+        private Node child;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            this.value = value;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Node getChild() {
+            return child;
+        }
+
+        public void setChild(Node child) {
+            this.child = child;
+        }
+    }
+
+    public record FlatRecord(String id, String name, int age, boolean active, long score, float ratio,
+                             BigDecimal balance, LocalDate created) {
+    }
+
+    public record Leaf(String name, int value) {
+    }
+
+    //Collections, one field per entity so each codec is measured on its own
+
+    public record StringList(List<String> value) {
+    }
+
+    public record IntegerList(List<Integer> value) {
+    }
+
+    public record BooleanList(List<Boolean> value) {
+    }
+
+    public record LeafList(List<Leaf> value) {
+    }
+
+    public record StringSet(Set<String> value) {
+    }
+
+    public record DecimalSet(Set<BigDecimal> value) {
+    }
+
+    public record LongSet(Set<Long> value) {
+    }
+
+    public record LongHashSetValue(LongHashSet value) {
+    }
+
+    public record IntArray(int[] value) {
+    }
+
+    public record DoubleArray(double[] value) {
+    }
+
+    public record StringMap(Map<String, String> value) {
+    }
+
+    public record DecimalMap(Map<String, BigDecimal> value) {
+    }
+
+    //Scalars, one field per entity so each codec is measured on its own
+
+    public record StringValue(String value) {
+    }
+
+    public record IntValue(int value) {
+    }
+
+    public record IntegerValue(Integer value) {
+    }
+
+    public record LongValue(long value) {
+    }
+
+    public record LongerValue(Long value) {
+    }
+
+    public record ShortValue(short value) {
+    }
+
+    public record ShorterValue(Short value) {
+    }
+
+    public record ByteValue(byte value) {
+    }
+
+    public record ByterValue(Byte value) {
+    }
+
+    public record DoubleValue(double value) {
+    }
+
+    public record DoublerValue(Double value) {
+    }
+
+    public record CharValue(char value) {
+    }
+
+    public record CharacterValue(Character value) {
+    }
+
+    public record FloatValue(float value) {
+    }
+
+    public record FloaterValue(Float value) {
+    }
+
+    public record BoolValue(boolean value) {
+    }
+
+    public record BooleanValue(Boolean value) {
+    }
+
+    public record BigDecimalValue(BigDecimal value) {
+    }
+
+    public record BigIntegerValue(BigInteger value) {
+    }
+
+    public record LocalDateValue(LocalDate value) {
+    }
+
+    public record LocalDateTimeValue(LocalDateTime value) {
+    }
+
+    public record InstantValue(Instant value) {
+    }
+
+    public record InstantMillisValue(@DynamoTemporal(DynamoTemporal.Format.EPOCH_MILLIS) Instant value) {
+    }
+
+    public record OffsetDateTimeValue(OffsetDateTime value) {
+    }
+
+    public record DurationValue(Duration value) {
+    }
+
+    public record UUIDValue(UUID value) {
+    }
+
+    public record UUIDBinaryValue(@DynamoBinary UUID value) {
+    }
+
+    public record URLValue(URL value) {
+    }
+
+    public record BytesValue(byte[] value) {
+    }
+
+    public record ByteBufferValue(ByteBuffer value) {
+    }
+
+    public static Flat flat(int index) {
+        var flat = new Flat();
+        flat.setId("id-" + index);
+        flat.setName("name " + index);
+        flat.setAge(30 + index % 50);
+        flat.setActive(index % 2 == 0);
+        flat.setScore(1_000_000L + index);
+        flat.setRatio(index / 3f);
+        flat.setBalance(new BigDecimal("1250.75").add(BigDecimal.valueOf(index)));
+        flat.setCreated(LocalDate.of(2023, 1, 1).plusDays(index % 365));
+        return flat;
+    }
+
+    public static FlatRecord flatRecord(int index) {
+        var flat = flat(index);
+
+        return new FlatRecord(flat.getId(), flat.getName(), flat.getAge(), flat.isActive(), flat.getScore(),
+                flat.getRatio(), flat.getBalance(), flat.getCreated());
+    }
+
+    public static Wide wide(int index) {
+        var wide = new Wide();
+        wide.setId("id-" + index);
+        wide.setText0("text " + index + " 0");
+        wide.setText1("text " + index + " 1");
+        wide.setText2("text " + index + " 2");
+        wide.setText3("text " + index + " 3");
+        wide.setText4("text " + index + " 4");
+        wide.setText5("text " + index + " 5");
+        wide.setText6("text " + index + " 6");
+        wide.setText7("text " + index + " 7");
+        wide.setText8("text " + index + " 8");
+        wide.setText9("text " + index + " 9");
+        wide.setCount0(index + 0);
+        wide.setCount1(index + 1);
+        wide.setCount2(index + 2);
+        wide.setCount3(index + 3);
+        wide.setCount4(index + 4);
+        wide.setCount5(index + 5);
+        wide.setCount6(index + 6);
+        wide.setCount7(index + 7);
+        wide.setCount8(index + 8);
+        wide.setCount9(index + 9);
+        wide.setTotal0(1_000_000L * 1 + index);
+        wide.setTotal1(1_000_000L * 2 + index);
+        wide.setTotal2(1_000_000L * 3 + index);
+        wide.setTotal3(1_000_000L * 4 + index);
+        wide.setTotal4(1_000_000L * 5 + index);
+        wide.setFlag0((index + 0) % 2 == 0);
+        wide.setFlag1((index + 1) % 2 == 0);
+        wide.setFlag2((index + 2) % 2 == 0);
+        wide.setFlag3((index + 3) % 2 == 0);
+        wide.setFlag4((index + 4) % 2 == 0);
+        return wide;
+    }
+
+    public static Node nested(int depth) {
+        Node node = null;
+
+        for (int level = depth; level > 0; level--) {
+            var parent = new Node();
+            parent.setName("level " + level);
+            parent.setValue(level);
+            parent.setTags(List.of("a", "b", "c"));
+            parent.setChild(node);
+            node = parent;
+        }
+
+        return node;
+    }
+}
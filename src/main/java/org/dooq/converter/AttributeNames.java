@@ -0,0 +1,242 @@
+package org.dooq.converter;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Attribute names of the fields of a type, from {@link DynamoAttribute} and {@link DynamoAbbreviate}.
+ * Fields without a mapping are written with their name.
+ *
+ * @author alex
+ */
+final class AttributeNames {
+
+    private static final ClassValue<Map<String, String>> NAMES = new ClassValue<>() {
+        @Override
+        protected Map<String, String> computeValue(@NotNull Class<?> type) {
+            return compute(type);
+        }
+    };
+
+    private AttributeNames() {
+    }
+
+    static @NotNull String of(@NotNull Class<?> type, @NotNull String field) {
+        return NAMES.get(type).getOrDefault(field, field);
+    }
+
+    /**
+     * @return the attribute name of every field of the type, by field name
+     */
+    static @NotNull Map<String, String> all(@NotNull Class<?> type) {
+        return NAMES.get(type);
+    }
+
+    private static @NotNull Map<String, String> compute(@NotNull Class<?> type) {
+
+        var fields = getFieldNames(type);
+        var abbreviate = type.getAnnotation(DynamoAbbreviate.class);
+
+        if (abbreviate == null && fields.values().stream().noneMatch(field -> field.isAnnotationPresent(DynamoAttribute.class))) {
+            Map<String, String> names = new LinkedHashMap<>();
+
+            fields.keySet().forEach(field -> names.put(field, field));
+
+            return Collections.unmodifiableMap(names);
+        }
+
+        Map<String, String> names = new LinkedHashMap<>();
+        //Attributes written besides the fields can't be taken by a field
+        Set<String> used = new HashSet<>(getReservedNames(type));
+
+        for (Map.Entry<String, Field> entry : fields.entrySet()) {
+            var attribute = entry.getValue().getAnnotation(DynamoAttribute.class);
+
+            if (attribute != null) name(type, names, used, entry.getKey(), attribute.value());
+        }
+
+        if (abbreviate != null) {
+            var dictionary = loadDictionary(type, abbreviate.dictionary(), true);
+            List<String> missing = new ArrayList<>();
+
+            for (String field : fields.keySet()) {
+
+                if (names.containsKey(field)) continue;
+
+                var name = dictionary.getProperty(field);
+
+                if (name == null) {
+                    missing.add(field);
+                } else {
+                    name(type, names, used, field, name);
+                }
+            }
+
+            //Generated names depend on the other fields, they're only read from the stored dictionary
+            if (!missing.isEmpty()) {
+                var entries = new StringBuilder();
+
+                dictionary(type).forEach((field, name) -> {
+                    if (missing.contains(field)) entries.append('\n').append(field).append('=').append(name);
+                });
+
+                throw new IllegalStateException("Fields %s of %s are missing from the attribute name dictionary '%s', add:%s"
+                        .formatted(missing, type, abbreviate.dictionary(), entries));
+            }
+        }
+
+        //Names not mapped keep the field name, which can't be taken by another field either
+        for (String field : fields.keySet()) {
+            if (!names.containsKey(field)) name(type, names, used, field, field);
+        }
+
+        Map<String, String> ordered = new LinkedHashMap<>();
+
+        for (String field : fields.keySet()) {
+            ordered.put(field, names.get(field));
+        }
+
+        return Collections.unmodifiableMap(ordered);
+    }
+
+    /**
+     * Content of the dictionary of a {@link DynamoAbbreviate} type: the stored entries, kept for removed fields
+     * too, and abbreviations for the fields missing from it that don't reuse a stored name
+     */
+    static @NotNull Map<String, String> dictionary(@NotNull Class<?> type) {
+
+        var abbreviate = type.getAnnotation(DynamoAbbreviate.class);
+
+        if (abbreviate == null) throw new IllegalArgumentException("No @DynamoAbbreviate on " + type);
+
+        var fields = getFieldNames(type);
+        var stored = loadDictionary(type, abbreviate.dictionary(), false);
+
+        Map<String, String> dictionary = new TreeMap<>();
+        Set<String> used = new HashSet<>(getReservedNames(type));
+
+        for (String field : stored.stringPropertyNames()) {
+            dictionary.put(field, stored.getProperty(field));
+            used.add(stored.getProperty(field));
+        }
+
+        for (Field field : fields.values()) {
+            var attribute = field.getAnnotation(DynamoAttribute.class);
+
+            if (attribute != null) used.add(attribute.value());
+        }
+
+        for (String field : new TreeSet<>(fields.keySet())) {
+
+            if (dictionary.containsKey(field) || fields.get(field).isAnnotationPresent(DynamoAttribute.class)) continue;
+
+            var abbreviation = abbreviate(field);
+            var name = abbreviation;
+
+            for (int i = 2; !used.add(name); i++) {
+                name = abbreviation + i;
+            }
+
+            dictionary.put(field, name);
+        }
+
+        return dictionary;
+    }
+
+    private static void name(@NotNull Class<?> type, @NotNull Map<String, String> names, @NotNull Set<String> used,
+                             @NotNull String field, @NotNull String name) {
+
+        if (name.isBlank()) {
+            throw new IllegalStateException("Empty attribute name for field '%s' of %s".formatted(field, type));
+        }
+
+        if (!used.add(name)) {
+            throw new IllegalStateException("Duplicate attribute name '%s' for field '%s' of %s".formatted(name, field, type));
+        }
+
+        names.put(field, name);
+    }
+
+    /**
+     * Lower case initials of the camel case name, {@code createdAt} is {@code ca}
+     */
+    static @NotNull String abbreviate(@NotNull String field) {
+
+        var builder = new StringBuilder(4);
+
+        builder.append(Character.toLowerCase(field.charAt(0)));
+
+        for (int i = 1; i < field.length(); i++) {
+            char c = field.charAt(i);
+
+            if (Character.isUpperCase(c) || Character.isDigit(c) && !Character.isDigit(field.charAt(i - 1))) {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static @NotNull Properties loadDictionary(@NotNull Class<?> type, @NotNull String resource, boolean required) {
+
+        var dictionary = new Properties();
+
+        try (InputStream stream = type.getResourceAsStream(resource)) {
+
+            if (stream == null && !required) return dictionary;
+
+            if (stream == null) {
+                throw new IllegalStateException("Attribute name dictionary '%s' of %s not found".formatted(resource, type));
+            }
+
+            dictionary.load(stream);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to load attribute name dictionary '%s' of %s".formatted(resource, type), ex);
+        }
+
+        return dictionary;
+    }
+
+    /**
+     * Instance fields of the type and its superclasses, the field of the subclass wins
+     */
+    private static @NotNull Map<String, Field> getFieldNames(@NotNull Class<?> type) {
+
+        Map<String, Field> fields = new LinkedHashMap<>();
+
+        for (Class<?> current = type; current != null && current != Object.class && current != Record.class;
+             current = current.getSuperclass()) {
+
+            for (Field field : current.getDeclaredFields()) {
+
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+
+                fields.putIfAbsent(field.getName(), field);
+            }
+        }
+
+        return fields;
+    }
+
+    private static @NotNull Set<String> getReservedNames(@NotNull Class<?> type) {
+
+        Set<String> reserved = new HashSet<>();
+
+        var schema = type.getAnnotation(DynamoSchema.class);
+        var discriminator = PolymorphicCompiler.discriminator(type);
+
+        if (schema != null) reserved.add(schema.attribute());
+        if (discriminator != null) reserved.add(discriminator.attribute());
+
+        for (DynamoKeyTemplate template : type.getAnnotationsByType(DynamoKeyTemplate.class)) {
+            reserved.add(template.attribute());
+        }
+
+        return reserved;
+    }
+}
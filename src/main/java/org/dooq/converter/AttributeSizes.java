@@ -0,0 +1,228 @@
+package org.dooq.converter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximates the stored size of items following DynamoDB's sizing rules:
+ * <ul>
+ *     <li>Attribute names and strings count their UTF-8 length</li>
+ *     <li>Numbers count 1 byte per two significant digits plus 1 byte</li>
+ *     <li>Binaries count their length, booleans and nulls 1 byte</li>
+ *     <li>Lists and maps add 3 bytes plus 1 byte per element to the size of their elements</li>
+ * </ul>
+ *
+ * @author alex
+ */
+public final class AttributeSizes {
+
+    private AttributeSizes() {
+    }
+
+    public static long of(@NotNull Map<String, AttributeValue> item) {
+        long size = 0;
+
+        for (Map.Entry<String, AttributeValue> entry : item.entrySet()) {
+            if (entry.getValue() == null) continue;
+
+            size += utf8Length(entry.getKey()) + of(entry.getValue());
+        }
+
+        return size;
+    }
+
+    public static long of(@Nullable AttributeValue value) {
+
+        if (value == null) return 0;
+
+        if (value.s() != null) return utf8Length(value.s());
+        if (value.n() != null) return numberSize(value.n());
+        if (value.b() != null) return value.b().asByteBuffer().remaining();
+        if (value.bool() != null || value.nul() != null) return 1;
+
+        if (value.hasSs()) {
+            long size = 0;
+
+            for (String string : value.ss()) {
+                size += utf8Length(string);
+            }
+
+            return size;
+        }
+
+        if (value.hasNs()) {
+            long size = 0;
+
+            for (String number : value.ns()) {
+                size += numberSize(number);
+            }
+
+            return size;
+        }
+
+        if (value.hasBs()) {
+            long size = 0;
+
+            for (SdkBytes bytes : value.bs()) {
+                size += bytes.asByteBuffer().remaining();
+            }
+
+            return size;
+        }
+
+        if (value.hasL()) {
+            List<AttributeValue> list = value.l();
+            long size = 3 + list.size();
+
+            for (AttributeValue element : list) {
+                size += of(element);
+            }
+
+            return size;
+        }
+
+        if (value.hasM()) {
+            return 3 + value.m().size() + of(value.m());
+        }
+
+        return 0;
+    }
+
+    /**
+     * Size of the named attribute, absent values (null) count nothing
+     *
+     * @param nameSize UTF-8 length of the attribute name
+     */
+    public static long attribute(int nameSize, @Nullable AttributeValue value) {
+        return value == null ? 0 : nameSize + of(value);
+    }
+
+    public static long attribute(int nameSize, @Nullable String value) {
+        return value == null ? 0 : nameSize + utf8Length(value);
+    }
+
+    public static long attribute(int nameSize, long value) {
+        return nameSize + numberSize(value);
+    }
+
+    /**
+     * Integral boxed numbers only
+     */
+    public static long attribute(int nameSize, @Nullable Number value) {
+        return value == null ? 0 : nameSize + numberSize(value.longValue());
+    }
+
+    public static long attribute(int nameSize, boolean value) {
+        return nameSize + 1;
+    }
+
+    public static long attribute(int nameSize, @Nullable Boolean value) {
+        return value == null ? 0 : nameSize + 1;
+    }
+
+    /**
+     * Size of the attribute of a {@link DynamoSparse} field, defaults count nothing
+     */
+    public static long sparse(int nameSize, @Nullable String value) {
+        return value == null || value.isEmpty() ? 0 : nameSize + utf8Length(value);
+    }
+
+    public static long sparse(int nameSize, long value) {
+        return value == 0 ? 0 : nameSize + numberSize(value);
+    }
+
+    public static long sparse(int nameSize, boolean value) {
+        return value ? nameSize + 1 : 0;
+    }
+
+    public static int utf8Length(@NotNull CharSequence value) {
+        int length = value.length();
+        int size = length;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c < 0x80) continue;
+
+            if (c < 0x800) {
+                size++;
+            } else if (Character.isHighSurrogate(c)) {
+                //Surrogate pair: 4 bytes for 2 chars
+                size += 2;
+                i++;
+            } else {
+                size += 2;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Same as {@link #numberSize(CharSequence)} without formatting the value
+     */
+    public static int numberSize(long value) {
+
+        if (value == 0) return 1;
+
+        //Counted on the negative value, Long.MIN_VALUE can't be negated
+        if (value > 0) value = -value;
+
+        //Trailing zeroes aren't significant
+        while (value % 10 == 0) {
+            value /= 10;
+        }
+
+        int digits = 1;
+
+        while (value <= -10) {
+            value /= 10;
+            digits++;
+        }
+
+        return (digits + 1) / 2 + 1;
+    }
+
+    /**
+     * Leading and trailing zeroes, sign, decimal point and exponent aren't significant
+     */
+    public static int numberSize(@NotNull CharSequence number) {
+        int first = -1;
+        int last = -1;
+        int digits = 0;
+        int end = number.length();
+
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+
+            if (c == 'e' || c == 'E') {
+                end = i;
+                break;
+            }
+        }
+
+        for (int i = 0; i < end; i++) {
+            char c = number.charAt(i);
+
+            if (c < '1' || c > '9') continue;
+
+            if (first < 0) first = i;
+            last = i;
+        }
+
+        if (first < 0) return 1;
+
+        for (int i = first; i <= last; i++) {
+            char c = number.charAt(i);
+
+            if (c >= '0' && c <= '9') digits++;
+        }
+
+        return (digits + 1) / 2 + 1;
+    }
+}
@@ -0,0 +1,221 @@
+package org.dooq.converter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent on-disk cache of generated converter classes.
+ * <p>
+ * Enabled by setting {@code dooq.converter.cache.dir}, generated bytecode is stored under that directory
+ * and defined directly on later JVM starts, skipping introspection and class generation.
+ * <p>
+ * Entries are keyed by a fingerprint of the class files of the entity (and its superclasses), the parser
+ * class hierarchy, the compiler classes and the library version. The class file carries the fields, generic
+ * signatures, accessors and annotations the converter is generated from, so any change to them produces a new
+ * fingerprint and the stale entry is replaced. Entries that fail to link are discarded and regenerated.
+ *
+ * @author alex
+ */
+final class BytecodeCache {
+
+    /**
+     * Classes generated converters are compiled by or call into, besides the entity and the parser hierarchy
+     */
+    private static final List<Class<?>> COMPILER = List.of(ParserCompiler.class, PolymorphicCompiler.class,
+            AttributeNames.class, KeyTemplate.class, KeyShards.class, AttributeSizes.class, FilteredMap.class,
+            ConverterStruct.class);
+
+    private static final byte @Nullable [] COMPILER_DIGEST = compilerDigest();
+
+    private BytecodeCache() {
+    }
+
+    private static @Nullable Path directory() {
+        var directory = System.getProperty("dooq.converter.cache.dir");
+
+        if (directory == null || directory.isBlank()) return null;
+
+        return Path.of(directory);
+    }
+
+    static byte @Nullable [] load(@NotNull String name, @NotNull Class<?> type, @NotNull Class<?> parserClass) {
+
+        var directory = directory();
+
+        if (directory == null) return null;
+
+        var fingerprint = fingerprint(type, parserClass);
+
+        if (fingerprint == null) return null;
+
+        var file = directory.resolve(name + "-" + fingerprint + ".class");
+
+        if (!Files.isRegularFile(file)) return null;
+
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException ex) {
+            Logger.getLogger(BytecodeCache.class.getName())
+                    .log(Level.WARNING, "Cannot read cached converter: " + file, ex);
+            return null;
+        }
+    }
+
+    static void store(@NotNull String name, @NotNull Class<?> type, @NotNull Class<?> parserClass, byte[] bytecode) {
+
+        var directory = directory();
+
+        if (directory == null) return;
+
+        var fingerprint = fingerprint(type, parserClass);
+
+        if (fingerprint == null) return;
+
+        try {
+            Files.createDirectories(directory);
+
+            //Entries of previous versions of the same class are stale now
+            try (var stale = Files.newDirectoryStream(directory, name + "-*.class")) {
+                for (Path path : stale) {
+                    Files.deleteIfExists(path);
+                }
+            }
+
+            //Written to a temporary file first, concurrent JVMs only ever see complete entries
+            var temporary = Files.createTempFile(directory, name, ".tmp");
+
+            Files.write(temporary, bytecode);
+            Files.move(temporary, directory.resolve(name + "-" + fingerprint + ".class"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException ex) {
+            Logger.getLogger(BytecodeCache.class.getName())
+                    .log(Level.WARNING, "Cannot store cached converter: " + name, ex);
+        }
+    }
+
+    static void evict(@NotNull String name) {
+
+        var directory = directory();
+
+        if (directory == null) return;
+
+        try (var entries = Files.newDirectoryStream(directory, name + "-*.class")) {
+            for (Path path : entries) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException | DirectoryIteratorException ignored) {
+            //Nothing cached
+        }
+    }
+
+    /**
+     * @return the hex encoded fingerprint, or {@code null} if a class file is not available (e.g. generated classes)
+     */
+    static @Nullable String fingerprint(@NotNull Class<?> type, @NotNull Class<?> parserClass) {
+
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+
+            if (!digestHierarchy(digest, type)) return null;
+            if (!digestHierarchy(digest, parserClass)) return null;
+            if (COMPILER_DIGEST == null) return null;
+
+            digest.update(COMPILER_DIGEST);
+
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Digest of the library version and the compiler classes, a library upgrade produces new fingerprints
+     */
+    private static byte @Nullable [] compilerDigest() {
+
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            var version = BytecodeCache.class.getPackage().getImplementationVersion();
+
+            if (version != null) digest.update(version.getBytes());
+
+            for (Class<?> type : COMPILER) {
+                if (!digestClass(digest, type)) return null;
+            }
+
+            return digest.digest();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static boolean digestHierarchy(@NotNull MessageDigest digest, @NotNull Class<?> type) {
+
+        for (Class<?> current = type; current != null && current != Object.class && current != Record.class;
+             current = current.getSuperclass()) {
+
+            if (!digestClass(digest, current)) return false;
+
+            //Attribute names of abbreviated types are stored apart from the class
+            var abbreviate = current.getAnnotation(DynamoAbbreviate.class);
+
+            if (abbreviate != null && !digestResource(digest, current, abbreviate.dictionary())) {
+                return false;
+            }
+
+            //Builders are nested classes, their setters are part of the converter too
+            for (Class<?> nested : current.getDeclaredClasses()) {
+                if (!digestClass(digest, nested)) return false;
+            }
+
+            //Polymorphic base types declare the discriminator of their subtypes
+            for (Class<?> implemented : current.getInterfaces()) {
+                if (implemented.isAnnotationPresent(DynamoSubtypes.class) && !digestClass(digest, implemented)) return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean digestResource(@NotNull MessageDigest digest, @NotNull Class<?> type, @NotNull String resource) {
+
+        try (InputStream stream = type.getResourceAsStream(resource)) {
+
+            if (stream == null) return false;
+
+            digest.update(stream.readAllBytes());
+
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private static boolean digestClass(@NotNull MessageDigest digest, @NotNull Class<?> type) {
+
+        var resource = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+
+        try (InputStream stream = type.getResourceAsStream(resource)) {
+
+            if (stream == null) return false;
+
+            digest.update(type.getName().getBytes());
+            digest.update(stream.readAllBytes());
+
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
@@ -14,6 +14,54 @@ public interface Converter<T> {
 
     @NotNull Map<String, AttributeValue> write(@NotNull T value);
 
+    /**
+     * Approximate stored size of the written item, see {@link AttributeSizes}.
+     * <p>
+     * Generated converters measure the values without creating the item map, strings, integral numbers and
+     * booleans are measured without being written at all.
+     */
+    default long estimateSize(@NotNull T value) {
+        return AttributeSizes.of(write(value));
+    }
+
+    /**
+     * Primary key of the value, only the {@link PartitionKey} and {@link SortKey} attributes
+     *
+     * @throws UnsupportedOperationException if the type declares no key
+     */
+    default @NotNull Map<String, AttributeValue> writeKey(@NotNull T value) {
+        throw new UnsupportedOperationException("No @PartitionKey declared");
+    }
+
+    /**
+     * Primary key of a table without sort key, the value has the type of the {@link PartitionKey} field
+     *
+     * @throws UnsupportedOperationException if the type declares no key, has a sort key or a {@link DynamoSharded}
+     *                                       partition key
+     */
+    default @NotNull Map<String, AttributeValue> key(@NotNull Object partitionKey) {
+        throw new UnsupportedOperationException("No @PartitionKey declared without @SortKey or @DynamoSharded");
+    }
+
+    /**
+     * Primary key of a table with sort key, the values have the types of the key fields
+     *
+     * @throws UnsupportedOperationException if the type declares no sort key or the partition key is
+     *                                       {@link DynamoSharded} by another field
+     */
+    default @NotNull Map<String, AttributeValue> key(@NotNull Object partitionKey, @NotNull Object sortKey) {
+        throw new UnsupportedOperationException("No @PartitionKey and @SortKey declared, or the partition key is sharded by another field");
+    }
+
+    /**
+     * Reads only the key attributes of the map, like a {@code LastEvaluatedKey}, other fields keep their defaults
+     *
+     * @throws UnsupportedOperationException if the type declares no key
+     */
+    default @NotNull T readKey(@NotNull Map<String, AttributeValue> key) {
+        throw new UnsupportedOperationException("No @PartitionKey declared");
+    }
+
     default List<T> readAll(@NotNull List<Map<String, AttributeValue>> value) {
         return value.stream()
                 .map(this::read)
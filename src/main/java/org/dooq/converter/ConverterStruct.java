@@ -1,5 +1,6 @@
 package org.dooq.converter;
 
+import org.dooq.converter.converters.Variant;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -38,6 +39,10 @@ class ConverterStruct {
         introspect(converter);
     }
 
+    /**
+     * Walks from the converter class up to its superclasses, the first method found for a type or a name is
+     * the most derived one and is kept, so overridden codecs resolve to the custom converter
+     */
     private void introspect(@NotNull Class<?> converter) {
         var methods = converter.getDeclaredMethods();
 
@@ -47,21 +52,24 @@ class ConverterStruct {
 
             if (!Modifier.isProtected(method.getModifiers())) continue;
 
-            methodMap.put(method.getName(), method);
+            methodMap.putIfAbsent(method.getName(), method);
+
+            //Variants are selected by name only
+            if (method.isAnnotationPresent(Variant.class)) continue;
 
             if (method.getParameterCount() != 1) continue;
 
             var parameter = method.getParameterTypes()[0];
 
             if (parameter == AttributeValue.class) {
-                readerMap.put(method.getReturnType(), method);
+                readerMap.putIfAbsent(method.getReturnType(), method);
             } else {
 
                 if (parameter == Map.class) continue;
                 if (parameter == List.class) continue;
                 if (parameter == Set.class) continue;
 
-                writerMap.put(parameter, method);
+                writerMap.putIfAbsent(parameter, method);
             }
         }
 
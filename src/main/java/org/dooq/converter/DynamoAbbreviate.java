@@ -0,0 +1,25 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Abbreviated attribute names for the fields of the type without {@link DynamoAttribute}, read from the
+ * dictionary: a properties resource of the type mapping field names to attribute names.
+ * <p>
+ * Every field must be in the dictionary, names are never derived at runtime since they would change when fields
+ * are added. {@link DynamoConverter#attributeDictionary(Class)} generates the missing entries from the initials of
+ * the camel case names, {@code createdAt} is {@code ca}, with a number appended on collisions. Stored names are
+ * never reused.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoAbbreviate {
+
+    /**
+     * Resource of the dictionary, relative to the type unless it starts with {@code /}
+     */
+    String dictionary();
+}
@@ -0,0 +1,25 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Legacy attribute names of a renamed field, read in order when the attribute of the field is missing.
+ * Values are always written with the current attribute name of the field.
+ * <p>
+ * With a {@link DynamoSchema}, the aliases are only read from items written before the {@code until} version,
+ * so a legacy name can be reused by a newer field.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoAlias {
+
+    String[] value();
+
+    /**
+     * First schema version written with the current name, items without version are version 0
+     */
+    int until() default Integer.MAX_VALUE;
+}
@@ -0,0 +1,19 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Attribute name of the field, written and read instead of the field name.
+ * <p>
+ * Names count toward the size of every item, short names save capacity on narrow items. Expressions must use
+ * the attribute name, see {@link DynamoConverter#attributeName(Class, String)}.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoAttribute {
+
+    String value();
+}
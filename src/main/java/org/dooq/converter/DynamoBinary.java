@@ -0,0 +1,21 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binary field ({@code byte[]}, {@code ByteBuffer}), by default read values share the bytes of the response.
+ * <p>
+ * On a {@code UUID} field stores the 16 bytes form instead of the 36 characters string, both forms are read.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoBinary {
+
+    /**
+     * Reads a private copy of the bytes, arrays can be modified and buffers are writable
+     */
+    boolean copyOnRead() default false;
+}
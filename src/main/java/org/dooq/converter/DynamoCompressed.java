@@ -0,0 +1,26 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Deflates the written value into a {@code B} attribute when its serialized size reaches the threshold,
+ * compressed values are detected and inflated on read.
+ * <p>
+ * Binary values below the threshold are written with a one byte tag, so binary attributes written before the
+ * annotation was added can't be read.
+ * <p>
+ * Works for any field type (strings, collections, maps, nested objects). Compressed attributes can't be
+ * used in keys, indexes or conditions.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoCompressed {
+
+    /**
+     * Minimum serialized size, in bytes, to compress the value
+     */
+    int threshold() default 1024;
+}
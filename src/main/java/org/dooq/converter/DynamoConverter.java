@@ -2,6 +2,12 @@ package org.dooq.converter;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
 public interface DynamoConverter {
     static <T> @NotNull Converter<T> getConverter(@NotNull Class<T> type) {
         return ParserCompiler.getConverter(type);
@@ -12,4 +18,54 @@ public interface DynamoConverter {
         return ParserCompiler.getConverter(type, parser);
     }
 
+    /**
+     * Compiles the converters of the given types and all their nested types in parallel
+     *
+     * @return compile time per type
+     */
+    static @NotNull Map<Class<?>, Duration> precompile(@NotNull Class<?>... types) {
+        return Precompiler.precompile(List.of(types), ObjectParser.class, ForkJoinPool.commonPool());
+    }
+
+    @SuppressWarnings("rawtypes")
+    static @NotNull Map<Class<?>, Duration> precompile(@NotNull Collection<Class<?>> types,
+                                                      @NotNull Class<? extends ObjectParser> parser,
+                                                      @NotNull ForkJoinPool pool) {
+        return Precompiler.precompile(types, parser, pool);
+    }
+
+    /**
+     * Compiles the converters of every convertible class of the package, its sub-packages and their nested types
+     *
+     * @return compile time per type
+     */
+    static @NotNull Map<Class<?>, Duration> precompile(@NotNull String packageName) {
+        return Precompiler.precompile(Precompiler.scan(packageName), ObjectParser.class, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Attribute name the field is written with, for key conditions, filters and projections
+     *
+     * @see DynamoAttribute
+     * @see DynamoAbbreviate
+     */
+    static @NotNull String attributeName(@NotNull Class<?> type, @NotNull String field) {
+        return AttributeNames.of(type, field);
+    }
+
+    /**
+     * Attribute names of the fields of the type by field name
+     */
+    static @NotNull Map<String, String> attributeNames(@NotNull Class<?> type) {
+        return AttributeNames.all(type);
+    }
+
+    /**
+     * Content of the {@link DynamoAbbreviate} dictionary of the type: the stored entries and generated names for
+     * the fields missing from it, to be saved as the dictionary resource
+     */
+    static @NotNull Map<String, String> attributeDictionary(@NotNull Class<?> type) {
+        return AttributeNames.dictionary(type);
+    }
+
 }
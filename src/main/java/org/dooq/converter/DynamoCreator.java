@@ -0,0 +1,17 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the all args constructor used to create instances on read, values are passed straight to it.
+ * <p>
+ * Parameters are matched to attributes by name, taken from {@link java.beans.ConstructorProperties}
+ * when present or from the class file (compiled with {@code -parameters}) otherwise.
+ */
+@Target(ElementType.CONSTRUCTOR)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoCreator {
+}
@@ -0,0 +1,18 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reads and writes the fields of the class directly, getters and setters are not required.
+ * <p>
+ * Fields inherited from superclasses are mapped too. The converter is defined as a hidden nestmate
+ * of the class, so its package must be open to this library when running on the module path.
+ * Final fields can only be read, use a {@link DynamoCreator} constructor or a builder to create instances.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoFieldAccess {
+}
@@ -0,0 +1,46 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Composite key attribute built from fields of the type, like {@code ORDER#{created}#{id}}.
+ * <p>
+ * The attribute is written along with the fields. On read, the value is split and fills the component fields
+ * missing from the item, such as in a {@code LastEvaluatedKey} or a keys-only index. Use {@link KeyTemplate} to
+ * build {@code begins_with} prefixes.
+ * <p>
+ * Components are separated by non-empty literals and must not contain the literal that follows them. Values are
+ * written like the field (strings, numbers, UUIDs, dates...), numbers are not padded.
+ *
+ * <pre>{@code
+ * @DynamoKeyTemplate(attribute = "pk", value = "CUSTOMER#{customerId}")
+ * @DynamoKeyTemplate(attribute = "sk", value = "ORDER#{created}#{id}")
+ * public record Order(String customerId, LocalDate created, UUID id, int total) {
+ * }
+ * }</pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(DynamoKeyTemplate.List.class)
+public @interface DynamoKeyTemplate {
+
+    /**
+     * Name of the composite attribute
+     */
+    String attribute();
+
+    /**
+     * Literals and field names between braces
+     */
+    String value();
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface List {
+        DynamoKeyTemplate[] value();
+    }
+}
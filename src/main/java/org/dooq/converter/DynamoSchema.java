@@ -0,0 +1,19 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Schema version of the type, written to every item and read first to select the {@link DynamoAlias} names
+ * each field is read from. Items without the attribute are version 0.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoSchema {
+
+    int version();
+
+    String attribute() default "_v";
+}
@@ -0,0 +1,31 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Write sharding of a hot {@link PartitionKey}: the written key is suffixed with the shard of the item,
+ * {@code customer-1#3}, and the suffix is removed on read.
+ * <p>
+ * The shard is a stable hash of the text of the {@code by} field modulo {@code shards}, see {@link KeyShards}.
+ * Reads of a partition query every shard, see {@link org.dooq.converter.query.ShardedQuery}. The partition key
+ * must be written as a string. A suffix that is not a shard number below {@code shards} is kept on read, so
+ * partition keys written before the sharding, like {@code CUSTOMER#42}, are read unchanged.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoSharded {
+
+    int shards();
+
+    /**
+     * Field hashed to select the shard. When it's the sort key {@link Converter#key(Object, Object)} computes the
+     * shard from the sort key argument, any other field isn't among the arguments so {@code key} throws
+     * {@link UnsupportedOperationException} and keys are written with {@link Converter#writeKey(Object)}
+     */
+    String by();
+
+    String separator() default "#";
+}
@@ -0,0 +1,18 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sparse items: fields holding the value a missing attribute is read as are not written.
+ * <p>
+ * Applies to primitives ({@code 0}, {@code false}), strings, lists, sets and maps written by the default codecs.
+ * Missing strings and collections are read as empty, so {@code null} and empty values are both read as empty.
+ * Keys are always written.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoSparse {
+}
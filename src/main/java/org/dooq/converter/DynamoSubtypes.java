@@ -0,0 +1,47 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Polymorphic base type (interface, abstract or concrete class) of the listed subtypes, told apart by a
+ * discriminator attribute.
+ * <p>
+ * The converter of the base type reads the discriminator and delegates to the converter of the subtype,
+ * writes dispatch on the class of the value. Converters of the subtypes always write their discriminator,
+ * fields, lists and maps declared with the base type are polymorphic too.
+ *
+ * <pre>{@code
+ * @DynamoSubtypes(attribute = "entity", value = {
+ *         @DynamoSubtypes.Subtype(name = "ORDER", type = Order.class),
+ *         @DynamoSubtypes.Subtype(name = "CUSTOMER", type = Customer.class)
+ * })
+ * public sealed interface Entity permits Order, Customer {
+ * }
+ * }</pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoSubtypes {
+
+    /**
+     * Name of the discriminator attribute
+     */
+    String attribute() default "type";
+
+    Subtype[] value();
+
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Subtype {
+
+        /**
+         * Value of the discriminator attribute
+         */
+        String name();
+
+        Class<?> type();
+    }
+}
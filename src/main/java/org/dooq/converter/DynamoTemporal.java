@@ -0,0 +1,39 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Encoding of a {@code java.time} field, ISO-8601 strings by default.
+ * <p>
+ * Numeric encodings apply to {@code Instant}, {@code OffsetDateTime}, {@code ZonedDateTime}, {@code LocalDateTime}
+ * (UTC) and {@code Duration} (its length), epoch seconds can be used as the TTL attribute of the table.
+ * Values are read back in UTC.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DynamoTemporal {
+
+    Format value();
+
+    enum Format {
+        ISO(""),
+        EPOCH_SECONDS("EpochSeconds"),
+        EPOCH_MILLIS("EpochMillis");
+
+        private final String suffix;
+
+        Format(String suffix) {
+            this.suffix = suffix;
+        }
+
+        /**
+         * @return the suffix of the codec variants of this format
+         */
+        String suffix() {
+            return suffix;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.dooq.converter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partition key suffixes of {@link DynamoSharded} keys.
+ * <p>
+ * Shards are a FNV-1a hash of the characters of the text modulo the shard count, stable across JVMs and
+ * releases so items are always read from the shard they were written to.
+ *
+ * @author alex
+ */
+public final class KeyShards {
+
+    private KeyShards() {
+    }
+
+    public static int shard(@NotNull String text, int shards) {
+
+        int hash = 0x811C9DC5;
+
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x01000193;
+        }
+
+        return Math.floorMod(hash, shards);
+    }
+
+    /**
+     * @return the partition key values of every shard of the partition, in shard order
+     */
+    public static @NotNull List<String> partitions(@NotNull String partitionKey, int shards, @NotNull String separator) {
+
+        List<String> partitions = new ArrayList<>(shards);
+
+        for (int i = 0; i < shards; i++) {
+            partitions.add(partitionKey + separator + i);
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Appends the shard of the text to the written partition key
+     */
+    public static @NotNull AttributeValue shard(@NotNull AttributeValue value, @NotNull String text, int shards,
+                                                @NotNull String separator) {
+
+        if (value.s() == null) {
+            throw new IllegalArgumentException("Sharded partition key must be a string, got " + value);
+        }
+
+        return AttributeValue.fromS(value.s() + separator + shard(text, shards));
+    }
+
+    /**
+     * Removes the shard suffix of the read partition key. Only a shard number written by {@link #shard(String, int)}
+     * is removed, values without it, like {@code CUSTOMER#42} with less than 43 shards, are returned as they are
+     */
+    public static @Nullable AttributeValue unshard(@Nullable AttributeValue value, int shards, @NotNull String separator) {
+
+        if (value == null || value.s() == null) return value;
+
+        var text = value.s();
+        int index = text.lastIndexOf(separator);
+        int start = index + separator.length();
+
+        //Shards are written without leading zeros
+        if (index < 0 || start == text.length() || text.length() - start > 10
+                || text.charAt(start) == '0' && start + 1 < text.length()) return value;
+
+        long shard = 0;
+
+        for (int i = start; i < text.length(); i++) {
+            int digit = text.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) return value;
+
+            shard = shard * 10 + digit;
+        }
+
+        if (shard >= shards) return value;
+
+        return AttributeValue.fromS(text.substring(0, index));
+    }
+}
@@ -0,0 +1,190 @@
+package org.dooq.converter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed {@link DynamoKeyTemplate}, literals and component names in order.
+ * <p>
+ * Builds full values and {@code begins_with} prefixes for queries, and splits stored values back into their
+ * components in a single pass. Instances are cached per pattern.
+ *
+ * <pre>{@code
+ * var template = KeyTemplate.of(Order.class, "sk");
+ *
+ * template.prefix();                                // ORDER#
+ * template.prefix(LocalDate.of(2024, 5, 1));        // ORDER#2024-05-01#
+ * template.format(LocalDate.of(2024, 5, 1), id);    // ORDER#2024-05-01#<id>
+ * }</pre>
+ *
+ * @author alex
+ */
+public final class KeyTemplate {
+
+    private static final Map<String, KeyTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String pattern;
+
+    //literals[i] comes before names[i], the last literal is the suffix
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private KeyTemplate(@NotNull String pattern) {
+
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        int position = 0;
+
+        while (true) {
+            int open = pattern.indexOf('{', position);
+
+            if (open < 0) {
+                literals.add(pattern.substring(position));
+                break;
+            }
+
+            int close = pattern.indexOf('}', open);
+
+            if (close < 0) throw new IllegalArgumentException("Unclosed component in key template: " + pattern);
+
+            var literal = pattern.substring(position, open);
+
+            if (!names.isEmpty() && literal.isEmpty()) {
+                throw new IllegalArgumentException("Components must be separated by a literal in key template: " + pattern);
+            }
+
+            var name = pattern.substring(open + 1, close).strip();
+
+            if (name.isEmpty() || names.contains(name)) {
+                throw new IllegalArgumentException("Empty or duplicate component '%s' in key template: %s".formatted(name, pattern));
+            }
+
+            literals.add(literal);
+            names.add(name);
+
+            position = close + 1;
+        }
+
+        if (names.isEmpty()) throw new IllegalArgumentException("No components in key template: " + pattern);
+
+        this.pattern = pattern;
+        this.literals = literals.toArray(String[]::new);
+        this.names = names.toArray(String[]::new);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static @NotNull KeyTemplate of(@NotNull String pattern) {
+        return CACHE.computeIfAbsent(pattern, KeyTemplate::new);
+    }
+
+    /**
+     * @return the template of the attribute declared on the type
+     */
+    public static @NotNull KeyTemplate of(@NotNull Class<?> type, @NotNull String attribute) {
+
+        for (DynamoKeyTemplate template : type.getAnnotationsByType(DynamoKeyTemplate.class)) {
+            if (template.attribute().equals(attribute)) return of(template.value());
+        }
+
+        throw new IllegalArgumentException("No key template for attribute '%s' in %s".formatted(attribute, type));
+    }
+
+    public @NotNull String pattern() {
+        return pattern;
+    }
+
+    /**
+     * @return the field names of the components, in order
+     */
+    public @NotNull List<String> names() {
+        return List.of(names);
+    }
+
+    /**
+     * Length of the literals, the written value is at least this long
+     */
+    int literalLength() {
+        return literalLength;
+    }
+
+    /**
+     * @return the literal before the component, or the suffix for the index after the last component
+     */
+    @NotNull String literal(int index) {
+        return literals[index];
+    }
+
+    /**
+     * Full value of the attribute, see {@link #prefix(Object...)}
+     */
+    public @NotNull String format(Object @NotNull ... values) {
+
+        if (values.length != names.length) {
+            throw new IllegalArgumentException("Key template '%s' has %d components, got %d"
+                    .formatted(pattern, names.length, values.length));
+        }
+
+        return prefix(values);
+    }
+
+    /**
+     * Prefix made of the leading components, followed by the literal after the last of them. Values are formatted
+     * like the default writers: {@code toString()} and enum names, fields with a numeric {@link DynamoTemporal}
+     * take the number.
+     */
+    public @NotNull String prefix(Object @NotNull ... values) {
+
+        if (values.length > names.length) {
+            throw new IllegalArgumentException("Key template '%s' has %d components, got %d"
+                    .formatted(pattern, names.length, values.length));
+        }
+
+        var builder = new StringBuilder(literalLength + values.length * 16);
+
+        for (int i = 0; i < values.length; i++) {
+
+            if (values[i] == null) throw new IllegalArgumentException("Component '%s' is null".formatted(names[i]));
+
+            builder.append(literals[i])
+                    .append(values[i] instanceof Enum<?> constant ? constant.name() : values[i].toString());
+        }
+
+        return builder.append(literals[values.length]).toString();
+    }
+
+    /**
+     * @return the components of the value in order, or {@code null} if it doesn't match the literals
+     */
+    public String @Nullable [] split(@NotNull String value) {
+
+        var suffix = literals[names.length];
+
+        if (value.length() < literalLength || !value.startsWith(literals[0]) || !value.endsWith(suffix)) return null;
+
+        var components = new String[names.length];
+        int position = literals[0].length();
+        int end = value.length() - suffix.length();
+
+        for (int i = 0; i < names.length - 1; i++) {
+            int next = value.indexOf(literals[i + 1], position);
+
+            if (next < 0 || next > end) return null;
+
+            components[i] = value.substring(position, next);
+            position = next + literals[i + 1].length();
+        }
+
+        if (position > end) return null;
+
+        components[names.length - 1] = value.substring(position, end);
+
+        return components;
+    }
+}
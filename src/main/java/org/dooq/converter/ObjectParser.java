@@ -1,12 +1,20 @@
 package org.dooq.converter;
 
 import org.dooq.converter.converters.CollectionConverter;
+import org.dooq.converter.converters.Variant;
+import org.dooq.converter.metrics.ConverterMetrics;
 import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.logging.Logger;
@@ -34,11 +42,31 @@ public abstract class ObjectParser<T> extends CollectionConverter implements Con
         }
 
         if (type == Long.class) {
-            return this::parseLong;
+            return this::parseLonger;
         }
 
         if (type == Float.class) {
-            return this::parseFloat;
+            return this::parseFloater;
+        }
+
+        if (type == Double.class) {
+            return this::parseDoubler;
+        }
+
+        if (type == Short.class) {
+            return this::parseShorter;
+        }
+
+        if (type == Byte.class) {
+            return this::parseByter;
+        }
+
+        if (type == Character.class) {
+            return this::parseCharacter;
+        }
+
+        if (type == BigInteger.class) {
+            return this::readBigInt;
         }
 
         if (type == LocalDate.class) {
@@ -49,12 +77,54 @@ public abstract class ObjectParser<T> extends CollectionConverter implements Con
             return this::parseLocalDateTime;
         }
 
+        if (type == LocalTime.class) {
+            return this::parseLocalTime;
+        }
+
+        if (type == Instant.class) {
+            return this::parseInstant;
+        }
+
+        if (type == OffsetDateTime.class) {
+            return this::parseOffsetDateTime;
+        }
+
+        if (type == ZonedDateTime.class) {
+            return this::parseZonedDateTime;
+        }
+
+        if (type == Duration.class) {
+            return this::parseDuration;
+        }
+
+        if (type == Year.class) {
+            return this::parseYear;
+        }
+
+        if (type == YearMonth.class) {
+            return this::parseYearMonth;
+        }
+
         if (type == UUID.class) {
             return this::parseUUID;
         }
 
+        if (type == byte[].class) {
+            return this::parseBytes;
+        }
+
+        if (type == ByteBuffer.class) {
+            return this::parseByteBuffer;
+        }
+
+        if (type == SdkBytes.class) {
+            return this::parseSdkBytes;
+        }
+
         Logger.getLogger("ObjectParser").warning("Not found parser for value: " + type.getName());
 
+        ConverterMetrics.fallback(type, "No parser found");
+
         return null;
     }
 
@@ -72,7 +142,7 @@ public abstract class ObjectParser<T> extends CollectionConverter implements Con
         }
 
         if (value instanceof Long l) {
-            return writeLong(l);
+            return writeLonger(l);
         }
 
         if (value instanceof Boolean bool) {
@@ -84,20 +154,231 @@ public abstract class ObjectParser<T> extends CollectionConverter implements Con
         }
 
         if (value instanceof Float f) {
-            return writeFloat(f);
+            return writeFloater(f);
+        }
+
+        if (value instanceof Double d) {
+            return writeDoubler(d);
+        }
+
+        if (value instanceof Short s) {
+            return writeShorter(s);
+        }
+
+        if (value instanceof Byte b) {
+            return writeByter(b);
+        }
+
+        if (value instanceof Character c) {
+            return writeCharacter(c);
+        }
+
+        if (value instanceof BigInteger bi) {
+            return writeBigInt(bi);
         }
 
         if (value instanceof BigDecimal bd) {
             return writeBigDecimal(bd);
         }
 
+        if (value instanceof LocalDate date) {
+            return writeLocalDate(date);
+        }
+
+        if (value instanceof LocalDateTime dateTime) {
+            return writeLocalDateTime(dateTime);
+        }
+
+        if (value instanceof LocalTime time) {
+            return writeLocalTime(time);
+        }
+
+        if (value instanceof Instant instant) {
+            return writeInstant(instant);
+        }
+
+        if (value instanceof OffsetDateTime dateTime) {
+            return writeOffsetDateTime(dateTime);
+        }
+
+        if (value instanceof ZonedDateTime dateTime) {
+            return writeZonedDateTime(dateTime);
+        }
+
+        if (value instanceof Duration duration) {
+            return writeDuration(duration);
+        }
+
+        if (value instanceof Year year) {
+            return writeYear(year);
+        }
+
+        if (value instanceof YearMonth yearMonth) {
+            return writeYearMonth(yearMonth);
+        }
+
+        if (value instanceof byte[] bytes) {
+            return writeBytes(bytes);
+        }
+
+        if (value instanceof ByteBuffer buffer) {
+            return writeByteBuffer(buffer);
+        }
+
+        if (value instanceof SdkBytes bytes) {
+            return writeSdkBytes(bytes);
+        }
+
 
         System.err.println("Not found: " + value.getClass());
 
+        ConverterMetrics.fallback(value.getClass(), "No writer found");
+
         return null;
     }
 
 
+    /**
+     * Value of a key attribute, keys can't be null
+     */
+    protected AttributeValue keyAttribute(String name, @Nullable AttributeValue value) {
+
+        if (value == null) {
+            throw new IllegalArgumentException("Key attribute '%s' is missing".formatted(name));
+        }
+
+        return value;
+    }
+
+    /**
+     * Text of a key template component, the value of a {@code S} or {@code N} attribute
+     */
+    protected String keySegment(String name, @Nullable AttributeValue value) {
+
+        if (value != null && value.s() != null) return value.s();
+        if (value != null && value.n() != null) return value.n();
+
+        throw new IllegalArgumentException("Key template component '%s' must be a string or number, got %s"
+                .formatted(name, value));
+    }
+
+    protected String keySegment(String name, @Nullable String value) {
+
+        if (value == null) {
+            throw new IllegalArgumentException("Key template component '%s' is missing".formatted(name));
+        }
+
+        return value;
+    }
+
+    /**
+     * Adds the components of a key template attribute missing from the item, {@code kinds} holds the attribute
+     * type ({@code S} or {@code N}) of each component. The item is copied only if something is added.
+     */
+    protected Map<String, AttributeValue> expandKey(Map<String, AttributeValue> item, String attribute,
+                                                    String pattern, String kinds) {
+
+        var value = item.get(attribute);
+
+        if (value == null || value.s() == null) return item;
+
+        var template = KeyTemplate.of(pattern);
+        var components = template.split(value.s());
+
+        if (components == null) {
+            throw new IllegalArgumentException("Attribute '%s' doesn't match key template '%s': %s"
+                    .formatted(attribute, pattern, value.s()));
+        }
+
+        var names = template.names();
+        Map<String, AttributeValue> expanded = null;
+
+        for (int i = 0; i < components.length; i++) {
+
+            if (item.containsKey(names.get(i))) continue;
+
+            if (expanded == null) expanded = new HashMap<>(item);
+
+            expanded.put(names.get(i), kinds.charAt(i) == 'N'
+                    ? AttributeValue.fromN(components[i])
+                    : AttributeValue.fromS(components[i]));
+        }
+
+        return expanded == null ? item : expanded;
+    }
+
+    /**
+     * The value, or the value of the alias if it's missing and the item is older than the {@code until} version
+     */
+    protected static AttributeValue alias(@Nullable AttributeValue value, Map<String, AttributeValue> item,
+                                          String alias, int version, int until) {
+
+        if (value != null || version >= until) return value;
+
+        return item.get(alias);
+    }
+
+    /**
+     * Schema version of the item, 0 if it has none
+     */
+    @Variant
+    protected static int schemaVersion(@Nullable AttributeValue value) {
+
+        if (value == null || value.n() == null) return 0;
+
+        return Integer.parseInt(value.n());
+    }
+
+    /**
+     * The value, or {@code null} if a missing attribute is read as the same value, see {@link DynamoSparse}
+     */
+    @Variant
+    protected static AttributeValue sparse(@Nullable AttributeValue value) {
+
+        if (value == null) return null;
+
+        if (value.n() != null) {
+            //0, 0.0
+            for (int i = 0; i < value.n().length(); i++) {
+                char c = value.n().charAt(i);
+
+                if (c != '0' && c != '.') return value;
+            }
+
+            return null;
+        }
+
+        if (value.s() != null) return value.s().isEmpty() ? null : value;
+        if (value.bool() != null) return value.bool() ? value : null;
+        if (value.hasL()) return value.l().isEmpty() ? null : value;
+        if (value.hasM()) return value.m().isEmpty() ? null : value;
+
+        return value;
+    }
+
+    /**
+     * Missing strings and collections of {@link DynamoSparse} types are read as empty
+     */
+    @Variant
+    protected static String orEmpty(@Nullable String value) {
+        return value == null ? "" : value;
+    }
+
+    @Variant
+    protected static List<?> orEmpty(@Nullable List<?> value) {
+        return value == null ? List.of() : value;
+    }
+
+    @Variant
+    protected static Set<?> orEmpty(@Nullable Set<?> value) {
+        return value == null ? Set.of() : value;
+    }
+
+    @Variant
+    protected static Map<String, ?> orEmpty(@Nullable Map<String, ?> value) {
+        return value == null ? Map.of() : value;
+    }
+
     protected <K> AttributeValue writeComplex(@Nullable K value, Class<K> type) {
 
         if (value == null) return null;
@@ -136,6 +417,34 @@ public abstract class ObjectParser<T> extends CollectionConverter implements Con
             return (V) parseInteger(value);
         }
 
+        if (type == Long.class) {
+            return (V) parseLonger(value);
+        }
+
+        if (type == Float.class) {
+            return (V) parseFloater(value);
+        }
+
+        if (type == Double.class) {
+            return (V) parseDoubler(value);
+        }
+
+        if (type == Short.class) {
+            return (V) parseShorter(value);
+        }
+
+        if (type == Byte.class) {
+            return (V) parseByter(value);
+        }
+
+        if (type == Character.class) {
+            return (V) parseCharacter(value);
+        }
+
+        if (type == BigInteger.class) {
+            return (V) readBigInt(value);
+        }
+
         if (type == BigDecimal.class) {
             return (V) parseBigDecimal(value);
         }
@@ -156,6 +465,46 @@ public abstract class ObjectParser<T> extends CollectionConverter implements Con
             return (V) parseLocalDateTime(value);
         }
 
+        if (type == LocalTime.class) {
+            return (V) parseLocalTime(value);
+        }
+
+        if (type == Instant.class) {
+            return (V) parseInstant(value);
+        }
+
+        if (type == OffsetDateTime.class) {
+            return (V) parseOffsetDateTime(value);
+        }
+
+        if (type == ZonedDateTime.class) {
+            return (V) parseZonedDateTime(value);
+        }
+
+        if (type == Duration.class) {
+            return (V) parseDuration(value);
+        }
+
+        if (type == Year.class) {
+            return (V) parseYear(value);
+        }
+
+        if (type == YearMonth.class) {
+            return (V) parseYearMonth(value);
+        }
+
+        if (type == byte[].class) {
+            return (V) parseBytes(value);
+        }
+
+        if (type == ByteBuffer.class) {
+            return (V) parseByteBuffer(value);
+        }
+
+        if (type == SdkBytes.class) {
+            return (V) parseSdkBytes(value);
+        }
+
         throw new IllegalStateException("Value not implemented: " + type);
     }
 
@@ -1,20 +1,37 @@
 package org.dooq.converter;
 
+import org.dooq.converter.converters.ConverterHelper;
+import org.dooq.converter.metrics.ConverterCompiledEvent;
+import org.dooq.converter.metrics.ConverterMetrics;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.beans.ConstructorProperties;
 import java.beans.Transient;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.*;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -32,7 +49,7 @@ class ParserCompiler extends ClassLoader {
     public static boolean DEBUG = System.getProperty("dooq.converter.debug", "false").equalsIgnoreCase("true");
 
     private static final ParserCompiler INSTANCE = new ParserCompiler();
-    private final Map<Class<?>, ConverterStruct> converterMap = new HashMap<>();
+    private final Map<Class<?>, ConverterStruct> converterMap = new ConcurrentHashMap<>();
 
     private ParserCompiler() {
         super("ParserCompiler", Thread.currentThread().getContextClassLoader());
@@ -60,6 +77,40 @@ class ParserCompiler extends ClassLoader {
         return super.defineClass("org.dooq.converter." + name, bytecode, 0, bytecode.length);
     }
 
+    /**
+     * Defines the class in a new loader, a discarded cached class may have taken the name in this one
+     */
+    private static Class<?> defineRecoveredClass(byte[] bytecode, String name) {
+        return new ClassLoader("ParserCompiler", INSTANCE) {
+            Class<?> define() {
+                return defineClass("org.dooq.converter." + name, bytecode, 0, bytecode.length);
+            }
+        }.define();
+    }
+
+    /**
+     * Defines the converter as a hidden nestmate of the type, passing the {@link VarHandle}s of
+     * inaccessible inherited fields as class data
+     */
+    private static Class<?> defineHiddenClass(byte[] bytecode, @NotNull Class<?> type) {
+
+        try {
+            var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+            List<VarHandle> handles = new ArrayList<>();
+
+            for (Field field : getHandleFields(type)) {
+                handles.add(MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                        .unreflectVarHandle(field));
+            }
+
+            return lookup.defineHiddenClassWithClassData(bytecode, handles, true, MethodHandles.Lookup.ClassOption.NESTMATE)
+                    .lookupClass();
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot access fields of '%s', its package must be open".formatted(type), ex);
+        }
+    }
+
     public static <T> @NotNull ObjectParser<T> getConverter(@NotNull Class<T> type) {
         return getConverter(type, ObjectParser.class);
     }
@@ -67,12 +118,7 @@ class ParserCompiler extends ClassLoader {
     @SuppressWarnings({"unchecked", "rawtypes"})
     public static <T> @NotNull ObjectParser<T> getConverter(@NotNull Class<T> type, Class<? extends ObjectParser> parserClass) {
 
-        @Nullable var converter = INSTANCE.converterMap.get(parserClass);
-
-        if (converter == null) {
-            converter = new ConverterStruct(parserClass);
-            INSTANCE.converterMap.put(parserClass, converter);
-        }
+        var converter = getConverterStruct(parserClass);
 
         var parser = converter
                 .getCachedParser(type);
@@ -81,27 +127,86 @@ class ParserCompiler extends ClassLoader {
             return (ObjectParser<T>) parser;
         }
 
+        var name = type.getSimpleName() + parserClass.getSimpleName();
+
+        long start = System.nanoTime();
+
+        byte[] bytecode = BytecodeCache.load(name, type, parserClass);
+        boolean cached = bytecode != null;
+
+        if (!cached) {
+            bytecode = compile(type, parserClass);
+        }
+
+        long generation = System.nanoTime() - start;
+
+        //Bytecode generation runs concurrently, defining the class must happen once per type
+        synchronized (INSTANCE) {
+
+            parser = converter.getCachedParser(type);
+
+            if (parser != null) {
+                return (ObjectParser<T>) parser;
+            }
+
+            //Time spent waiting for the lock is not part of the compilation
+            long locked = System.nanoTime();
+
+            var compiledEvent = new ConverterCompiledEvent();
+            compiledEvent.begin();
+
+            ObjectParser<T> parserInstance;
+
+            try {
+                parserInstance = createObject(bytecode, type, parserClass, false);
+            } catch (LinkageError | RuntimeException ex) {
+
+                //Malformed, unverifiable or linked against another version of the library
+                if (!cached || !(ex instanceof LinkageError || ex.getCause() instanceof LinkageError)) throw ex;
+
+                Logger.getLogger(ParserCompiler.class.getName())
+                        .log(Level.WARNING, "Discarding invalid cached converter: " + name, ex);
+
+                BytecodeCache.evict(name);
+
+                bytecode = compile(type, parserClass);
+                cached = false;
+                parserInstance = createObject(bytecode, type, parserClass, true);
+            }
+
+            if (!cached) {
+                BytecodeCache.store(name, type, parserClass, bytecode);
+            }
+
+            converter.putCachedParser(type, parserInstance);
+
+            ConverterMetrics.compiled(type, parserClass, generation + System.nanoTime() - locked, bytecode.length);
+            compiledEvent.complete(type, parserClass, generation, bytecode.length, cached);
+
+            return parserInstance;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static byte[] compile(@NotNull Class<?> type, Class<? extends ObjectParser> parserClass) {
+
         if (DEBUG) {
             Logger.getLogger(ParserCompiler.class.getName())
                     .log(Level.INFO, "Creating converter for class: " + type);
         }
 
-        if (!type.isRecord()) {
-            boolean invalidConstructor = true;
+        var subtypes = type.getAnnotation(DynamoSubtypes.class);
 
-            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
-                if (constructor.getParameterCount() == 0) {
-                    invalidConstructor = false;
-                    break;
-                }
-            }
+        if (subtypes != null) {
+            return PolymorphicCompiler.compile(type, subtypes, parserClass);
+        }
 
-            if (invalidConstructor) {
-                throw new IllegalArgumentException("No args constructor is required for type '%s'".formatted(type));
-            }
+        if (!type.isRecord() && !hasDefaultConstructor(type) && findCreator(type) == null && findBuilder(type) == null) {
+            throw new IllegalArgumentException("No args constructor, creator constructor or builder is required for type '%s'"
+                    .formatted(type));
         }
 
-        ClassWriter writer = new ClassWriter(0);
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
 
         writer.visit(V17, ACC_PUBLIC, getParentName(type, parserClass),
                 null, Type.getInternalName(parserClass), null);
@@ -110,17 +215,16 @@ class ParserCompiler extends ClassLoader {
         defineConstructor(writer, parserClass);
         defineReadMethod(writer, type, parserClass);
         defineWriteMethod(writer, type, parserClass);
+        defineEstimateMethod(writer, type, parserClass);
+        defineKeyMethods(writer, type, parserClass);
 
         writer.visitEnd();
 
-        byte[] bytecode = writer.toByteArray();
-
-        var parserInstance = createObject(bytecode, type, parserClass);
-
-        INSTANCE.converterMap.get(parserClass)
-                .putCachedParser(type, parserInstance);
+        return writer.toByteArray();
+    }
 
-        return parserInstance;
+    private static @NotNull ConverterStruct getConverterStruct(@NotNull Class<?> parserClass) {
+        return INSTANCE.converterMap.computeIfAbsent(parserClass, ConverterStruct::new);
     }
 
     private static void defineNewInstance(@NotNull ClassWriter writer, @NotNull Class<?> type) {
@@ -131,7 +235,7 @@ class ParserCompiler extends ClassLoader {
 
         visitor.visitCode();
 
-        if (type.isRecord()) { //Return null
+        if (type.isRecord() || !hasDefaultConstructor(type)) { //Return null
 
             visitor.visitInsn(Opcodes.ACONST_NULL);
             visitor.visitInsn(Opcodes.ARETURN);
@@ -165,19 +269,49 @@ class ParserCompiler extends ClassLoader {
 
         visitor.visitCode();
 
+        startMetrics(visitor);
+
         visitor.visitTypeInsn(NEW, Type.getInternalName(FilteredMap.class));
         visitor.visitInsn(DUP);
         visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(FilteredMap.class),
                 "<init>", Type.getMethodDescriptor(Type.VOID_TYPE), false);
         visitor.visitVarInsn(ASTORE, 2);
 
-        var stacks = generateWriteMethods(visitor, type, parserClass);
+        var discriminator = PolymorphicCompiler.discriminator(type);
 
-        visitor.visitMaxs(stacks + 1, 3);
+        //Subtypes of polymorphic types always write their discriminator
+        if (discriminator != null) {
+            visitor.visitVarInsn(ALOAD, 2);
+            visitor.visitLdcInsn(discriminator.attribute());
+            visitor.visitLdcInsn(discriminator.name());
+            visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(AttributeValue.class), "fromS",
+                    Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(String.class)), false);
+            visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+            visitor.visitInsn(POP);
+        }
+
+        var schema = type.getAnnotation(DynamoSchema.class);
+
+        if (schema != null) {
+            visitor.visitVarInsn(ALOAD, 2);
+            visitor.visitLdcInsn(schema.attribute());
+            visitor.visitLdcInsn(Integer.toString(schema.version()));
+            visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(AttributeValue.class), "fromN",
+                    Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(String.class)), false);
+            visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+            visitor.visitInsn(POP);
+        }
+
+        var stacks = generateWriteMethods(visitor, type, parserClass, false);
+
+        generateKeyTemplates(visitor, type, parserClass, false);
+
+        endMetrics(visitor, type, "write");
 
         visitor.visitVarInsn(ALOAD, 2);
         visitor.visitInsn(Opcodes.ARETURN);
 
+        visitor.visitMaxs(stacks + 1, 3);
         visitor.visitEnd();
 
 
@@ -196,471 +330,1600 @@ class ParserCompiler extends ClassLoader {
         visitor.visitEnd();
     }
 
-    @Contract(pure = true)
-    private static <T> @NotNull String getParentName(@NotNull Class<T> type, Class<?> parserClass) {
-        return "org/dooq/converter/" + type.getSimpleName() + parserClass.getSimpleName();
-    }
+    /**
+     * Same traversal as the write method, sizes are added to a long at local 2 instead of creating the item map
+     */
+    @SuppressWarnings("rawtypes")
+    private static void defineEstimateMethod(@NotNull ClassWriter writer, @NotNull Class<?> type, Class<? extends ObjectParser> parserClass) {
 
+        var descriptor = "(L" + Type.getInternalName(type) + ";)J";
 
-    @SuppressWarnings("rawtypes")
-    private static int generateWriteMethods(MethodVisitor visitor, @NotNull Class<?> type, Class<? extends ObjectParser> parserClass) {
+        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "estimateSize", descriptor, null, null);
 
-        Map<String, Method> methodMap = new HashMap<>();
+        visitor.visitCode();
 
-        for (Method method : type.getDeclaredMethods()) {
+        var discriminator = PolymorphicCompiler.discriminator(type);
+        var schema = type.getAnnotation(DynamoSchema.class);
 
-            if (method.isAnnotationPresent(Transient.class)) continue;
-            if (method.getParameterCount() > 0) continue;
+        long size = 0;
 
-            if (methodMap.put(method.getName().toLowerCase(), method) != null) {
-                throw new IllegalStateException("Duplicate method found: " + method.getName());
-            }
+        if (discriminator != null) {
+            size += AttributeSizes.utf8Length(discriminator.attribute()) + AttributeSizes.utf8Length(discriminator.name());
         }
 
-        if (methodMap.isEmpty()) throw new IllegalStateException("No accessors found for class " + type);
+        if (schema != null) {
+            size += AttributeSizes.attribute(AttributeSizes.utf8Length(schema.attribute()), schema.version());
+        }
 
-        int stacks = 0;
+        visitor.visitLdcInsn(size);
 
-        String methodName;
+        visitor.visitVarInsn(LSTORE, 2);
 
-        for (Field field : getFields(type)) {
+        var stacks = generateWriteMethods(visitor, type, parserClass, true);
 
-            Method getMethod;
+        generateKeyTemplates(visitor, type, parserClass, true);
 
-            methodName = field.getName().toLowerCase();
+        visitor.visitVarInsn(LLOAD, 2);
+        visitor.visitInsn(LRETURN);
 
-            if (type.isRecord()) {
-                getMethod = methodMap.get(methodName);
-            } else {
-                getMethod = methodMap.get("get" + methodName);
+        visitor.visitMaxs(stacks + 2, 4);
+        visitor.visitEnd();
 
-                if (getMethod == null && field.getType() == boolean.class) {
-                    getMethod = methodMap.get("is" + methodName);
-                }
-            }
+        // Estimate bridge
 
-            if (getMethod == null) {
-                continue;
-            }
+        visitor = writer.visitMethod(ACC_PUBLIC | ACC_SYNTHETIC | ACC_BRIDGE, "estimateSize",
+                "(Ljava/lang/Object;)J", null, null);
 
-            stacks += 2;
+        visitor.visitVarInsn(ALOAD, 0);
+        visitor.visitVarInsn(ALOAD, 1);
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+        visitor.visitMethodInsn(INVOKEVIRTUAL, getParentName(type, parserClass), "estimateSize", descriptor, false);
+
+        visitor.visitInsn(LRETURN);
+        visitor.visitMaxs(2, 2);
+        visitor.visitEnd();
+    }
+
+    @Contract(pure = true)
+    static <T> @NotNull String getParentName(@NotNull Class<T> type, Class<?> parserClass) {
+
+        //Hidden nestmates are defined in the package of the entity
+        if (isFieldAccess(type)) {
+            var internalName = Type.getInternalName(type);
 
-            computeWriter(visitor, field.getName(), field.getType(), getMethod, type, getGenericType(field), parserClass);
+            return internalName.substring(0, internalName.lastIndexOf('/') + 1)
+                    + type.getSimpleName() + parserClass.getSimpleName();
         }
 
-        return stacks;
+        return "org/dooq/converter/" + type.getSimpleName() + parserClass.getSimpleName();
     }
 
-    @Contract("_ -> new")
-    private static @NotNull Parameters getGenericType(@NotNull Field field) {
-        return getGenericType(field.getGenericType());
-    }
 
-    @Contract("_ -> new")
-    static @NotNull Parameters getGenericType(@NotNull java.lang.reflect.Type type) {
+    @SuppressWarnings("rawtypes")
+    private static int generateWriteMethods(MethodVisitor visitor, @NotNull Class<?> type, Class<? extends ObjectParser> parserClass,
+                                            boolean estimate) {
 
-        if (type instanceof Class<?> clazz) {
-            return new Parameters(clazz);
-        }
+        int stacks = 0;
 
-        var arguments = ((ParameterizedType) type)
-                .getActualTypeArguments();
+        if (isFieldAccess(type)) {
 
-        if (arguments.length == 1) {
-            java.lang.reflect.Type actualTypeArgument = arguments[0];
+            for (Field field : getFields(type)) {
+                stacks += 2;
 
-            if (actualTypeArgument instanceof Class<?> clazz) {
-                return new Parameters(clazz);
+                computeWriter(visitor, field.getName(), field.getType(), field, type, getGenericType(field), parserClass, estimate);
             }
-        } else if (arguments.length == 2) {
 
-            java.lang.reflect.Type firstArgument = arguments[0];
-            java.lang.reflect.Type secondArgument = arguments[1];
+            return stacks;
+        }
 
-            if (firstArgument instanceof Class<?> clazz && secondArgument instanceof Class<?> clazz2) {
-                return new Parameters(clazz, clazz2);
+        var methodMap = getAccessorMap(type);
+
+        for (Field field : getFields(type)) {
+
+            var getMethod = getAccessor(methodMap, type, field);
+
+            if (getMethod == null) {
+                continue;
             }
-        }
 
-        throw new IllegalStateException("Cannot determine generic type: " + type);
-    }
+            stacks += 2;
 
-    record Parameters(Class<?> param1, @Nullable Class<?> param2) {
-        public Parameters(Class<?> param1) {
-            this(param1, null);
+            computeWriter(visitor, field.getName(), field.getType(), getMethod, type, getGenericType(field), parserClass, estimate);
         }
+
+        return stacks;
     }
 
     /**
-     * Finds the required writer method for the given field
-     *
-     * @param visitor    The method visitor
-     * @param name       The field name
-     * @param valueType  The field type
-     * @param setMethod  The setter method
-     * @param parentType The parent type
-     * @param parameters The generic parameters
+     * @return the no args methods of the type by lower case name
      */
-    @SuppressWarnings("rawtypes")
-    private static void computeWriter(MethodVisitor visitor, String name,
-                                      @NotNull Class<?> valueType, @Nullable Method setMethod,
-                                      Class<?> parentType, Parameters parameters,
-                                      Class<? extends ObjectParser> parserClass) {
-
+    private static @NotNull Map<String, Method> getAccessorMap(@NotNull Class<?> type) {
 
-        @Nullable var method = getWriterMethod(valueType, parserClass);
-
-        if (method != null) {
-            handleWriterMethod(visitor, name, setMethod, method, parserClass);
-            return;
-        }
+        Map<String, Method> methodMap = new HashMap<>();
 
+        for (Method method : type.getDeclaredMethods()) {
 
-        if (valueType == List.class) {
+            if (method.isAnnotationPresent(Transient.class)) continue;
+            if (method.getParameterCount() > 0) continue;
 
-            if (parameters.param1 == String.class) {
-                handleWriterMethod(visitor, name, setMethod, getMethodByName("writeStringList", parserClass), parserClass);
-                return;
+            if (methodMap.put(method.getName().toLowerCase(), method) != null) {
+                throw new IllegalStateException("Duplicate method found: " + method.getName());
             }
+        }
 
-            handleGenericWriteMethod(visitor, name, setMethod, "writeList", parameters.param1, parserClass);
-            return;
+        if (methodMap.isEmpty()) throw new IllegalStateException("No accessors found for class " + type);
 
-        }
-        if (valueType == Set.class) {
+        return methodMap;
+    }
 
-            if (parameters.param1 == String.class) {
-                handleWriterMethod(visitor, name, setMethod, getMethodByName("writeStringSet", parserClass), parserClass);
-                return;
-            }
+    private static @Nullable Method getAccessor(@NotNull Map<String, Method> methodMap, @NotNull Class<?> type, @NotNull Field field) {
 
-            handleGenericWriteMethod(visitor, name, setMethod, "writeSet", parameters.param1, parserClass);
-            return;
-        }
+        Method getMethod;
 
+        var methodName = field.getName().toLowerCase();
 
-        if (valueType == Map.class) {
-            handleGenericWriteMethod(visitor, name, setMethod, "writeMap", parameters.param2, parserClass);
-            return;
-        }
+        if (type.isRecord()) {
+            getMethod = methodMap.get(methodName);
+        } else {
+            getMethod = methodMap.get("get" + methodName);
 
-        if (isCustomClass(valueType)) {
-            handleGenericWriteMethod(visitor, name, setMethod, "writeComplex", valueType, parserClass);
-            return;
+            if (getMethod == null && field.getType() == boolean.class) {
+                getMethod = methodMap.get("is" + methodName);
+            }
         }
 
-        if (isJVMClass(valueType)) {
-            throw new RuntimeException("Not implemented: " + valueType + " in class " + parentType);
+        //Immutable classes may expose record style accessors
+        if (getMethod == null) {
+            getMethod = methodMap.get(methodName);
         }
 
-        Logger.getLogger(ParserCompiler.class.getName())
-                .log(Level.WARNING, "Not implemented: " + valueType + " in class " + parentType);
-
+        return getMethod;
     }
 
+    /**
+     * Defines {@code writeKey}, {@code key} and {@code readKey} for types with a {@link PartitionKey}, key maps are
+     * created with {@code Map.of} and hold the key attributes only
+     */
     @SuppressWarnings("rawtypes")
-    private static void computeReader(MethodVisitor visitor, String name,
-                                      @NotNull Class<?> valueType, @Nullable Method setMethod,
-                                      Class<?> parentType, Parameters parameters,
-                                      Class<? extends ObjectParser> parserClass) {
+    private static void defineKeyMethods(@NotNull ClassWriter writer, @NotNull Class<?> type, Class<? extends ObjectParser> parserClass) {
 
+        Field partitionKey = null;
+        Field sortKey = null;
 
-        @Nullable var method = getReaderMethod(valueType, parserClass);
-
-        if (method != null) {
-            handleMethod(visitor, name, setMethod, method, parentType, parserClass);
-            return;
-        }
+        for (Field field : getFields(type)) {
 
-        if (valueType == List.class) {
+            if (field.isAnnotationPresent(PartitionKey.class)) {
+                if (partitionKey != null) throw new IllegalStateException("Duplicate @PartitionKey in class " + type);
 
-            if (parameters.param1 == String.class) {
-                handleMethod(visitor, name, setMethod, getMethodByName("parseStringList", parserClass), parentType, parserClass);
-                return;
+                partitionKey = field;
             }
 
-            handleGenericSetMethod(visitor, name, setMethod, "parseList", parameters.param1, parentType, parserClass);
-            return;
-
-        }
-        if (valueType == Set.class) {
+            if (field.isAnnotationPresent(SortKey.class)) {
+                if (sortKey != null) throw new IllegalStateException("Duplicate @SortKey in class " + type);
+                if (field == partitionKey) throw new IllegalStateException("Field '%s' can't be both keys".formatted(field));
 
-            if (parameters.param1 == String.class) {
-                handleMethod(visitor, name, setMethod, getMethodByName("parseStringSet", parserClass), parentType, parserClass);
-                return;
+                sortKey = field;
             }
-
-            handleGenericSetMethod(visitor, name, setMethod, "parseSet", parameters.param1, parentType, parserClass);
-            return;
         }
 
+        if (partitionKey == null) {
+            if (sortKey != null) throw new IllegalStateException("@SortKey without @PartitionKey in class " + type);
 
-        if (valueType == Map.class) {
-            handleGenericSetMethod(visitor, name, setMethod, "parseMap", parameters.param2, parentType, parserClass);
             return;
         }
 
+        var keys = sortKey == null ? List.of(partitionKey) : List.of(partitionKey, sortKey);
+        var writers = new ArrayList<Method>(keys.size());
 
-        if (isCustomClass(valueType)) {
-            handleComplex(visitor, name, setMethod, valueType, parentType, parserClass);
-            return;
-        }
-
-        if (isJVMClass(valueType)) {
-            throw new RuntimeException("Not implemented: " + valueType + " in class " + parentType);
+        for (Field key : keys) {
+            writers.add(getKeyWriter(key, type, parserClass));
         }
 
-        Logger.getLogger(ParserCompiler.class.getName())
-                .log(Level.WARNING, "Not implemented: " + valueType + " in class " + parentType);
-    }
+        var className = getParentName(type, parserClass);
+        var ofDescriptor = "(" + "Ljava/lang/Object;".repeat(keys.size() * 2) + ")Ljava/util/Map;";
+        var methodMap = isFieldAccess(type) ? null : getAccessorMap(type);
+        var sharded = getFieldAnnotation(type, partitionKey.getName(), DynamoSharded.class);
+        var shardField = sharded == null ? null : getShardField(type, partitionKey.getName(), sharded);
 
-    private static @NotNull Method getMethodByName(String name, Class<?> parserClass) {
-        return INSTANCE.converterMap.get(parserClass).getMethod(name);
-    }
+        // writeKey(T)
 
-    @SuppressWarnings("rawtypes")
-    private static void handleWriterMethod(@NotNull MethodVisitor visitor, String name,
-                                           @Nullable Method setMethod, @NotNull Method parser, @NotNull Class<? extends ObjectParser> parserClass) {
+        var descriptor = "(L" + Type.getInternalName(type) + ";)Ljava/util/Map;";
+        var visitor = writer.visitMethod(ACC_PUBLIC, "writeKey", descriptor, null, null);
 
-        Objects.requireNonNull(setMethod, "No setter found for field: " + name);
+        visitor.visitCode();
 
-        visitor.visitVarInsn(ALOAD, 2);
-        visitor.visitLdcInsn(name);
-        visitor.visitVarInsn(ALOAD, 0);
-        visitor.visitVarInsn(ALOAD, 1);
+        for (int i = 0; i < keys.size(); i++) {
+            var key = keys.get(i);
+            Member getter = methodMap == null ? key : getAccessor(methodMap, type, key);
 
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(setMethod.getDeclaringClass()), setMethod.getName(), Type.getMethodDescriptor(setMethod), false);
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser.getName(), Type.getMethodDescriptor(parser), false);
+            Objects.requireNonNull(getter, "No accessor found for key field: " + key.getName());
 
-        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+            beginKeyAttribute(visitor, AttributeNames.of(type, key.getName()));
+            loadProperty(visitor, getter, type);
+            endKeyAttribute(visitor, writers.get(i), parserClass);
 
-        visitor.visitInsn(POP);
+            if (i == 0 && shardField != null) {
+                var shardGetter = getPropertyGetter(type, shardField);
 
-    }
+                loadComponentText(visitor, shardField, keyVisitor -> loadProperty(keyVisitor, shardGetter, type), type, parserClass);
+                invokeShard(visitor, sharded);
+            }
+        }
 
-    @SuppressWarnings("rawtypes")
-    private static void handleGenericWriteMethod(@NotNull MethodVisitor visitor, String name, @Nullable Method setMethod,
-                                                 String parser, Class<?> type, Class<? extends ObjectParser> parserClass) {
+        visitor.visitMethodInsn(INVOKESTATIC, "java/util/Map", "of", ofDescriptor, true);
+        visitor.visitInsn(ARETURN);
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
 
-        Objects.requireNonNull(setMethod, "No setter found for field: " + name);
+        visitor = writer.visitMethod(ACC_PUBLIC | ACC_SYNTHETIC | ACC_BRIDGE, "writeKey",
+                "(Ljava/lang/Object;)Ljava/util/Map;", null, null);
+
+        visitor.visitVarInsn(ALOAD, 0);
+        visitor.visitVarInsn(ALOAD, 1);
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+        visitor.visitMethodInsn(INVOKEVIRTUAL, className, "writeKey", descriptor, false);
+        visitor.visitInsn(ARETURN);
+        visitor.visitMaxs(2, 2);
+        visitor.visitEnd();
+
+        // key(Object) or key(Object, Object), the values have the types of the fields
+        // The shard can only be computed from the arguments when it's selected by the sort key, the default throws otherwise
+
+        if (shardField == null || shardField.equals(sortKey)) {
+            visitor = writer.visitMethod(ACC_PUBLIC, "key",
+                    "(" + "Ljava/lang/Object;".repeat(keys.size()) + ")Ljava/util/Map;", null, null);
+
+            visitor.visitCode();
+
+            for (int i = 0; i < keys.size(); i++) {
+                var key = keys.get(i);
+
+                beginKeyAttribute(visitor, AttributeNames.of(type, key.getName()));
+                loadKeyArgument(visitor, i + 1, key.getType());
+                endKeyAttribute(visitor, writers.get(i), parserClass);
+
+                if (i == 0 && shardField != null) {
+                    loadComponentText(visitor, shardField, keyVisitor -> loadKeyArgument(keyVisitor, 2, shardField.getType()), type, parserClass);
+                    invokeShard(visitor, sharded);
+                }
+            }
+
+            visitor.visitMethodInsn(INVOKESTATIC, "java/util/Map", "of", ofDescriptor, true);
+            visitor.visitInsn(ARETURN);
+            visitor.visitMaxs(0, 0);
+            visitor.visitEnd();
+        }
+
+        // readKey(Map), reads a map holding the key attributes only
+
+        visitor = writer.visitMethod(ACC_PUBLIC, "readKey", "(Ljava/util/Map;)Ljava/lang/Object;", null, null);
+
+        visitor.visitCode();
+        visitor.visitVarInsn(ALOAD, 0);
+
+        for (Field key : keys) {
+            var attribute = AttributeNames.of(type, key.getName());
+
+            visitor.visitLdcInsn(attribute);
+            visitor.visitVarInsn(ALOAD, 0);
+            visitor.visitLdcInsn(attribute);
+            visitor.visitVarInsn(ALOAD, 1);
+            visitor.visitLdcInsn(attribute);
+            visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+            visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
+            invokeKeyAttribute(visitor);
+        }
+
+        visitor.visitMethodInsn(INVOKESTATIC, "java/util/Map", "of", ofDescriptor, true);
+        visitor.visitMethodInsn(INVOKEVIRTUAL, className, "read", "(Ljava/util/Map;)Ljava/lang/Object;", false);
+        visitor.visitInsn(ARETURN);
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+    }
+
+    /**
+     * Puts the {@link DynamoKeyTemplate} attributes, built with a {@code StringBuilder} sized for the literals and
+     * the usual length of the components, or adds their size to the long at local 2
+     */
+    @SuppressWarnings("rawtypes")
+    private static void generateKeyTemplates(@NotNull MethodVisitor visitor, @NotNull Class<?> type,
+                                             Class<? extends ObjectParser> parserClass, boolean estimate) {
+
+        var templates = type.getAnnotationsByType(DynamoKeyTemplate.class);
+
+        if (templates.length == 0) return;
+
+        var methodMap = isFieldAccess(type) ? null : getAccessorMap(type);
+
+        for (DynamoKeyTemplate annotation : templates) {
+
+            var template = KeyTemplate.of(annotation.value());
+            var components = getTemplateFields(type, template);
+
+            if (estimate) {
+                visitor.visitVarInsn(LLOAD, 2);
+                visitor.visitLdcInsn(AttributeSizes.utf8Length(annotation.attribute()));
+            } else {
+                visitor.visitVarInsn(ALOAD, 2);
+                visitor.visitLdcInsn(annotation.attribute());
+            }
+
+            int capacity = template.literalLength();
+
+            for (Field component : components) {
+                capacity += segmentLength(component.getType());
+            }
+
+            visitor.visitTypeInsn(NEW, "java/lang/StringBuilder");
+            visitor.visitInsn(DUP);
+            visitor.visitLdcInsn(capacity);
+            visitor.visitMethodInsn(INVOKESPECIAL, "java/lang/StringBuilder", "<init>", "(I)V", false);
+
+            for (int i = 0; i <= components.size(); i++) {
+
+                if (!template.literal(i).isEmpty()) {
+                    visitor.visitLdcInsn(template.literal(i));
+                    appendString(visitor);
+                }
+
+                if (i == components.size()) break;
+
+                var component = components.get(i);
+                Member getter = methodMap == null ? component : getAccessor(methodMap, type, component);
+
+                Objects.requireNonNull(getter, "No accessor found for key template component: " + component.getName());
+
+                appendComponent(visitor, component, getter, type, parserClass);
+            }
+
+            visitor.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "toString", "()Ljava/lang/String;", false);
+
+            if (estimate) {
+                visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(AttributeSizes.class), "attribute",
+                        Type.getMethodDescriptor(Type.LONG_TYPE, Type.INT_TYPE, Type.getType(String.class)), false);
+                visitor.visitInsn(LADD);
+                visitor.visitVarInsn(LSTORE, 2);
+                continue;
+            }
+
+            visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(AttributeValue.class), "fromS",
+                    Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(String.class)), false);
+            visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+            visitor.visitInsn(POP);
+        }
+    }
+
+    /**
+     * Appends the component to the builder on the stack, strings and integral numbers of the default codecs are
+     * appended directly, other values are written and their text appended
+     */
+    @SuppressWarnings("rawtypes")
+    private static void appendComponent(@NotNull MethodVisitor visitor, @NotNull Field component, @NotNull Member getter,
+                                        @NotNull Class<?> type, Class<? extends ObjectParser> parserClass) {
+
+        var writer = getKeyWriter(component, type, parserClass);
+        var valueType = component.getType();
+        var builtIn = writer.getDeclaringClass().getPackageName().equals(ConverterHelper.class.getPackageName());
+
+        if (builtIn && (valueType == int.class || valueType == short.class || valueType == byte.class || valueType == long.class)) {
+            loadProperty(visitor, getter, type);
+            visitor.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+                    valueType == long.class ? "(J)Ljava/lang/StringBuilder;" : "(I)Ljava/lang/StringBuilder;", false);
+            return;
+        }
+
+        loadComponentText(visitor, component, value -> loadProperty(value, getter, type), type, parserClass);
+        appendString(visitor);
+    }
+
+    /**
+     * Loads the text of the component value loaded by the given code, strings of the default codec are not written
+     */
+    @SuppressWarnings("rawtypes")
+    private static void loadComponentText(@NotNull MethodVisitor visitor, @NotNull Field component, @NotNull Consumer<MethodVisitor> loadValue,
+                                          @NotNull Class<?> type, Class<? extends ObjectParser> parserClass) {
+
+        var writer = getKeyWriter(component, type, parserClass);
+
+        visitor.visitVarInsn(ALOAD, 0);
+        visitor.visitLdcInsn(component.getName());
+
+        if (component.getType() == String.class && writer.getDeclaringClass().getPackageName().equals(ConverterHelper.class.getPackageName())) {
+            loadValue.accept(visitor);
+            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ObjectParser.class), "keySegment",
+                    "(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/String;", false);
+            return;
+        }
+
+        visitor.visitVarInsn(ALOAD, 0);
+        loadValue.accept(visitor);
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), writer.getName(), Type.getMethodDescriptor(writer), false);
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ObjectParser.class), "keySegment",
+                Type.getMethodDescriptor(Type.getType(String.class), Type.getType(String.class), Type.getType(AttributeValue.class)), false);
+    }
+
+    private static void appendString(@NotNull MethodVisitor visitor) {
+        visitor.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+                "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+    }
+
+    /**
+     * Usual length of the text of a component, sizes the builder of key templates
+     */
+    private static int segmentLength(@NotNull Class<?> type) {
+
+        if (type == byte.class || type == short.class) return 6;
+        if (type == int.class || type == Integer.class) return 11;
+        if (type == long.class || type == Long.class) return 20;
+        if (type == UUID.class) return 36;
+        if (type == LocalDate.class) return 10;
+        if (type == LocalDateTime.class || type == Instant.class) return 24;
+
+        return 16;
+    }
+
+    /**
+     * Stores the {@link DynamoSchema} version of the item at local 5, read by the {@link DynamoAlias} lookups
+     */
+    private static void loadSchemaVersion(@NotNull MethodVisitor visitor, @NotNull Class<?> type) {
+
+        var schema = type.getAnnotation(DynamoSchema.class);
+
+        if (schema == null) return;
+
+        visitor.visitVarInsn(ALOAD, 1);
+        visitor.visitLdcInsn(schema.attribute());
+        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
+        visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(ObjectParser.class), "schemaVersion",
+                "(L" + Type.getInternalName(AttributeValue.class) + ";)I", false);
+        visitor.visitVarInsn(ISTORE, 5);
+    }
+
+    /**
+     * Replaces the item at local 1 with one holding the components of the key templates missing from it
+     */
+    private static void expandKeyTemplates(@NotNull MethodVisitor visitor, @NotNull Class<?> type) {
+
+        for (DynamoKeyTemplate annotation : type.getAnnotationsByType(DynamoKeyTemplate.class)) {
+
+            var template = KeyTemplate.of(annotation.value());
+            var kinds = new StringBuilder();
+            //Components are put with their attribute names
+            var pattern = new StringBuilder(template.literal(0));
+            var components = getTemplateFields(type, template);
+
+            for (int i = 0; i < components.size(); i++) {
+                var component = components.get(i);
+
+                kinds.append(isNumberComponent(component, type) ? 'N' : 'S');
+                pattern.append('{').append(AttributeNames.of(type, component.getName())).append('}').append(template.literal(i + 1));
+            }
+
+            visitor.visitVarInsn(ALOAD, 0);
+            visitor.visitVarInsn(ALOAD, 1);
+            visitor.visitLdcInsn(annotation.attribute());
+            visitor.visitLdcInsn(pattern.toString());
+            visitor.visitLdcInsn(kinds.toString());
+            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ObjectParser.class), "expandKey",
+                    "(Ljava/util/Map;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;)Ljava/util/Map;", false);
+            visitor.visitVarInsn(ASTORE, 1);
+        }
+    }
+
+    private static @NotNull List<Field> getTemplateFields(@NotNull Class<?> type, @NotNull KeyTemplate template) {
+
+        var fields = getFields(type);
+        List<Field> components = new ArrayList<>();
+
+        for (String name : template.names()) {
+
+            var field = fields.stream()
+                    .filter(candidate -> candidate.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Unknown component '%s' in key template '%s' of class %s"
+                            .formatted(name, template.pattern(), type)));
+
+            if (getFieldAnnotation(type, name, DynamoBinary.class) != null) {
+                throw new IllegalStateException("Binary field '%s' can't be a key template component".formatted(field));
+            }
+
+            components.add(field);
+        }
+
+        return components;
+    }
+
+    private static boolean isNumberComponent(@NotNull Field component, @NotNull Class<?> type) {
+
+        var temporal = getFieldAnnotation(type, component.getName(), DynamoTemporal.class);
+
+        if (temporal != null && temporal.value() != DynamoTemporal.Format.ISO) return true;
+
+        return Number.class.isAssignableFrom(MethodType.methodType(component.getType()).wrap().returnType());
+    }
+
+    /**
+     * Loads the argument at the index as a value of the type
+     */
+    private static void loadKeyArgument(@NotNull MethodVisitor visitor, int index, @NotNull Class<?> type) {
+
+        visitor.visitVarInsn(ALOAD, index);
+
+        if (type.isPrimitive()) {
+            var boxed = MethodType.methodType(type).wrap().returnType();
+
+            visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(boxed));
+            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(boxed), type.getName() + "Value",
+                    Type.getMethodDescriptor(Type.getType(type)), false);
+            return;
+        }
+
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+    }
+
+    /**
+     * @return the field hashed to select the shard of the {@link DynamoSharded} partition key
+     */
+    private static @NotNull Field getShardField(@NotNull Class<?> type, String name, @NotNull DynamoSharded sharded) {
+
+        if (getFieldAnnotation(type, name, PartitionKey.class) == null) {
+            throw new IllegalStateException("@DynamoSharded field '%s' of class %s must be the @PartitionKey".formatted(name, type));
+        }
+
+        if (sharded.shards() < 1 || sharded.separator().isEmpty()) {
+            throw new IllegalStateException("Invalid @DynamoSharded of field '%s' in class %s".formatted(name, type));
+        }
+
+        var fields = getFields(type);
+
+        var key = fields.stream()
+                .filter(field -> field.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+
+        if (isNumberComponent(key, type)) {
+            throw new IllegalStateException("Sharded partition key '%s' of class %s must be written as a string".formatted(name, type));
+        }
+
+        var by = fields.stream()
+                .filter(field -> field.getName().equals(sharded.by()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown shard field '%s' in class %s".formatted(sharded.by(), type)));
+
+        if (by.equals(key)) throw new IllegalStateException("Partition key '%s' can't be sharded by itself".formatted(name));
+
+        return by;
+    }
+
+    /**
+     * Appends the shard of the text on the stack to the written partition key below it
+     */
+    private static void invokeShard(@NotNull MethodVisitor visitor, @NotNull DynamoSharded sharded) {
+        visitor.visitLdcInsn(sharded.shards());
+        visitor.visitLdcInsn(sharded.separator());
+        visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(KeyShards.class), "shard",
+                Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(AttributeValue.class),
+                        Type.getType(String.class), Type.INT_TYPE, Type.getType(String.class)), false);
+    }
+
+    /**
+     * @return the getter of the field, or the field itself for direct field access
+     */
+    private static @NotNull Member getPropertyGetter(@NotNull Class<?> type, @NotNull Field field) {
+
+        if (isFieldAccess(type)) return field;
+
+        return Objects.requireNonNull(getAccessor(getAccessorMap(type), type, field), "No accessor found for field: " + field.getName());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static @NotNull Method getKeyWriter(@NotNull Field key, @NotNull Class<?> type, Class<? extends ObjectParser> parserClass) {
+
+        var method = getWriterVariant(key.getType(), type, key.getName(), parserClass);
+
+        if (method == null) {
+            method = getWriterMethod(key.getType(), parserClass);
+        }
+
+        if (method == null || getFieldAnnotation(type, key.getName(), DynamoCompressed.class) != null) {
+            throw new IllegalStateException("Key field '%s' must be written as a scalar".formatted(key));
+        }
+
+        return method;
+    }
+
+    /**
+     * Loads the attribute name for {@code Map.of} and the arguments of {@code keyAttribute} before the value
+     */
+    private static void beginKeyAttribute(@NotNull MethodVisitor visitor, String name) {
+        visitor.visitLdcInsn(name);
+        visitor.visitVarInsn(ALOAD, 0);
+        visitor.visitLdcInsn(name);
+        visitor.visitVarInsn(ALOAD, 0);
+    }
+
+    /**
+     * Writes the value on the stack and checks it's not null
+     */
+    @SuppressWarnings("rawtypes")
+    private static void endKeyAttribute(@NotNull MethodVisitor visitor, @NotNull Method parser,
+                                        Class<? extends ObjectParser> parserClass) {
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser.getName(), Type.getMethodDescriptor(parser), false);
+        invokeKeyAttribute(visitor);
+    }
+
+    private static void invokeKeyAttribute(@NotNull MethodVisitor visitor) {
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ObjectParser.class), "keyAttribute",
+                Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(String.class), Type.getType(AttributeValue.class)), false);
+    }
+
+    @Contract("_ -> new")
+    private static @NotNull Parameters getGenericType(@NotNull Field field) {
+        return getGenericType(field.getGenericType());
+    }
+
+    @Contract("_ -> new")
+    static @NotNull Parameters getGenericType(@NotNull java.lang.reflect.Type type) {
+
+        if (type instanceof Class<?> clazz) {
+            return new Parameters(clazz);
+        }
+
+        var arguments = ((ParameterizedType) type)
+                .getActualTypeArguments();
+
+        if (arguments.length == 1) {
+            java.lang.reflect.Type actualTypeArgument = arguments[0];
+
+            if (actualTypeArgument instanceof Class<?> clazz) {
+                return new Parameters(clazz);
+            }
+        } else if (arguments.length == 2) {
+
+            java.lang.reflect.Type firstArgument = arguments[0];
+            java.lang.reflect.Type secondArgument = arguments[1];
+
+            if (firstArgument instanceof Class<?> clazz && secondArgument instanceof Class<?> clazz2) {
+                return new Parameters(clazz, clazz2);
+            }
+        }
+
+        throw new IllegalStateException("Cannot determine generic type: " + type);
+    }
+
+    record Parameters(Class<?> param1, @Nullable Class<?> param2) {
+        public Parameters(Class<?> param1) {
+            this(param1, null);
+        }
+    }
+
+    /**
+     * Finds the required writer method for the given field
+     *
+     * @param visitor    The method visitor
+     * @param name       The field name
+     * @param valueType  The field type
+     * @param setMethod  The getter method or field
+     * @param parentType The parent type
+     * @param parameters The generic parameters
+     * @param estimate   Adds the attribute size to the long at local 2 instead of putting the value in the map
+     */
+    @SuppressWarnings("rawtypes")
+    private static void computeWriter(MethodVisitor visitor, String name,
+                                      @NotNull Class<?> valueType, @Nullable Member setMethod,
+                                      Class<?> parentType, Parameters parameters,
+                                      Class<? extends ObjectParser> parserClass, boolean estimate) {
+
+
+        @Nullable var method = getWriterVariant(valueType, parentType, name, parserClass);
+
+        if (method == null) {
+            method = getWriterMethod(valueType, parserClass);
+
+            if (estimate && method != null && estimateScalar(visitor, name, valueType, setMethod, method, parentType)) {
+                return;
+            }
+        }
+
+        if (method != null) {
+            handleWriterMethod(visitor, name, setMethod, method, parentType, parserClass, estimate);
+            return;
+        }
+
+
+        if (valueType == List.class) {
+
+            if (parameters.param1 == String.class) {
+                handleWriterMethod(visitor, name, setMethod, getMethodByName("writeStringList", parserClass), parentType, parserClass, estimate);
+                return;
+            }
+
+            handleGenericWriteMethod(visitor, name, setMethod, "writeList", parameters.param1, parentType, parserClass, estimate);
+            return;
+
+        }
+        if (valueType == Set.class) {
+
+            if (parameters.param1 == String.class) {
+                handleWriterMethod(visitor, name, setMethod, getMethodByName("writeStringSet", parserClass), parentType, parserClass, estimate);
+                return;
+            }
+
+            handleGenericWriteMethod(visitor, name, setMethod, "writeSet", parameters.param1, parentType, parserClass, estimate);
+            return;
+        }
+
+
+        if (valueType == Map.class) {
+            handleGenericWriteMethod(visitor, name, setMethod, "writeMap", parameters.param2, parentType, parserClass, estimate);
+            return;
+        }
+
+        if (isCustomClass(valueType)) {
+            handleGenericWriteMethod(visitor, name, setMethod, "writeComplex", valueType, parentType, parserClass, estimate);
+            return;
+        }
+
+        if (isJVMClass(valueType)) {
+            throw new RuntimeException("Not implemented: " + valueType + " in class " + parentType);
+        }
+
+        Logger.getLogger(ParserCompiler.class.getName())
+                .log(Level.WARNING, "Not implemented: " + valueType + " in class " + parentType);
+
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void computeReader(MethodVisitor visitor, String name,
+                                      @NotNull Class<?> valueType, @Nullable Member setMethod,
+                                      Class<?> parentType, Parameters parameters,
+                                      Class<? extends ObjectParser> parserClass) {
+
+
+        @Nullable var method = getReaderVariant(valueType, parentType, name, parserClass);
+
+        if (method == null) {
+            method = getReaderMethod(valueType, parserClass);
+        }
+
+        if (method != null) {
+            handleMethod(visitor, name, setMethod, method, parentType, parserClass);
+            return;
+        }
+
+        if (valueType == List.class) {
+
+            if (parameters.param1 == String.class) {
+                handleMethod(visitor, name, setMethod, getMethodByName("parseStringList", parserClass), parentType, parserClass);
+                return;
+            }
+
+            handleGenericSetMethod(visitor, name, setMethod, "parseList", parameters.param1, parentType, parserClass);
+            return;
+
+        }
+        if (valueType == Set.class) {
+
+            if (parameters.param1 == String.class) {
+                handleMethod(visitor, name, setMethod, getMethodByName("parseStringSet", parserClass), parentType, parserClass);
+                return;
+            }
+
+            handleGenericSetMethod(visitor, name, setMethod, "parseSet", parameters.param1, parentType, parserClass);
+            return;
+        }
+
+
+        if (valueType == Map.class) {
+            handleGenericSetMethod(visitor, name, setMethod, "parseMap", parameters.param2, parentType, parserClass);
+            return;
+        }
+
+
+        if (isCustomClass(valueType)) {
+            handleComplex(visitor, name, setMethod, valueType, parentType, parserClass);
+            return;
+        }
+
+        if (isJVMClass(valueType)) {
+            throw new RuntimeException("Not implemented: " + valueType + " in class " + parentType);
+        }
+
+        Logger.getLogger(ParserCompiler.class.getName())
+                .log(Level.WARNING, "Not implemented: " + valueType + " in class " + parentType);
+    }
+
+    private static @NotNull Method getMethodByName(String name, Class<?> parserClass) {
+        return INSTANCE.converterMap.get(parserClass).getMethod(name);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void handleWriterMethod(@NotNull MethodVisitor visitor, String name,
+                                           @Nullable Member setMethod, @NotNull Method parser, @NotNull Class<?> parent,
+                                           @NotNull Class<? extends ObjectParser> parserClass, boolean estimate) {
+
+        Objects.requireNonNull(setMethod, "No setter found for field: " + name);
+
+        beginPut(visitor, AttributeNames.of(parent, name), estimate);
+
+        var compressed = beginCompress(visitor, name, parent);
+
+        visitor.visitVarInsn(ALOAD, 0);
+
+        loadProperty(visitor, setMethod, parent);
+
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser.getName(), Type.getMethodDescriptor(parser), false);
+
+        endSparse(visitor, name, getPropertyType(setMethod), parser, parent);
+        endCompress(visitor, compressed);
+        endShard(visitor, name, parent, parserClass);
+        endPut(visitor, estimate);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void handleGenericWriteMethod(@NotNull MethodVisitor visitor, String name, @Nullable Member setMethod,
+                                                 String parser, Class<?> type, @NotNull Class<?> parent,
+                                                 Class<? extends ObjectParser> parserClass, boolean estimate) {
+
+        Objects.requireNonNull(setMethod, "No setter found for field: " + name);
+
+        beginPut(visitor, AttributeNames.of(parent, name), estimate);
+
+        var compressed = beginCompress(visitor, name, parent);
+
+        visitor.visitVarInsn(ALOAD, 0);
+
+        loadProperty(visitor, setMethod, parent);
+
+        visitor.visitLdcInsn(Type.getType(type));
+
+        var writer = getMethodByName(parser, parserClass);
+
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ObjectParser.class), parser, Type.getMethodDescriptor(writer), false);
+
+        endSparse(visitor, name, getPropertyType(setMethod), writer, parent);
+        endCompress(visitor, compressed);
+        endPut(visitor, estimate);
+    }
+
+    /**
+     * Loads the item map at local 2 and the attribute name, or the size at local 2 and the size of the name,
+     * see {@link AttributeNames}
+     */
+    private static void beginPut(@NotNull MethodVisitor visitor, String name, boolean estimate) {
+
+        if (estimate) {
+            visitor.visitVarInsn(LLOAD, 2);
+            visitor.visitLdcInsn(AttributeSizes.utf8Length(name));
+            return;
+        }
 
         visitor.visitVarInsn(ALOAD, 2);
         visitor.visitLdcInsn(name);
+    }
+
+    /**
+     * Puts the attribute value on the stack in the item map, or adds its size to the size at local 2
+     */
+    private static void endPut(@NotNull MethodVisitor visitor, boolean estimate) {
+
+        if (estimate) {
+            visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(AttributeSizes.class), "attribute",
+                    Type.getMethodDescriptor(Type.LONG_TYPE, Type.INT_TYPE, Type.getType(AttributeValue.class)), false);
+            visitor.visitInsn(LADD);
+            visitor.visitVarInsn(LSTORE, 2);
+            return;
+        }
+
+        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+        visitor.visitInsn(POP);
+    }
+
+    /**
+     * Adds the size of strings, integral numbers and booleans written by the default codecs without creating
+     * the attribute value
+     *
+     * @return false if the value has to be written to be measured
+     */
+    private static boolean estimateScalar(@NotNull MethodVisitor visitor, String name, @NotNull Class<?> type,
+                                          @Nullable Member getter, @NotNull Method writer, @NotNull Class<?> parent) {
+
+        if (getter == null || getFieldAnnotation(parent, name, DynamoCompressed.class) != null) return false;
+        if (getFieldAnnotation(parent, name, DynamoSharded.class) != null) return false;
+
+        //Overridden by a custom converter
+        if (!writer.getDeclaringClass().getPackageName().equals(ConverterHelper.class.getPackageName())) return false;
+
+        Type argument;
+
+        if (type == String.class || type == boolean.class || type == Boolean.class || type == long.class) {
+            argument = Type.getType(type);
+        } else if (type == int.class || type == short.class || type == byte.class) {
+            argument = Type.LONG_TYPE;
+        } else if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            argument = Type.getType(Number.class);
+        } else {
+            return false;
+        }
+
+        visitor.visitVarInsn(LLOAD, 2);
+        visitor.visitLdcInsn(AttributeSizes.utf8Length(AttributeNames.of(parent, name)));
+
+        loadProperty(visitor, getter, parent);
+
+        if (type == int.class || type == short.class || type == byte.class) {
+            visitor.visitInsn(I2L);
+        }
+
+        //Only primitives and strings are sparse here, boxed numbers are read back as null
+        var sizeMethod = isSparse(parent, name, type, writer) ? "sparse" : "attribute";
+
+        visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(AttributeSizes.class), sizeMethod,
+                Type.getMethodDescriptor(Type.LONG_TYPE, Type.INT_TYPE, argument), false);
+        visitor.visitInsn(LADD);
+        visitor.visitVarInsn(LSTORE, 2);
+
+        return true;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void handleMethod(@NotNull MethodVisitor visitor, String name, @Nullable Member setMethod,
+                                     Method parser, @NotNull Class<?> parent, Class<? extends ObjectParser> parserClass) {
+
+        beginSet(visitor, setMethod, parent);
+        loadAttribute(visitor, name, parent);
+
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser.getName(),
+                Type.getMethodDescriptor(parser), false);
+
+        restoreEmpty(visitor, name, parser, parent);
+        endSet(visitor, setMethod, parent);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void handleGenericSetMethod(@NotNull MethodVisitor visitor, String name,
+                                               @Nullable Member setMethod, String parser,
+                                               Class<?> type, @NotNull Class<?> parent,
+                                               Class<? extends ObjectParser> parserClass) {
+
+        @Nullable var readerMethod = getMethodByName(parser, parserClass);
+
+        Objects.requireNonNull(readerMethod, "No method found with name: " + parser);
+
+        beginSet(visitor, setMethod, parent);
+        loadAttribute(visitor, name, parent);
+
+        visitor.visitLdcInsn(Type.getType(type));
+
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser,
+                Type.getMethodDescriptor(readerMethod), false);
+
+        restoreEmpty(visitor, name, readerMethod, parent);
+        endSet(visitor, setMethod, parent);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void handleComplex(@NotNull MethodVisitor visitor, String name, @Nullable Member setMethod,
+                                      Class<?> type, @NotNull Class<?> parent, Class<? extends ObjectParser> parserClass) {
+
+        @Nullable var readerMethod = getMethodByName("parseComplex", parserClass);
+
+        Objects.requireNonNull(readerMethod, "No method found with name: parseComplex");
+
+        beginSet(visitor, setMethod, parent);
+        loadAttribute(visitor, name, parent);
+
+        visitor.visitLdcInsn(Type.getType(type));
+
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), "parseComplex",
+                Type.getMethodDescriptor(readerMethod), false);
+
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+
+        endSet(visitor, setMethod, parent);
+    }
+
+    /**
+     * Loads {@code this} and the attribute value of the given name from the item at local 1,
+     * inflated first for {@link DynamoCompressed} fields
+     */
+    private static void loadAttribute(@NotNull MethodVisitor visitor, String name, @NotNull Class<?> parent) {
+
+        var compressed = getFieldAnnotation(parent, name, DynamoCompressed.class) != null;
+
         visitor.visitVarInsn(ALOAD, 0);
+
+        if (compressed) {
+            visitor.visitVarInsn(ALOAD, 0);
+        }
+
+        visitor.visitVarInsn(ALOAD, 1);
+        visitor.visitLdcInsn(AttributeNames.of(parent, name)); //Load the key onto the stack
+
+        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
+
+        var alias = getFieldAnnotation(parent, name, DynamoAlias.class);
+
+        //Legacy names are read in order while the value is missing
+        if (alias != null) {
+            for (String legacyName : alias.value()) {
+                visitor.visitVarInsn(ALOAD, 1);
+                visitor.visitLdcInsn(legacyName);
+
+                if (parent.isAnnotationPresent(DynamoSchema.class)) {
+                    visitor.visitVarInsn(ILOAD, 5);
+                } else {
+                    visitor.visitInsn(ICONST_0);
+                }
+
+                visitor.visitLdcInsn(alias.until());
+                visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(ObjectParser.class), "alias",
+                        "(L" + Type.getInternalName(AttributeValue.class) + ";Ljava/util/Map;Ljava/lang/String;II)L"
+                                + Type.getInternalName(AttributeValue.class) + ";", false);
+            }
+        }
+
+        if (compressed) {
+            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ObjectParser.class), "decompress",
+                    Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(AttributeValue.class)), false);
+        }
+
+        var sharded = getFieldAnnotation(parent, name, DynamoSharded.class);
+
+        if (sharded != null) {
+            visitor.visitLdcInsn(sharded.shards());
+            visitor.visitLdcInsn(sharded.separator());
+            visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(KeyShards.class), "unshard",
+                    Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(AttributeValue.class),
+                            Type.INT_TYPE, Type.getType(String.class)), false);
+        }
+    }
+
+    /**
+     * Appends the shard to the written value on the stack when the field is {@link DynamoSharded}
+     */
+    @SuppressWarnings("rawtypes")
+    private static void endShard(@NotNull MethodVisitor visitor, String name, @NotNull Class<?> parent,
+                                 Class<? extends ObjectParser> parserClass) {
+
+        var sharded = getFieldAnnotation(parent, name, DynamoSharded.class);
+
+        if (sharded == null) return;
+
+        var field = getShardField(parent, name, sharded);
+        var getter = getPropertyGetter(parent, field);
+
+        loadComponentText(visitor, field, value -> loadProperty(value, getter, parent), parent, parserClass);
+        invokeShard(visitor, sharded);
+    }
+
+    /**
+     * Fields of {@link DynamoSparse} types read and written by the default codecs as primitives, strings or
+     * collections, keys are always written
+     */
+    private static boolean isSparse(@NotNull Class<?> parent, String name, @NotNull Class<?> type, @NotNull Method codec) {
+
+        if (!parent.isAnnotationPresent(DynamoSparse.class)) return false;
+
+        if (getFieldAnnotation(parent, name, PartitionKey.class) != null || getFieldAnnotation(parent, name, SortKey.class) != null) {
+            return false;
+        }
+
+        //Overridden by a custom converter
+        if (!codec.getDeclaringClass().getPackageName().equals(ConverterHelper.class.getPackageName())) return false;
+
+        return type.isPrimitive() || type == String.class || type == List.class || type == Set.class || type == Map.class;
+    }
+
+    /**
+     * Replaces the written attribute value on the stack with null when it's the default of a sparse field
+     */
+    private static void endSparse(@NotNull MethodVisitor visitor, String name, @NotNull Class<?> type,
+                                  @NotNull Method writer, @NotNull Class<?> parent) {
+
+        if (!isSparse(parent, name, type, writer)) return;
+
+        visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(ObjectParser.class), "sparse",
+                Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(AttributeValue.class)), false);
+    }
+
+    /**
+     * Replaces a null string or collection read for a sparse field with an empty one
+     */
+    private static void restoreEmpty(@NotNull MethodVisitor visitor, String name, @NotNull Method reader, @NotNull Class<?> parent) {
+
+        var type = reader.getReturnType();
+
+        if (type != String.class && type != List.class && type != Set.class && type != Map.class) return;
+        if (!isSparse(parent, name, type, reader)) return;
+
+        visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(ObjectParser.class), "orEmpty",
+                Type.getMethodDescriptor(Type.getType(type), Type.getType(type)), false);
+    }
+
+    private static @NotNull Class<?> getPropertyType(@NotNull Member getter) {
+        return getter instanceof Field field ? field.getType() : ((Method) getter).getReturnType();
+    }
+
+    /**
+     * Loads {@code this} for {@link #endCompress} when the field is {@link DynamoCompressed}
+     */
+    private static @Nullable DynamoCompressed beginCompress(@NotNull MethodVisitor visitor, String name, @NotNull Class<?> parent) {
+
+        var compressed = getFieldAnnotation(parent, name, DynamoCompressed.class);
+
+        if (compressed != null) {
+            visitor.visitVarInsn(ALOAD, 0);
+        }
+
+        return compressed;
+    }
+
+    /**
+     * Compresses the written attribute value on the stack
+     */
+    private static void endCompress(@NotNull MethodVisitor visitor, @Nullable DynamoCompressed compressed) {
+
+        if (compressed == null) return;
+
+        visitor.visitLdcInsn(compressed.threshold());
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ObjectParser.class), "compress",
+                Type.getMethodDescriptor(Type.getType(AttributeValue.class), Type.getType(AttributeValue.class), Type.INT_TYPE), false);
+    }
+
+    /**
+     * Loads the value of the property of the instance at local 1, through its getter or field
+     */
+    private static void loadProperty(@NotNull MethodVisitor visitor, @NotNull Member getter, @NotNull Class<?> parent) {
+
+        if (getter instanceof Field field) {
+
+            if (isDirectlyAccessible(field, parent)) {
+                visitor.visitVarInsn(ALOAD, 1);
+                visitor.visitFieldInsn(GETFIELD, Type.getInternalName(field.getDeclaringClass()), field.getName(),
+                        Type.getDescriptor(field.getType()));
+                return;
+            }
+
+            loadVarHandle(visitor, field, parent);
+            visitor.visitVarInsn(ALOAD, 1);
+            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(VarHandle.class), "get",
+                    Type.getMethodDescriptor(Type.getType(field.getType()), Type.getType(field.getDeclaringClass())), false);
+            return;
+        }
+
+        var method = (Method) getter;
+
         visitor.visitVarInsn(ALOAD, 1);
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(method.getDeclaringClass()), method.getName(),
+                Type.getMethodDescriptor(method), false);
+    }
+
+    /**
+     * Loads the instance at local 2 for setters and fields, values without setter (records and creator constructors)
+     * stay on the stack and builder setters are chained on the builder already there
+     */
+    private static void beginSet(@NotNull MethodVisitor visitor, @Nullable Member setMethod, @NotNull Class<?> parent) {
+
+        if (setMethod instanceof Field field && !isDirectlyAccessible(field, parent)) {
+            loadVarHandle(visitor, field, parent);
+        }
+
+        if (isInstanceSetter(setMethod, parent)) {
+            visitor.visitVarInsn(ALOAD, 2);
+        }
+    }
+
+    private static void endSet(@NotNull MethodVisitor visitor, @Nullable Member setMethod, @NotNull Class<?> parent) {
+
+        if (setMethod == null) return;
+
+        if (setMethod instanceof Field field) {
+
+            if (isDirectlyAccessible(field, parent)) {
+                visitor.visitFieldInsn(PUTFIELD, Type.getInternalName(field.getDeclaringClass()), field.getName(),
+                        Type.getDescriptor(field.getType()));
+                return;
+            }
+
+            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(VarHandle.class), "set",
+                    Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(field.getDeclaringClass()), Type.getType(field.getType())), false);
+            return;
+        }
+
+        var method = (Method) setMethod;
+        var owner = method.getDeclaringClass();
+
+        visitor.visitMethodInsn(owner.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, Type.getInternalName(owner),
+                method.getName(), Type.getMethodDescriptor(method), owner.isInterface());
+
+        //Builder-Pattern setters requires a pop after the method invocation, builders keep their reference
+        if (isInstanceSetter(method, parent) && method.getReturnType() != void.class) {
+            visitor.visitInsn(POP);
+        }
+    }
+
+    private static boolean isInstanceSetter(@Nullable Member setMethod, @NotNull Class<?> parent) {
+        return setMethod != null && setMethod.getDeclaringClass().isAssignableFrom(parent);
+    }
+
+    static boolean isFieldAccess(@NotNull Class<?> type) {
+        return !type.isRecord() && type.isAnnotationPresent(DynamoFieldAccess.class);
+    }
+
+    /**
+     * Fields of the nest and non-private fields of the same runtime package are accessed with GETFIELD/PUTFIELD
+     * from the hidden nestmate, anything else goes through a {@link VarHandle}
+     */
+    private static boolean isDirectlyAccessible(@NotNull Field field, @NotNull Class<?> parent) {
+
+        var owner = field.getDeclaringClass();
+
+        if (owner.getNestHost() == parent.getNestHost()) return true;
+
+        int modifiers = field.getModifiers();
+
+        if (Modifier.isPublic(modifiers) && Modifier.isPublic(owner.getModifiers())) return true;
+
+        return !Modifier.isPrivate(modifiers)
+                && owner.getPackageName().equals(parent.getPackageName())
+                && owner.getClassLoader() == parent.getClassLoader();
+    }
+
+    /**
+     * @return the fields accessed through a {@link VarHandle}, in class data order
+     */
+    private static @NotNull List<Field> getHandleFields(@NotNull Class<?> type) {
+        return getFields(type)
+                .stream()
+                .filter(field -> !isDirectlyAccessible(field, type))
+                .toList();
+    }
+
+    /**
+     * Loads the {@link VarHandle} of the field from the class data of the hidden class, resolved once as a constant
+     */
+    private static void loadVarHandle(@NotNull MethodVisitor visitor, @NotNull Field field, @NotNull Class<?> parent) {
+
+        var bootstrap = new Handle(H_INVOKESTATIC, Type.getInternalName(MethodHandles.class), "classDataAt",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;I)Ljava/lang/Object;", false);
+
+        visitor.visitLdcInsn(new ConstantDynamic("_", Type.getDescriptor(VarHandle.class), bootstrap,
+                getHandleFields(parent).indexOf(field)));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void defineReadMethod(@NotNull ClassWriter writer, @NotNull Class<?> type,
+                                         Class<? extends ObjectParser> parserClass) {
+
+        if (type.isRecord()) {
+            defineRecordParser(writer, type, parserClass);
+            return;
+        }
+
+        var creator = findCreator(type);
+
+        if (creator != null && (creator.isAnnotationPresent(DynamoCreator.class) || !hasDefaultConstructor(type))) {
+            defineCreatorParser(writer, type, creator, parserClass);
+            return;
+        }
+
+        if (!hasDefaultConstructor(type)) {
+            defineBuilderParser(writer, type, Objects.requireNonNull(findBuilder(type)), parserClass);
+            return;
+        }
+
+        // Define the parse method
+        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "read", "(Ljava/util/Map;)Ljava/lang/Object;",
+                "(Ljava/util/Map<Ljava/lang/String;LAttributeValue;>;)L" + Type.getInternalName(type) + ";", null);
+
+        visitor.visitCode();
+
+        startMetrics(visitor);
+
+        expandKeyTemplates(visitor, type);
+        loadSchemaVersion(visitor, type);
+
+        visitor.visitTypeInsn(NEW, Type.getInternalName(type));
+        visitor.visitInsn(DUP);
+        visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(type),
+                "<init>", Type.getMethodDescriptor(Type.VOID_TYPE), false);
+        visitor.visitVarInsn(ASTORE, 2);
+
+        var stacks = generateMethods(visitor, type, parserClass);
+
+        endMetrics(visitor, type, "read");
+
+        visitor.visitVarInsn(ALOAD, 2);
+        visitor.visitInsn(Opcodes.ARETURN);
+
+        visitor.visitMaxs(stacks + 1, 3);
+        visitor.visitEnd();
+
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void defineRecordParser(@NotNull ClassWriter writer, Class<?> type, Class<? extends ObjectParser> parserClass) {
+        // Define the parse method
+        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "read", "(Ljava/util/Map;)Ljava/lang/Object;",
+                "(Ljava/util/Map<Ljava/lang/String;LAttributeValue;>;)L" + Type.getInternalName(type) + ";", null);
 
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(setMethod.getDeclaringClass()), setMethod.getName(), Type.getMethodDescriptor(setMethod), false);
+        visitor.visitCode();
 
-        visitor.visitLdcInsn(Type.getType(type));
+        startMetrics(visitor);
 
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ObjectParser.class), parser, Type.getMethodDescriptor(getMethodByName(parser, parserClass)), false);
-        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+        expandKeyTemplates(visitor, type);
+        loadSchemaVersion(visitor, type);
 
-        visitor.visitInsn(POP);
+        visitor.visitTypeInsn(NEW, Type.getInternalName(type));
+        visitor.visitInsn(DUP);
+
+        var stacks = generateMethods(visitor, type, parserClass);
+
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append('(');
+
+        for (RecordComponent recordComponent : type.getRecordComponents()) {
+            stringBuilder.append(Type.getType(recordComponent.getType()));
+        }
+
+        stringBuilder.append(")V");
+
+        visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(type), "<init>", stringBuilder.toString(), false);
+        visitor.visitVarInsn(ASTORE, 2);
+
+        endMetrics(visitor, type, "read");
+
+        visitor.visitVarInsn(ALOAD, 2);
+        visitor.visitInsn(Opcodes.ARETURN);
+
+        visitor.visitMaxs(stacks + 1, 3);
+        visitor.visitEnd();
     }
 
+    /**
+     * Same as {@link #defineRecordParser}, the values are passed to the creator constructor in parameter order
+     */
     @SuppressWarnings("rawtypes")
-    private static void handleMethod(@NotNull MethodVisitor visitor, String name, @Nullable Method setMethod,
-                                     Method parser, @NotNull Class<?> parent, Class<? extends ObjectParser> parserClass) {
+    private static void defineCreatorParser(@NotNull ClassWriter writer, Class<?> type, @NotNull Constructor<?> creator,
+                                            Class<? extends ObjectParser> parserClass) {
 
-        if (parent.isRecord()) {
+        if (!Modifier.isPublic(creator.getModifiers())) {
+            throw new IllegalStateException("Creator constructor of '%s' must be public".formatted(type));
+        }
 
-            visitor.visitVarInsn(ALOAD, 0);
-            visitor.visitVarInsn(ALOAD, 1);
-            visitor.visitLdcInsn(name);
+        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "read", "(Ljava/util/Map;)Ljava/lang/Object;",
+                "(Ljava/util/Map<Ljava/lang/String;LAttributeValue;>;)L" + Type.getInternalName(type) + ";", null);
 
-            visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
-            visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
-            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser.getName(),
-                    Type.getMethodDescriptor(parser), false);
+        visitor.visitCode();
 
-            return;
+        startMetrics(visitor);
+
+        expandKeyTemplates(visitor, type);
+        loadSchemaVersion(visitor, type);
+
+        visitor.visitTypeInsn(NEW, Type.getInternalName(type));
+        visitor.visitInsn(DUP);
+
+        var names = getParameterNames(creator);
+        var parameters = creator.getParameters();
+
+        for (int i = 0; i < parameters.length; i++) {
+            computeReader(visitor, names[i], parameters[i].getType(), null,
+                    type, getGenericType(parameters[i].getParameterizedType()), parserClass);
         }
 
-        Objects.requireNonNull(setMethod);
+        visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(type), "<init>",
+                Type.getConstructorDescriptor(creator), false);
+        visitor.visitVarInsn(ASTORE, 2);
+
+        endMetrics(visitor, type, "read");
 
         visitor.visitVarInsn(ALOAD, 2);
-        visitor.visitVarInsn(ALOAD, 0);
-        visitor.visitVarInsn(ALOAD, 1);
+        visitor.visitInsn(Opcodes.ARETURN);
 
-        visitor.visitLdcInsn(name); //Load the key onto the stack
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+    }
 
-        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
-        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser.getName(),
-                Type.getMethodDescriptor(parser), false);
+    /**
+     * Chains the builder setters matching the fields of the type, then returns the built instance
+     */
+    @SuppressWarnings("rawtypes")
+    private static void defineBuilderParser(@NotNull ClassWriter writer, Class<?> type, @NotNull Method factory,
+                                            Class<? extends ObjectParser> parserClass) {
 
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(setMethod.getDeclaringClass()),
-                setMethod.getName(), Type.getMethodDescriptor(setMethod), false);
+        var builderClass = factory.getReturnType();
+        Method build;
 
-        if (setMethod.getReturnType() != void.class) {
-            visitor.visitInsn(POP);
+        try {
+            build = builderClass.getMethod("build");
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
         }
 
-    }
+        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "read", "(Ljava/util/Map;)Ljava/lang/Object;",
+                "(Ljava/util/Map<Ljava/lang/String;LAttributeValue;>;)L" + Type.getInternalName(type) + ";", null);
 
-    @SuppressWarnings("rawtypes")
-    private static void handleGenericSetMethod(@NotNull MethodVisitor visitor, String name,
-                                               @Nullable Method setMethod, String parser,
-                                               Class<?> type, @NotNull Class<?> parent,
-                                               Class<? extends ObjectParser> parserClass) {
+        visitor.visitCode();
 
-        @Nullable var readerMethod = getMethodByName(parser, parserClass);
+        startMetrics(visitor);
 
-        Objects.requireNonNull(readerMethod, "No method found with name: " + parser);
+        expandKeyTemplates(visitor, type);
+        loadSchemaVersion(visitor, type);
 
-        if (parent.isRecord()) {
+        visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(type), factory.getName(),
+                Type.getMethodDescriptor(factory), false);
 
-            visitor.visitVarInsn(ALOAD, 0);
-            visitor.visitVarInsn(ALOAD, 1);
-            visitor.visitLdcInsn(name);
+        for (Field field : getFields(type)) {
 
-            visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
-            visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
+            if (Modifier.isStatic(field.getModifiers())) continue;
 
-            visitor.visitLdcInsn(Type.getType(type));
+            var setMethod = getBuilderMethod(builderClass, field);
 
-            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser,
-                    Type.getMethodDescriptor(readerMethod), false);
+            if (setMethod == null) {
+                continue;
+            }
 
-            return;
+            computeReader(visitor, field.getName(), field.getType(), setMethod, type, getGenericType(field), parserClass);
         }
 
-        Objects.requireNonNull(setMethod, "No setter found for field: " + name);
+        visitor.visitMethodInsn(builderClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL,
+                Type.getInternalName(builderClass), build.getName(), Type.getMethodDescriptor(build), builderClass.isInterface());
+
+        if (build.getReturnType() != type) {
+            visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+        }
+
+        visitor.visitVarInsn(ASTORE, 2);
+
+        endMetrics(visitor, type, "read");
 
         visitor.visitVarInsn(ALOAD, 2);
-        visitor.visitVarInsn(ALOAD, 0);
-        visitor.visitVarInsn(ALOAD, 1);
+        visitor.visitInsn(Opcodes.ARETURN);
 
-        visitor.visitLdcInsn(name);
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+    }
 
-        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
-        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
+    private static @Nullable Method getBuilderMethod(@NotNull Class<?> builderClass, @NotNull Field field) {
 
-        visitor.visitLdcInsn(Type.getType(type));
+        for (Method method : builderClass.getMethods()) {
 
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), parser,
-                Type.getMethodDescriptor(readerMethod), false);
+            if (method.getParameterCount() != 1) continue;
+            if (!method.getName().equalsIgnoreCase(field.getName())) continue;
+            if (method.getParameterTypes()[0] != field.getType()) continue;
 
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(setMethod.getDeclaringClass()),
-                setMethod.getName(), Type.getMethodDescriptor(setMethod), false);
+            //Only fluent setters keep the builder on the stack
+            if (!builderClass.isAssignableFrom(method.getReturnType())) {
+                throw new IllegalStateException("Builder method '%s' must return the builder".formatted(method));
+            }
 
-        if (setMethod.getReturnType() != void.class) {
-            visitor.visitInsn(POP);
+            return method;
         }
-    }
 
-    @SuppressWarnings("rawtypes")
-    private static void handleComplex(@NotNull MethodVisitor visitor, String name, @Nullable Method setMethod,
-                                      Class<?> type, @NotNull Class<?> parent, Class<? extends ObjectParser> parserClass) {
-
-        @Nullable var readerMethod = getMethodByName("parseComplex", parserClass);
+        return null;
+    }
 
-        Objects.requireNonNull(readerMethod, "No method found with name: parseComplex");
+    static boolean hasDefaultConstructor(@NotNull Class<?> type) {
 
-        if (parent.isRecord()) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (constructor.getParameterCount() == 0) return true;
+        }
 
-            visitor.visitVarInsn(ALOAD, 0);
-            visitor.visitVarInsn(ALOAD, 1);
+        return false;
+    }
 
-            visitor.visitLdcInsn(name);
+    /**
+     * @return the {@link DynamoCreator} constructor, otherwise the only public constructor with named parameters
+     */
+    static @Nullable Constructor<?> findCreator(@NotNull Class<?> type) {
 
-            visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
-            visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
+        if (type.isRecord()) return null;
 
-            visitor.visitLdcInsn(Type.getType(type));
+        Constructor<?> creator = null;
 
-            visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), "parseComplex",
-                    Type.getMethodDescriptor(readerMethod), false);
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (!constructor.isAnnotationPresent(DynamoCreator.class)) continue;
 
-            visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+            if (creator != null) {
+                throw new IllegalStateException("Multiple creator constructors found in " + type);
+            }
 
-            return;
+            creator = constructor;
         }
 
-        Objects.requireNonNull(setMethod);
+        if (creator != null) return creator;
 
-        visitor.visitVarInsn(ALOAD, 2);
-        visitor.visitVarInsn(ALOAD, 0);
-        visitor.visitVarInsn(ALOAD, 1);
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterCount() == 0) continue;
+            if (!hasParameterNames(constructor)) continue;
 
-        visitor.visitLdcInsn(name);
+            if (creator != null) return null; //Ambiguous, must be annotated
 
-        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
-        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
+            creator = constructor;
+        }
 
-        visitor.visitLdcInsn(Type.getType(type));
+        return creator;
+    }
 
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(parserClass), "parseComplex",
-                Type.getMethodDescriptor(readerMethod), false);
+    private static boolean hasParameterNames(@NotNull Constructor<?> constructor) {
 
-        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
-        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(setMethod.getDeclaringClass()),
-                setMethod.getName(), Type.getMethodDescriptor(setMethod), false);
+        if (constructor.isAnnotationPresent(ConstructorProperties.class)) return true;
 
-        //Builder-Pattern setters requires a pop after the method invocation
-        if (setMethod.getReturnType() != void.class) {
-            visitor.visitInsn(POP);
+        for (Parameter parameter : constructor.getParameters()) {
+            if (!parameter.isNamePresent()) return false;
         }
 
+        return true;
     }
 
-    @SuppressWarnings("rawtypes")
-    private static void defineReadMethod(@NotNull ClassWriter writer, @NotNull Class<?> type,
-                                         Class<? extends ObjectParser> parserClass) {
+    private static String[] getParameterNames(@NotNull Constructor<?> constructor) {
 
-        if (type.isRecord()) {
-            defineRecordParser(writer, type, parserClass);
-            return;
-        }
+        var properties = constructor.getAnnotation(ConstructorProperties.class);
 
-        // Define the parse method
-        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "read", "(Ljava/util/Map;)Ljava/lang/Object;",
-                "(Ljava/util/Map<Ljava/lang/String;LAttributeValue;>;)L" + Type.getInternalName(type) + ";", null);
+        if (properties != null) {
+            if (properties.value().length != constructor.getParameterCount()) {
+                throw new IllegalStateException("@ConstructorProperties doesn't match the parameters of " + constructor);
+            }
 
-        visitor.visitCode();
-        visitor.visitTypeInsn(NEW, Type.getInternalName(type));
-        visitor.visitInsn(DUP);
-        visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(type),
-                "<init>", Type.getMethodDescriptor(Type.VOID_TYPE), false);
-        visitor.visitVarInsn(ASTORE, 2);
+            return properties.value();
+        }
 
-        var stacks = generateMethods(visitor, type, parserClass);
+        var parameters = constructor.getParameters();
+        var names = new String[parameters.length];
 
-        visitor.visitMaxs(stacks + 1, 3);
+        for (int i = 0; i < parameters.length; i++) {
+            if (!parameters[i].isNamePresent()) {
+                throw new IllegalStateException(("Parameter names of '%s' are not available, compile with -parameters " +
+                        "or annotate it with @ConstructorProperties").formatted(constructor));
+            }
 
-        visitor.visitVarInsn(ALOAD, 2);
-        visitor.visitInsn(Opcodes.ARETURN);
-        visitor.visitEnd();
+            names[i] = parameters[i].getName();
+        }
 
+        return names;
     }
 
-    @SuppressWarnings("rawtypes")
-    private static void defineRecordParser(@NotNull ClassWriter writer, Class<?> type, Class<? extends ObjectParser> parserClass) {
-        // Define the parse method
-        MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "read", "(Ljava/util/Map;)Ljava/lang/Object;",
-                "(Ljava/util/Map<Ljava/lang/String;LAttributeValue;>;)L" + Type.getInternalName(type) + ";", null);
+    /**
+     * @return the public static {@code builder()} method of Lombok style builders
+     */
+    static @Nullable Method findBuilder(@NotNull Class<?> type) {
 
-        visitor.visitCode();
-        visitor.visitTypeInsn(NEW, Type.getInternalName(type));
-        visitor.visitInsn(DUP);
+        try {
+            var factory = type.getMethod("builder");
 
-        var stacks = generateMethods(visitor, type, parserClass);
+            if (!Modifier.isStatic(factory.getModifiers())) return null;
 
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append('(');
+            var build = factory.getReturnType().getMethod("build");
 
-        for (RecordComponent recordComponent : type.getRecordComponents()) {
-            stringBuilder.append(Type.getType(recordComponent.getType()));
-        }
+            if (build.getParameterCount() != 0 || !type.isAssignableFrom(build.getReturnType())) return null;
 
-        stringBuilder.append(")V");
+            return factory;
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
 
-        visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(type), "<init>", stringBuilder.toString(), false);
-        visitor.visitInsn(Opcodes.ARETURN);
+    /**
+     * Stores the metrics start timestamp in locals 3-4, {@code 0} when instrumentation is disabled
+     */
+    private static void startMetrics(@NotNull MethodVisitor visitor) {
+        visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(ConverterMetrics.class), "start", "()J", false);
+        visitor.visitVarInsn(LSTORE, 3);
+    }
 
-        visitor.visitMaxs(stacks + 1, 3);
-        visitor.visitEnd();
+    /**
+     * Reports the conversion of the item at local 1 (read) or local 2 (write)
+     */
+    private static void endMetrics(@NotNull MethodVisitor visitor, @NotNull Class<?> type, String event) {
+        visitor.visitLdcInsn(Type.getType(type));
+        visitor.visitVarInsn(LLOAD, 3);
+        visitor.visitVarInsn(ALOAD, event.equals("read") ? 1 : 2);
+        visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(ConverterMetrics.class), event,
+                "(Ljava/lang/Class;JLjava/util/Map;)V", false);
     }
 
     @SuppressWarnings("rawtypes")
@@ -673,13 +1936,17 @@ class ParserCompiler extends ClassLoader {
         constructorMv.visitEnd();
     }
 
-    private static List<Field> getFields(@NotNull Class<?> type) {
+    static List<Field> getFields(@NotNull Class<?> type) {
 
         if (type.isRecord()) {
             return Arrays.stream(type.getDeclaredFields())
                     .toList();
         }
 
+        if (isFieldAccess(type)) {
+            return getHierarchyFields(type);
+        }
+
         return Arrays.stream(type.getDeclaredFields())
                 .filter(field -> !field.isAnnotationPresent(Transient.class) ||
                         !Modifier.isTransient(field.getModifiers()) ||
@@ -688,18 +1955,59 @@ class ParserCompiler extends ClassLoader {
                 .toList();
     }
 
+    /**
+     * Instance fields of the type and its superclasses, fields shadowed by a subclass are skipped
+     */
+    private static @NotNull List<Field> getHierarchyFields(@NotNull Class<?> type) {
+
+        List<Field> fields = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+
+                int modifiers = field.getModifiers();
+
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+                if (field.isAnnotationPresent(DynamoIgnore.class)) continue;
+
+                if (names.add(field.getName())) {
+                    fields.add(field);
+                }
+            }
+        }
+
+        return fields;
+    }
+
     @SuppressWarnings("rawtypes")
     private static int generateMethods(MethodVisitor visitor, @NotNull Class<?> type, Class<? extends ObjectParser> parserClass) {
 
+        int stacks = 0;
+
+        if (isFieldAccess(type)) {
+
+            for (Field field : getFields(type)) {
+
+                if (Modifier.isFinal(field.getModifiers())) {
+                    throw new IllegalStateException("Final field '%s' cannot be set directly, use a creator constructor or a builder"
+                            .formatted(field));
+                }
+
+                stacks += 2;
+
+                computeReader(visitor, field.getName(), field.getType(), field, type, getGenericType(field), parserClass);
+            }
+
+            return stacks;
+        }
+
         var methodMap = Arrays.stream(type.getDeclaredMethods())
                 .filter(a -> a.getParameterCount() == 1)
                 .collect(Collectors.toMap(method -> method.getName().toLowerCase(), ignored -> ignored));
 
         if (methodMap.isEmpty()) throw new IllegalStateException("No modifiers found for class " + type);
 
-        int stacks = 0;
-
-
         if (type.isRecord()) {
 
             for (RecordComponent component : type.getRecordComponents()) {
@@ -737,7 +2045,7 @@ class ParserCompiler extends ClassLoader {
 
 
     static boolean isCustomClass(@NotNull Class<?> type) {
-        return !type.getName().startsWith("java");
+        return !type.getName().startsWith("java") && !type.isArray() && type != SdkBytes.class;
     }
 
     static boolean isJVMClass(@NotNull Class<?> type) {
@@ -745,37 +2053,97 @@ class ParserCompiler extends ClassLoader {
     }
 
 
-    private static @Nullable Method getReaderMethod(Class<?> type, Class<?> parserClass) {
+    /**
+     * @return the {@link org.dooq.converter.converters.Variant} reader selected by the annotations of the field
+     */
+    private static @Nullable Method getReaderVariant(Class<?> type, Class<?> parentType, String name, Class<?> parserClass) {
 
-        if (type == List.class) return null;
-        if (type == Map.class) return null;
-        if (type == Set.class) return null;
+        var binary = getFieldAnnotation(parentType, name, DynamoBinary.class);
+
+        if (binary != null && binary.copyOnRead()) {
+            if (type == byte[].class) return getConverterStruct(parserClass).getMethod("parseBytesCopy");
+            if (type == ByteBuffer.class) return getConverterStruct(parserClass).getMethod("parseByteBufferCopy");
+        }
 
-        var converter = INSTANCE.converterMap.get(parserClass);
+        var temporal = getFieldAnnotation(parentType, name, DynamoTemporal.class);
 
-        if (converter == null) {
-            converter = new ConverterStruct(parserClass);
-            INSTANCE.converterMap.put(parserClass, converter);
+        //Default readers accept epoch seconds already
+        if (temporal != null && temporal.value() == DynamoTemporal.Format.EPOCH_MILLIS) {
+            return getTemporalVariant("parse", type, temporal, parentType, name, parserClass);
         }
 
-        return converter.getReader(type);
+        return null;
     }
 
-    public static @Nullable Method getWriterMethod(Class<?> type, Class<?> parserClass) {
+    /**
+     * @return the {@link org.dooq.converter.converters.Variant} writer selected by the annotations of the field
+     */
+    private static @Nullable Method getWriterVariant(Class<?> type, Class<?> parentType, String name, Class<?> parserClass) {
+
+        //The default reader accepts both forms
+        if (type == UUID.class && getFieldAnnotation(parentType, name, DynamoBinary.class) != null) {
+            return getConverterStruct(parserClass).getMethod("writeUUIDBinary");
+        }
+
+        var temporal = getFieldAnnotation(parentType, name, DynamoTemporal.class);
+
+        if (temporal != null && temporal.value() != DynamoTemporal.Format.ISO) {
+            return getTemporalVariant("write", type, temporal, parentType, name, parserClass);
+        }
+
+        return null;
+    }
+
+    private static @NotNull Method getTemporalVariant(String prefix, Class<?> type, @NotNull DynamoTemporal temporal,
+                                                      Class<?> parentType, String name, Class<?> parserClass) {
+
+        var method = getConverterStruct(parserClass).getMethod(prefix + type.getSimpleName() + temporal.value().suffix());
+
+        if (method == null) {
+            throw new IllegalStateException("@DynamoTemporal(%s) is not supported for field '%s' of type %s in class %s"
+                    .formatted(temporal.value(), name, type.getSimpleName(), parentType));
+        }
+
+        return method;
+    }
 
-        var converter = INSTANCE.converterMap.get(parserClass);
+    /**
+     * Annotations of records, creator parameters and builders are read from the field of the same name
+     */
+    private static <A extends Annotation> @Nullable A getFieldAnnotation(@NotNull Class<?> parentType, String name,
+                                                                         @NotNull Class<A> annotation) {
 
-        if (converter == null) {
-            converter = new ConverterStruct(parserClass);
-            INSTANCE.converterMap.put(parserClass, converter);
+        for (Class<?> current = parentType; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name).getAnnotation(annotation);
+            } catch (NoSuchFieldException ignored) {
+                //Inherited field
+            }
         }
 
-        return converter.getWriter(type);
+        return null;
+    }
+
+    private static @Nullable Method getReaderMethod(Class<?> type, Class<?> parserClass) {
+
+        if (type == List.class) return null;
+        if (type == Map.class) return null;
+        if (type == Set.class) return null;
+
+        return getConverterStruct(parserClass).getReader(type);
+    }
+
+    public static @Nullable Method getWriterMethod(Class<?> type, Class<?> parserClass) {
+
+        return getConverterStruct(parserClass).getWriter(type);
     }
 
     @SuppressWarnings("unchecked")
-    private static <T> @NotNull ObjectParser<T> createObject(byte[] bytecode, @NotNull Class<T> type, @NotNull Class<?> parserClass) {
-        var clazz = INSTANCE.defineNewClass(bytecode, type.getSimpleName() + parserClass.getSimpleName());
+    private static <T> @NotNull ObjectParser<T> createObject(byte[] bytecode, @NotNull Class<T> type, @NotNull Class<?> parserClass,
+                                                             boolean recovered) {
+        var name = type.getSimpleName() + parserClass.getSimpleName();
+        var clazz = isFieldAccess(type) ? defineHiddenClass(bytecode, type)
+                : recovered ? defineRecoveredClass(bytecode, name) : INSTANCE.defineNewClass(bytecode, name);
 
         try {
             var constructor = clazz.getConstructor();
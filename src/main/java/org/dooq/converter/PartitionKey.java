@@ -0,0 +1,16 @@
+package org.dooq.converter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Partition key of the table, enables {@link Converter#writeKey}, {@link Converter#key} and {@link Converter#readKey}.
+ * <p>
+ * Key fields must be written as a scalar ({@code S}, {@code N} or {@code B}) and can't be compressed.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PartitionKey {
+}
@@ -0,0 +1,292 @@
+package org.dooq.converter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.*;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Compiles the converters of {@link DynamoSubtypes} base types.
+ * <p>
+ * Reads switch on the hash code of the discriminator, then compare the string, and delegate to the converter of
+ * the subtype held in a field. Writes test the subtypes with {@code instanceof}, most specific first.
+ *
+ * @author alex
+ */
+final class PolymorphicCompiler {
+
+    private static final String CONVERTER = Type.getInternalName(Converter.class);
+
+    private PolymorphicCompiler() {
+    }
+
+    /**
+     * Discriminator attribute and value written by the converters of subtypes
+     */
+    record Discriminator(@NotNull String attribute, @NotNull String name) {
+    }
+
+    /**
+     * @return the discriminator of the type if any of its supertypes lists it as a subtype
+     */
+    static @Nullable Discriminator discriminator(@NotNull Class<?> type) {
+
+        Deque<Class<?>> pending = new ArrayDeque<>();
+
+        if (type.getSuperclass() != null) pending.add(type.getSuperclass());
+        pending.addAll(List.of(type.getInterfaces()));
+
+        while (!pending.isEmpty()) {
+            var current = pending.poll();
+            var subtypes = current.getAnnotation(DynamoSubtypes.class);
+
+            if (subtypes != null) {
+                for (DynamoSubtypes.Subtype subtype : subtypes.value()) {
+                    if (subtype.type() == type) return new Discriminator(subtypes.attribute(), subtype.name());
+                }
+            }
+
+            if (current.getSuperclass() != null) pending.add(current.getSuperclass());
+            pending.addAll(List.of(current.getInterfaces()));
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("rawtypes")
+    static byte @NotNull [] compile(@NotNull Class<?> type, @NotNull DynamoSubtypes subtypes,
+                                    @NotNull Class<? extends ObjectParser> parserClass) {
+
+        var types = validate(type, subtypes);
+
+        //Branches need stack map frames, every type merged is an Object
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                return "java/lang/Object";
+            }
+        };
+
+        var className = ParserCompiler.getParentName(type, parserClass);
+
+        writer.visit(V17, ACC_PUBLIC, className, null, Type.getInternalName(parserClass), null);
+
+        for (int i = 0; i < types.size(); i++) {
+            writer.visitField(ACC_PRIVATE | ACC_FINAL, "converter" + i, "L" + CONVERTER + ";", null, null)
+                    .visitEnd();
+        }
+
+        defineConstructor(writer, className, types, parserClass);
+        defineRead(writer, className, type, subtypes, types);
+        defineDispatch(writer, className, type, types, "write", "(Ljava/lang/Object;)Ljava/util/Map;", ARETURN);
+        defineDispatch(writer, className, type, types, "estimateSize", "(Ljava/lang/Object;)J", LRETURN);
+
+        var visitor = writer.visitMethod(ACC_PUBLIC, "newInstance", "()Ljava/lang/Object;", null, null);
+        visitor.visitCode();
+        visitor.visitInsn(ACONST_NULL);
+        visitor.visitInsn(ARETURN);
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+
+        writer.visitEnd();
+
+        return writer.toByteArray();
+    }
+
+    private static @NotNull List<Class<?>> validate(@NotNull Class<?> type, @NotNull DynamoSubtypes subtypes) {
+
+        if (subtypes.value().length == 0) {
+            throw new IllegalArgumentException("No subtypes declared for polymorphic type " + type);
+        }
+
+        Set<String> names = new HashSet<>();
+        List<Class<?>> types = new ArrayList<>();
+
+        for (DynamoSubtypes.Subtype subtype : subtypes.value()) {
+
+            if (subtype.type() == type || !type.isAssignableFrom(subtype.type())) {
+                throw new IllegalArgumentException("'%s' is not a subtype of polymorphic type %s"
+                        .formatted(subtype.type().getName(), type));
+            }
+
+            if (!names.add(subtype.name()) || types.contains(subtype.type())) {
+                throw new IllegalArgumentException("Duplicate subtype '%s' of polymorphic type %s"
+                        .formatted(subtype.name(), type));
+            }
+
+            types.add(subtype.type());
+        }
+
+        return types;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void defineConstructor(@NotNull ClassWriter writer, String className, @NotNull List<Class<?>> types,
+                                          Class<? extends ObjectParser> parserClass) {
+
+        var visitor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+
+        visitor.visitCode();
+        visitor.visitVarInsn(ALOAD, 0);
+        visitor.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(parserClass), "<init>", "()V", false);
+
+        //Converters of the subtypes are resolved once
+        for (int i = 0; i < types.size(); i++) {
+            visitor.visitVarInsn(ALOAD, 0);
+            visitor.visitLdcInsn(Type.getType(types.get(i)));
+            visitor.visitLdcInsn(Type.getType(parserClass));
+            visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(DynamoConverter.class), "getConverter",
+                    "(Ljava/lang/Class;Ljava/lang/Class;)L" + CONVERTER + ";", true);
+            visitor.visitFieldInsn(PUTFIELD, className, "converter" + i, "L" + CONVERTER + ";");
+        }
+
+        visitor.visitInsn(RETURN);
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+    }
+
+    private static void defineRead(@NotNull ClassWriter writer, String className, @NotNull Class<?> type,
+                                   @NotNull DynamoSubtypes subtypes, @NotNull List<Class<?>> types) {
+
+        var visitor = writer.visitMethod(ACC_PUBLIC, "read", "(Ljava/util/Map;)Ljava/lang/Object;", null, null);
+        var unknown = new Label();
+
+        visitor.visitCode();
+
+        //Discriminator attribute at local 2, its string at local 3
+        visitor.visitVarInsn(ALOAD, 1);
+        visitor.visitLdcInsn(subtypes.attribute());
+        visitor.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(AttributeValue.class));
+        visitor.visitVarInsn(ASTORE, 2);
+        visitor.visitVarInsn(ALOAD, 2);
+        visitor.visitJumpInsn(IFNULL, unknown);
+
+        visitor.visitVarInsn(ALOAD, 2);
+        visitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(AttributeValue.class), "s", "()Ljava/lang/String;", false);
+        visitor.visitVarInsn(ASTORE, 3);
+        visitor.visitVarInsn(ALOAD, 3);
+        visitor.visitJumpInsn(IFNULL, unknown);
+
+        //Names grouped by hash code, sorted for the lookupswitch
+        SortedMap<Integer, List<Integer>> hashes = new TreeMap<>();
+
+        for (int i = 0; i < types.size(); i++) {
+            hashes.computeIfAbsent(subtypes.value()[i].name().hashCode(), hash -> new ArrayList<>()).add(i);
+        }
+
+        var keys = hashes.keySet().stream().mapToInt(Integer::intValue).toArray();
+        var labels = new Label[keys.length];
+
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = new Label();
+        }
+
+        visitor.visitVarInsn(ALOAD, 3);
+        visitor.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "hashCode", "()I", false);
+        visitor.visitLookupSwitchInsn(unknown, keys, labels);
+
+        int label = 0;
+
+        for (List<Integer> indexes : hashes.values()) {
+
+            visitor.visitLabel(labels[label++]);
+
+            for (int index : indexes) {
+                var next = new Label();
+
+                visitor.visitVarInsn(ALOAD, 3);
+                visitor.visitLdcInsn(subtypes.value()[index].name());
+                visitor.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                visitor.visitJumpInsn(IFEQ, next);
+
+                visitor.visitVarInsn(ALOAD, 0);
+                visitor.visitFieldInsn(GETFIELD, className, "converter" + index, "L" + CONVERTER + ";");
+                visitor.visitVarInsn(ALOAD, 1);
+                visitor.visitMethodInsn(INVOKEINTERFACE, CONVERTER, "read", "(Ljava/util/Map;)Ljava/lang/Object;", true);
+                visitor.visitInsn(ARETURN);
+
+                visitor.visitLabel(next);
+            }
+
+            visitor.visitJumpInsn(GOTO, unknown);
+        }
+
+        visitor.visitLabel(unknown);
+
+        throwIllegalArgument(visitor, "Unknown '%s' discriminator of polymorphic type %s: "
+                .formatted(subtypes.attribute(), type.getName()), () -> visitor.visitVarInsn(ALOAD, 2));
+
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+    }
+
+    /**
+     * Delegates to the converter of the first subtype the value is an instance of
+     */
+    private static void defineDispatch(@NotNull ClassWriter writer, String className, @NotNull Class<?> type,
+                                       @NotNull List<Class<?>> types, String name, String descriptor, int returnOpcode) {
+
+        var visitor = writer.visitMethod(ACC_PUBLIC, name, descriptor, null, null);
+
+        visitor.visitCode();
+
+        //Subclasses are tested before their superclasses
+        var order = new ArrayList<Integer>();
+
+        for (int i = 0; i < types.size(); i++) {
+            int position = 0;
+
+            while (position < order.size() && !types.get(order.get(position)).isAssignableFrom(types.get(i))) {
+                position++;
+            }
+
+            order.add(position, i);
+        }
+
+        for (int index : order) {
+            var next = new Label();
+
+            visitor.visitVarInsn(ALOAD, 1);
+            visitor.visitTypeInsn(INSTANCEOF, Type.getInternalName(types.get(index)));
+            visitor.visitJumpInsn(IFEQ, next);
+
+            visitor.visitVarInsn(ALOAD, 0);
+            visitor.visitFieldInsn(GETFIELD, className, "converter" + index, "L" + CONVERTER + ";");
+            visitor.visitVarInsn(ALOAD, 1);
+            visitor.visitMethodInsn(INVOKEINTERFACE, CONVERTER, name, descriptor, true);
+            visitor.visitInsn(returnOpcode);
+
+            visitor.visitLabel(next);
+        }
+
+        throwIllegalArgument(visitor, "Unregistered subtype of polymorphic type %s: ".formatted(type.getName()), () -> {
+            visitor.visitVarInsn(ALOAD, 1);
+            visitor.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Object", "getClass", "()Ljava/lang/Class;", false);
+        });
+
+        visitor.visitMaxs(0, 0);
+        visitor.visitEnd();
+    }
+
+    /**
+     * Throws an {@link IllegalArgumentException} with the message followed by the value loaded by the given code
+     */
+    private static void throwIllegalArgument(@NotNull MethodVisitor visitor, String message, @NotNull Runnable loadValue) {
+        visitor.visitTypeInsn(NEW, "java/lang/IllegalArgumentException");
+        visitor.visitInsn(DUP);
+        visitor.visitLdcInsn(message);
+        loadValue.run();
+        visitor.visitMethodInsn(INVOKESTATIC, "java/lang/String", "valueOf", "(Ljava/lang/Object;)Ljava/lang/String;", false);
+        visitor.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "concat", "(Ljava/lang/String;)Ljava/lang/String;", false);
+        visitor.visitMethodInsn(INVOKESPECIAL, "java/lang/IllegalArgumentException", "<init>", "(Ljava/lang/String;)V", false);
+        visitor.visitInsn(ATHROW);
+    }
+}
@@ -0,0 +1,244 @@
+package org.dooq.converter;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Compiles converters ahead of the first {@link DynamoConverter#getConverter(Class)} call.
+ * <p>
+ * Starting from the given roots, the full graph of nested types (fields, record components and
+ * generic arguments of collections and maps) is discovered and every converter is compiled
+ * in parallel on a fork-join pool.
+ *
+ * @author alex
+ */
+final class Precompiler {
+
+    private Precompiler() {
+    }
+
+    /**
+     * @return compile time per type, in discovery order
+     */
+    @SuppressWarnings("rawtypes")
+    static @NotNull Map<Class<?>, Duration> precompile(@NotNull Collection<Class<?>> roots,
+                                                      @NotNull Class<? extends ObjectParser> parserClass,
+                                                      @NotNull ForkJoinPool pool) {
+
+        var types = discover(roots, parserClass);
+
+        List<Callable<Duration>> tasks = new ArrayList<>(types.size());
+
+        for (Class<?> type : types) {
+            tasks.add(() -> {
+                long start = System.nanoTime();
+                ParserCompiler.getConverter(type, parserClass);
+                return Duration.ofNanos(System.nanoTime() - start);
+            });
+        }
+
+        var futures = pool.invokeAll(tasks);
+
+        Map<Class<?>, Duration> result = new LinkedHashMap<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        for (int i = 0; i < types.size(); i++) {
+            try {
+                result.put(types.get(i), futures.get(i).get());
+            } catch (ExecutionException ex) {
+                failures.add(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while precompiling converters", ex);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            var exception = new IllegalStateException("Failed to precompile %d of %d converters"
+                    .formatted(failures.size(), types.size()));
+
+            failures.forEach(exception::addSuppressed);
+
+            throw exception;
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds every class of the package (and its sub-packages) that can be converted: records and
+     * concrete classes with instance fields and a no args constructor, a creator constructor or a builder.
+     */
+    static @NotNull List<Class<?>> scan(@NotNull String packageName) {
+
+        var loader = Thread.currentThread().getContextClassLoader();
+        var path = packageName.replace('.', '/');
+
+        Set<String> classNames = new TreeSet<>();
+
+        try {
+            var resources = loader.getResources(path);
+
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+
+                if (url.getProtocol().equals("file")) {
+                    scanDirectory(new File(url.toURI()), packageName, classNames);
+                } else if (url.getProtocol().equals("jar")) {
+                    scanJar(url, path, classNames);
+                }
+            }
+        } catch (IOException | URISyntaxException ex) {
+            throw new IllegalStateException("Cannot scan package '%s'".formatted(packageName), ex);
+        }
+
+        List<Class<?>> result = new ArrayList<>();
+
+        for (String className : classNames) {
+            try {
+                var type = Class.forName(className, false, loader);
+
+                if (isConvertible(type)) {
+                    result.add(type);
+                }
+            } catch (ClassNotFoundException | LinkageError ignored) {
+                //Not loadable from here, can't be converted either
+            }
+        }
+
+        return result;
+    }
+
+    private static void scanDirectory(@NotNull File directory, String packageName, Set<String> classNames) {
+
+        var files = directory.listFiles();
+
+        if (files == null) return;
+
+        for (File file : files) {
+            if (file.isDirectory()) {
+                scanDirectory(file, packageName + "." + file.getName(), classNames);
+            } else if (file.getName().endsWith(".class")) {
+                classNames.add(packageName + "." + file.getName().substring(0, file.getName().length() - 6));
+            }
+        }
+    }
+
+    private static void scanJar(@NotNull URL url, String path, Set<String> classNames) throws IOException {
+
+        var connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+
+        try (JarFile jar = connection.getJarFile()) {
+            var entries = jar.entries();
+
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                var name = entry.getName();
+
+                if (name.startsWith(path + "/") && name.endsWith(".class")) {
+                    classNames.add(name.substring(0, name.length() - 6).replace('/', '.'));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param parserClass converter the types are compiled with, the types its codecs map are not nested entities
+     */
+    @SuppressWarnings("rawtypes")
+    static @NotNull List<Class<?>> discover(@NotNull Collection<Class<?>> roots, @NotNull Class<? extends ObjectParser> parserClass) {
+
+        Set<Class<?>> visited = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>(roots);
+
+        while (!pending.isEmpty()) {
+            var type = pending.poll();
+
+            if (!visited.add(type)) continue;
+
+            var subtypes = type.getAnnotation(DynamoSubtypes.class);
+
+            if (subtypes != null) {
+                for (DynamoSubtypes.Subtype subtype : subtypes.value()) {
+                    pending.add(subtype.type());
+                }
+                continue;
+            }
+
+            if (type.isRecord()) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    collect(component.getType(), component.getGenericType(), parserClass, pending);
+                }
+                continue;
+            }
+
+            for (Field field : ParserCompiler.getFields(type)) {
+                if (Modifier.isStatic(field.getModifiers())) continue;
+
+                collect(field.getType(), field.getGenericType(), parserClass, pending);
+            }
+        }
+
+        return new ArrayList<>(visited);
+    }
+
+    private static void collect(@NotNull Class<?> type, java.lang.reflect.Type genericType, @NotNull Class<?> parserClass,
+                                Deque<Class<?>> pending) {
+
+        if (isNested(type, parserClass)) {
+            pending.add(type);
+        }
+
+        if (genericType instanceof ParameterizedType parameterizedType) {
+            for (java.lang.reflect.Type argument : parameterizedType.getActualTypeArguments()) {
+                if (argument instanceof Class<?> clazz && isNested(clazz, parserClass)) {
+                    pending.add(clazz);
+                }
+            }
+        }
+    }
+
+    private static boolean isNested(@NotNull Class<?> type, @NotNull Class<?> parserClass) {
+        return ParserCompiler.isCustomClass(type)
+                && ParserCompiler.getWriterMethod(type, parserClass) == null //Mapped by a codec
+                && isConvertible(type);
+    }
+
+    private static boolean isConvertible(@NotNull Class<?> type) {
+
+        if (type.isAnnotationPresent(DynamoSubtypes.class)) return true;
+
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isInterface()) return false;
+        if (type.isAnonymousClass() || type.isLocalClass() || type.isSynthetic()) return false;
+        if (type.isMemberClass() && !Modifier.isStatic(type.getModifiers())) return false;
+
+        if (type.isRecord()) return true;
+
+        if (Modifier.isAbstract(type.getModifiers())) return false;
+
+        if (Arrays.stream(type.getDeclaredFields()).allMatch(field -> Modifier.isStatic(field.getModifiers()))) {
+            return false;
+        }
+
+        return ParserCompiler.hasDefaultConstructor(type)
+                || ParserCompiler.findCreator(type) != null
+                || ParserCompiler.findBuilder(type) != null;
+    }
+}
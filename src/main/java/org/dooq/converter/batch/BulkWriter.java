@@ -0,0 +1,403 @@
+package org.dooq.converter.batch;
+
+import org.dooq.converter.AttributeSizes;
+import org.dooq.converter.Converter;
+import org.dooq.converter.DynamoConverter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bulk {@code BatchWriteItem} loader paced to a write capacity budget, so backfills don't get throttled.
+ * <p>
+ * Each item costs {@code ceil(size / 1 KB)} write units, its size measured with {@link Converter#estimateSize(Object)}
+ * before it's written. Batches of up to 25 items wait for their cost in the {@link TokenBucket} of the table and of
+ * every index holding the item (items with all the key attributes of the index). The consumed capacity reported by
+ * each response corrects the buckets. Unprocessed items give their units back, are retried and halve the rate,
+ * which recovers by 5% of the budget per fully processed batch.
+ *
+ * <pre>{@code
+ * BulkWriter<Order> writer = BulkWriter.builder(client, "orders", Order.class)
+ *         .writeCapacity(500)
+ *         .index("by-customer", 200, "customerId", "created")
+ *         .build();
+ *
+ * writer.putAll(orders);
+ * }</pre>
+ *
+ * @author alex
+ */
+public final class BulkWriter<T> {
+
+    static final int MAX_BATCH_ITEMS = 25;
+    static final long MAX_ITEM_SIZE = 400 * 1024;
+
+    private static final double WRITE_UNIT_SIZE = 1024;
+    private static final double MINIMUM_RATE = 0.05;
+    private static final double RECOVERY_RATE = 0.05;
+
+    private final DynamoDbClient client;
+    private final String tableName;
+    private final Converter<T> converter;
+    private final double writeCapacity;
+    private final TokenBucket table;
+    private final Map<String, Index> indexes;
+    private final int maxAttempts;
+
+    private BulkWriter(@NotNull Builder<T> builder) {
+        this.client = builder.client;
+        this.tableName = builder.tableName;
+        this.converter = builder.converter;
+        this.writeCapacity = builder.writeCapacity;
+        this.table = new TokenBucket(builder.writeCapacity, builder.burst.toNanos() / 1e9);
+        this.maxAttempts = builder.maxAttempts;
+        this.indexes = new LinkedHashMap<>();
+
+        builder.indexes.forEach((name, budget) -> indexes.put(name, new Index(budget.keyAttributes(), budget.capacity(),
+                new TokenBucket(budget.capacity(), builder.burst.toNanos() / 1e9))));
+    }
+
+    public static <T> @NotNull Builder<T> builder(@NotNull DynamoDbClient client, @NotNull String tableName,
+                                                  @NotNull Class<T> type) {
+        return new Builder<>(client, tableName, DynamoConverter.getConverter(type));
+    }
+
+    public static <T> @NotNull Builder<T> builder(@NotNull DynamoDbClient client, @NotNull String tableName,
+                                                  @NotNull Converter<T> converter) {
+        return new Builder<>(client, tableName, converter);
+    }
+
+    /**
+     * Write units of an item of the given size, at least one
+     */
+    public static int writeUnits(long size) {
+        return (int) Math.max(1, Math.ceil(size / WRITE_UNIT_SIZE));
+    }
+
+    /**
+     * Writes all the values, blocking while the budget is exhausted
+     *
+     * @throws IllegalArgumentException if an item is over 400 KB, nothing is written then
+     * @throws IllegalStateException    if items are still unprocessed after the max attempts
+     */
+    public @NotNull Result putAll(@NotNull Collection<? extends T> values) {
+
+        var pending = new ArrayDeque<Pending>(values.size());
+
+        //Pre-flight, rejected before anything is written
+        for (T value : values) {
+            long size = converter.estimateSize(value);
+
+            if (size > MAX_ITEM_SIZE) {
+                throw new IllegalArgumentException("Item of %d bytes exceeds the 400 KB limit of table '%s'"
+                        .formatted(size, tableName));
+            }
+
+            pending.add(new Pending(converter.write(value), writeUnits(size), 1));
+        }
+
+        int requests = 0;
+        int retries = 0;
+        double consumed = 0;
+
+        while (!pending.isEmpty()) {
+
+            var batch = new ArrayList<Pending>(Math.min(MAX_BATCH_ITEMS, pending.size()));
+
+            while (batch.size() < MAX_BATCH_ITEMS && !pending.isEmpty()) {
+                batch.add(pending.poll());
+            }
+
+            acquire(batch);
+
+            var requestItems = new ArrayList<WriteRequest>(batch.size());
+
+            for (Pending item : batch) {
+                requestItems.add(WriteRequest.builder()
+                        .putRequest(PutRequest.builder().item(item.item()).build())
+                        .build());
+            }
+
+            var response = client.batchWriteItem(BatchWriteItemRequest.builder()
+                    .requestItems(Map.of(tableName, requestItems))
+                    .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                    .build());
+
+            requests++;
+
+            var unprocessed = unprocessed(batch, response.unprocessedItems().getOrDefault(tableName, List.of()));
+
+            consumed += feedback(batch, unprocessed, response.consumedCapacity());
+
+            if (unprocessed.isEmpty()) {
+                recover();
+                continue;
+            }
+
+            throttled();
+
+            for (Pending item : unprocessed) {
+
+                if (item.attempt() >= maxAttempts) {
+                    throw new IllegalStateException("%d items still unprocessed by table '%s' after %d attempts"
+                            .formatted(unprocessed.size(), tableName, maxAttempts));
+                }
+
+                retries++;
+                pending.add(new Pending(item.item(), item.units(), item.attempt() + 1));
+            }
+        }
+
+        return new Result(values.size(), requests, retries, consumed);
+    }
+
+    /**
+     * Current write rate of the table, lowered while throttled
+     */
+    public double rate() {
+        return table.rate();
+    }
+
+    /**
+     * Write units of the table available right away, negative while a batch waits for its capacity
+     */
+    public double available() {
+        return table.available();
+    }
+
+    private void acquire(@NotNull List<Pending> batch) {
+
+        try {
+            table.acquire(units(batch, null));
+
+            for (Index index : indexes.values()) {
+                double units = units(batch, index);
+
+                if (units > 0) index.bucket().acquire(units);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for write capacity of table " + tableName, ex);
+        }
+    }
+
+    /**
+     * @return write units of the items, only of the items held by the index if present
+     */
+    private static double units(@NotNull List<Pending> items, @Nullable Index index) {
+        double units = 0;
+
+        for (Pending item : items) {
+            if (index == null || index.holds(item.item())) units += item.units();
+        }
+
+        return units;
+    }
+
+    /**
+     * Unprocessed requests carry the same item, matched back to keep their attempts
+     */
+    private static @NotNull List<Pending> unprocessed(@NotNull List<Pending> batch, @NotNull List<WriteRequest> requests) {
+
+        if (requests.isEmpty()) return List.of();
+
+        Map<Map<String, AttributeValue>, Pending> sent = new HashMap<>();
+
+        for (Pending item : batch) {
+            sent.put(item.item(), item);
+        }
+
+        var result = new ArrayList<Pending>(requests.size());
+
+        for (WriteRequest request : requests) {
+            if (request.putRequest() == null) continue;
+
+            var item = request.putRequest().item();
+            var pending = sent.get(item);
+
+            result.add(pending != null ? pending : new Pending(item, writeUnits(AttributeSizes.of(item)), 1));
+        }
+
+        return result;
+    }
+
+    /**
+     * Gives back the units of the unprocessed items, taken again when they're retried, and corrects the buckets
+     * with the capacity really consumed by the processed items
+     *
+     * @return the capacity consumed by the request
+     */
+    private double feedback(@NotNull List<Pending> batch, @NotNull List<Pending> unprocessed,
+                            @NotNull List<ConsumedCapacity> consumedCapacity) {
+
+        var processed = new ArrayList<>(batch);
+        var refunded = new ArrayList<>(batch);
+
+        processed.removeAll(unprocessed);
+        refunded.retainAll(unprocessed);
+
+        if (!refunded.isEmpty()) {
+            table.adjust(-units(refunded, null));
+
+            for (Index index : indexes.values()) {
+                double units = units(refunded, index);
+
+                if (units > 0) index.bucket().adjust(-units);
+            }
+        }
+
+        double total = 0;
+
+        for (ConsumedCapacity consumed : consumedCapacity) {
+
+            if (!tableName.equals(consumed.tableName())) continue;
+
+            total += consumed.capacityUnits() != null ? consumed.capacityUnits() : 0;
+
+            //Without the table detail the total includes the indexes, the estimate is kept
+            if (consumed.table() != null) table.adjust(units(consumed.table()) - units(processed, null));
+
+            consumed.globalSecondaryIndexes().forEach((name, capacity) -> {
+                var index = indexes.get(name);
+
+                if (index != null) index.bucket().adjust(units(capacity) - units(processed, index));
+            });
+        }
+
+        return total;
+    }
+
+    private static double units(@NotNull Capacity capacity) {
+
+        if (capacity.capacityUnits() != null) return capacity.capacityUnits();
+
+        return capacity.writeCapacityUnits() != null ? capacity.writeCapacityUnits() : 0;
+    }
+
+    private void throttled() {
+        table.rate(Math.max(writeCapacity * MINIMUM_RATE, table.rate() / 2));
+
+        for (Index index : indexes.values()) {
+            index.bucket().rate(Math.max(index.capacity() * MINIMUM_RATE, index.bucket().rate() / 2));
+        }
+    }
+
+    private void recover() {
+        table.rate(Math.min(writeCapacity, table.rate() + writeCapacity * RECOVERY_RATE));
+
+        for (Index index : indexes.values()) {
+            index.bucket().rate(Math.min(index.capacity(), index.bucket().rate() + index.capacity() * RECOVERY_RATE));
+        }
+    }
+
+    /**
+     * @param items            number of items written
+     * @param requests         number of {@code BatchWriteItem} requests sent
+     * @param retries          number of unprocessed items sent again
+     * @param consumedCapacity capacity units reported by the responses
+     */
+    public record Result(int items, int requests, int retries, double consumedCapacity) {
+    }
+
+    private record Pending(@NotNull Map<String, AttributeValue> item, int units, int attempt) {
+    }
+
+    private record Index(@NotNull List<String> keyAttributes, double capacity, @NotNull TokenBucket bucket) {
+
+        /**
+         * Indexes are sparse, items without the key attributes are not written to them
+         */
+        boolean holds(@NotNull Map<String, AttributeValue> item) {
+            for (String attribute : keyAttributes) {
+                if (item.get(attribute) == null) return false;
+            }
+
+            return true;
+        }
+    }
+
+    private record IndexBudget(@NotNull List<String> keyAttributes, double capacity) {
+    }
+
+    public static final class Builder<T> {
+
+        private final DynamoDbClient client;
+        private final String tableName;
+        private final Converter<T> converter;
+        private final Map<String, IndexBudget> indexes = new LinkedHashMap<>();
+        private double writeCapacity;
+        private Duration burst = Duration.ofSeconds(1);
+        private int maxAttempts = 10;
+
+        private Builder(@NotNull DynamoDbClient client, @NotNull String tableName, @NotNull Converter<T> converter) {
+            this.client = Objects.requireNonNull(client);
+            this.tableName = Objects.requireNonNull(tableName);
+            this.converter = Objects.requireNonNull(converter);
+        }
+
+        /**
+         * Write units per second the load may use on the table
+         */
+        public Builder<T> writeCapacity(double unitsPerSecond) {
+            if (unitsPerSecond <= 0) throw new IllegalArgumentException("writeCapacity must be positive");
+
+            this.writeCapacity = unitsPerSecond;
+            return this;
+        }
+
+        /**
+         * Write units per second the load may use on a global secondary index
+         *
+         * @param keyAttributes key attributes of the index, items without them are not written to it
+         */
+        public Builder<T> index(@NotNull String name, double unitsPerSecond, @NotNull String... keyAttributes) {
+            if (unitsPerSecond <= 0) throw new IllegalArgumentException("index capacity must be positive");
+
+            indexes.put(Objects.requireNonNull(name), new IndexBudget(List.of(keyAttributes), unitsPerSecond));
+            return this;
+        }
+
+        /**
+         * Unused capacity that can be accumulated, as time at the configured rate
+         */
+        public Builder<T> burst(@NotNull Duration burst) {
+            if (burst.isNegative() || burst.isZero()) throw new IllegalArgumentException("burst must be positive");
+
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Times an item is sent before giving up
+         */
+        public Builder<T> maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) throw new IllegalArgumentException("maxAttempts must be positive");
+
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public BulkWriter<T> build() {
+            if (writeCapacity <= 0) throw new IllegalStateException("writeCapacity is required");
+
+            return new BulkWriter<>(this);
+        }
+    }
+}
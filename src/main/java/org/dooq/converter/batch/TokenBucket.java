@@ -0,0 +1,107 @@
+package org.dooq.converter.batch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled at a fixed rate, tokens are capacity units.
+ * <p>
+ * Acquiring more tokens than available reserves them in advance: the balance goes negative and the caller
+ * sleeps until it's paid back, so requests larger than the bucket still get through at the configured rate.
+ * Thread safe.
+ *
+ * @author alex
+ */
+public final class TokenBucket {
+
+    private final double burstSeconds;
+
+    private double rate;
+    private double capacity;
+    private double tokens;
+    private long updated;
+
+    /**
+     * @param ratePerSecond tokens added per second
+     * @param burstSeconds  seconds of unused rate that can be accumulated, the bucket starts full
+     */
+    public TokenBucket(double ratePerSecond, double burstSeconds) {
+
+        if (ratePerSecond <= 0) throw new IllegalArgumentException("ratePerSecond must be positive");
+        if (burstSeconds <= 0) throw new IllegalArgumentException("burstSeconds must be positive");
+
+        this.burstSeconds = burstSeconds;
+        this.rate = ratePerSecond;
+        this.capacity = ratePerSecond * burstSeconds;
+        this.tokens = capacity;
+        this.updated = System.nanoTime();
+    }
+
+    /**
+     * Takes the tokens, waiting until the balance is paid back if there were not enough
+     */
+    public void acquire(double tokens) throws InterruptedException {
+
+        long wait = reserve(tokens);
+
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Takes the tokens without waiting
+     *
+     * @return nanoseconds until the balance is positive again, 0 if there were enough tokens
+     */
+    public synchronized long reserve(double tokens) {
+
+        refill();
+
+        this.tokens -= tokens;
+
+        if (this.tokens >= 0) return 0;
+
+        return (long) Math.ceil(-this.tokens / rate * 1e9);
+    }
+
+    /**
+     * Corrects a previous acquisition once the real cost is known, positive values take more tokens and
+     * negative values give them back
+     */
+    public synchronized void adjust(double tokens) {
+        refill();
+
+        this.tokens = Math.min(capacity, this.tokens - tokens);
+    }
+
+    public synchronized double rate() {
+        return rate;
+    }
+
+    /**
+     * Changes the refill rate, the capacity follows the rate
+     */
+    public synchronized void rate(double ratePerSecond) {
+
+        if (ratePerSecond <= 0) throw new IllegalArgumentException("ratePerSecond must be positive");
+
+        refill();
+
+        this.rate = ratePerSecond;
+        this.capacity = ratePerSecond * burstSeconds;
+        this.tokens = Math.min(capacity, tokens);
+    }
+
+    public synchronized double available() {
+        refill();
+
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+
+        tokens = Math.min(capacity, tokens + (now - updated) / 1e9 * rate);
+        updated = now;
+    }
+}
@@ -0,0 +1,202 @@
+package org.dooq.converter.cache;
+
+import org.dooq.converter.Converter;
+import org.dooq.converter.DynamoConverter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Read-through / write-invalidate near cache of decoded entities for a single table.
+ * <p>
+ * Reads are served from memory while fresh, misses are loaded with a single {@code GetItem}
+ * and a single {@link Converter#read(Map)} shared by every concurrent caller of the same key.
+ * Writes and deletes made through this table invalidate the cached entry, writes made by
+ * other processes are only observed once the entry expires.
+ * <p>
+ * Cached instances are shared between callers and must be treated as read-only.
+ *
+ * <pre>{@code
+ * CachedTable<Config> table = CachedTable.builder(client, "configs", Config.class)
+ *         .keyAttributes("pk", "sk")
+ *         .expireAfterWrite(Duration.ofSeconds(30))
+ *         .maximumSize(10_000)
+ *         .build();
+ * }</pre>
+ *
+ * @author alex
+ */
+public final class CachedTable<T> {
+
+    private final DynamoDbClient client;
+    private final String tableName;
+    private final Converter<T> converter;
+    private final List<String> keyAttributes;
+    private final boolean consistentRead;
+    private final NearCache<Map<String, AttributeValue>, T> cache;
+
+    private CachedTable(@NotNull Builder<T> builder) {
+        this.client = builder.client;
+        this.tableName = builder.tableName;
+        this.converter = builder.converter;
+        this.keyAttributes = builder.keyAttributes;
+        this.consistentRead = builder.consistentRead;
+        this.cache = new NearCache<>(builder.maximumSize, builder.expireAfterWrite.toNanos());
+    }
+
+    public static <T> @NotNull Builder<T> builder(@NotNull DynamoDbClient client, @NotNull String tableName,
+                                                  @NotNull Class<T> type) {
+        return new Builder<>(client, tableName, DynamoConverter.getConverter(type));
+    }
+
+    public static <T> @NotNull Builder<T> builder(@NotNull DynamoDbClient client, @NotNull String tableName,
+                                                  @NotNull Converter<T> converter) {
+        return new Builder<>(client, tableName, converter);
+    }
+
+    /**
+     * Returns the item with the given primary key, or {@code null} if it doesn't exist.
+     * Missing items are not cached.
+     */
+    public @Nullable T get(@NotNull Map<String, AttributeValue> key) {
+        return cache.get(Map.copyOf(key), this::load);
+    }
+
+    public void put(@NotNull T value) {
+        var item = converter.write(value);
+        var key = keyAttributes.isEmpty() ? converter.writeKey(value) : extractKey(item);
+
+        cache.invalidate(key);
+
+        client.putItem(PutItemRequest.builder()
+                .tableName(tableName)
+                .item(item)
+                .build());
+
+        //Drop anything loaded while the write was in flight
+        cache.invalidate(key);
+    }
+
+    /**
+     * Deletes the item with the key of the value, see {@link Converter#writeKey(Object)}
+     */
+    public void delete(@NotNull T value) {
+        delete(converter.writeKey(value));
+    }
+
+    public void delete(@NotNull Map<String, AttributeValue> key) {
+        var cacheKey = Map.copyOf(key);
+
+        cache.invalidate(cacheKey);
+
+        client.deleteItem(DeleteItemRequest.builder()
+                .tableName(tableName)
+                .key(key)
+                .build());
+
+        cache.invalidate(cacheKey);
+    }
+
+    public void invalidate(@NotNull Map<String, AttributeValue> key) {
+        cache.invalidate(Map.copyOf(key));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private @Nullable T load(@NotNull Map<String, AttributeValue> key) {
+
+        var response = client.getItem(GetItemRequest.builder()
+                .tableName(tableName)
+                .key(key)
+                .consistentRead(consistentRead)
+                .build());
+
+        if (!response.hasItem() || response.item().isEmpty()) return null;
+
+        return converter.read(response.item());
+    }
+
+    private @NotNull Map<String, AttributeValue> extractKey(@NotNull Map<String, AttributeValue> item) {
+
+        Map<String, AttributeValue> key = new HashMap<>(keyAttributes.size());
+
+        for (String attribute : keyAttributes) {
+            var value = item.get(attribute);
+
+            if (value == null) {
+                throw new IllegalArgumentException("Key attribute '%s' is missing from item of table '%s'"
+                        .formatted(attribute, tableName));
+            }
+
+            key.put(attribute, value);
+        }
+
+        return Map.copyOf(key);
+    }
+
+    public static final class Builder<T> {
+
+        private final DynamoDbClient client;
+        private final String tableName;
+        private final Converter<T> converter;
+        private List<String> keyAttributes = List.of();
+        private Duration expireAfterWrite = Duration.ofMinutes(1);
+        private int maximumSize = 1_000;
+        private boolean consistentRead;
+
+        private Builder(@NotNull DynamoDbClient client, @NotNull String tableName, @NotNull Converter<T> converter) {
+            this.client = Objects.requireNonNull(client);
+            this.tableName = Objects.requireNonNull(tableName);
+            this.converter = Objects.requireNonNull(converter);
+        }
+
+        /**
+         * Names of the primary key attributes, used to invalidate entries on {@link CachedTable#put(Object)}.
+         * Not required when the entity declares a {@link org.dooq.converter.PartitionKey}
+         */
+        public Builder<T> keyAttributes(@NotNull String... attributes) {
+            this.keyAttributes = List.of(attributes);
+            return this;
+        }
+
+        public Builder<T> expireAfterWrite(@NotNull Duration duration) {
+            if (duration.isNegative() || duration.isZero())
+                throw new IllegalArgumentException("expireAfterWrite must be positive");
+
+            this.expireAfterWrite = duration;
+            return this;
+        }
+
+        public Builder<T> maximumSize(int maximumSize) {
+            if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be positive");
+
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder<T> consistentRead(boolean consistentRead) {
+            this.consistentRead = consistentRead;
+            return this;
+        }
+
+        public CachedTable<T> build() {
+            return new CachedTable<>(this);
+        }
+    }
+}
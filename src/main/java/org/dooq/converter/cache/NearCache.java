@@ -0,0 +1,131 @@
+package org.dooq.converter.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache with expire-after-write and load coalescing.
+ * <p>
+ * Concurrent loads of the same key share a single in-flight future, so the loader
+ * runs once no matter how many threads miss at the same time. An invalidation
+ * that happens while a load is in flight prevents that load from being stored.
+ *
+ * @author alex
+ */
+final class NearCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    NearCache(int maximumSize, long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value or loads it, sharing the load with any concurrent caller.
+     * A {@code null} result from the loader is returned but never cached.
+     */
+    @Nullable V get(@NotNull K key, @NotNull Function<K, V> loader) {
+
+        var cached = getIfPresent(key);
+
+        if (cached != null) return cached;
+
+        var future = new CompletableFuture<V>();
+        var inFlight = loading.putIfAbsent(key, future);
+
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+
+        try {
+            var value = loader.apply(key);
+
+            //Only the owner of the in-flight future may publish, an invalidation removes it under the same lock
+            if (value != null) {
+                synchronized (entries) {
+                    if (loading.remove(key, future)) {
+                        entries.put(key, new Entry<>(value, System.nanoTime()));
+                    }
+                }
+            }
+
+            future.complete(value);
+
+            return value;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Nullable V getIfPresent(@NotNull K key) {
+        synchronized (entries) {
+            var entry = entries.get(key);
+
+            if (entry == null) return null;
+
+            if (System.nanoTime() - entry.created > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+
+            return entry.value;
+        }
+    }
+
+    void put(@NotNull K key, @NotNull V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+        }
+    }
+
+    void invalidate(@NotNull K key) {
+        synchronized (entries) {
+            loading.remove(key);
+            entries.remove(key);
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (entries) {
+            loading.clear();
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static <V> V join(@NotNull CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (ex.getCause() instanceof Error error) throw error;
+            throw ex;
+        }
+    }
+
+    private record Entry<V>(V value, long created) {
+    }
+}
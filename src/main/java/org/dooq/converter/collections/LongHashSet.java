@@ -0,0 +1,300 @@
+package org.dooq.converter.collections;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Open addressing (linear probing) set of primitive longs, values are never boxed.
+ * <p>
+ * Decoded from and encoded to {@code NS} attributes. Not thread safe.
+ *
+ * @author alex
+ */
+public final class LongHashSet {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+    private static final int MIN_CAPACITY = 8;
+
+    //0 marks an empty slot, the zero value is tracked apart
+    private long[] slots;
+    private boolean hasZero;
+    private int size;
+    private int shift;
+    private int resizeAt;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize number of values added without resizing
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public static @NotNull LongHashSet of(long... values) {
+        var set = new LongHashSet(values.length);
+
+        for (long value : values) {
+            set.add(value);
+        }
+
+        return set;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        //Load factor of 0.75
+        long capacity = Math.max(MIN_CAPACITY, ((long) expectedSize * 4 + 2) / 3);
+
+        if (capacity > 1 << 30) throw new IllegalArgumentException("Too many values: " + expectedSize);
+
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+        resizeAt = capacity / 4 * 3;
+    }
+
+    private int index(long value) {
+        return (int) ((value * PHI) >>> shift);
+    }
+
+    /**
+     * @return true if the value was not present
+     */
+    public boolean add(long value) {
+
+        if (value == 0) {
+            if (hasZero) return false;
+
+            hasZero = true;
+            size++;
+            return true;
+        }
+
+        int mask = slots.length - 1;
+
+        for (int i = index(value); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+
+            if (slot == value) return false;
+
+            if (slot == 0) {
+                slots[i] = value;
+
+                if (++size > resizeAt) {
+                    rehash(slots.length << 1);
+                }
+
+                return true;
+            }
+        }
+    }
+
+    public boolean contains(long value) {
+
+        if (value == 0) return hasZero;
+
+        int mask = slots.length - 1;
+
+        for (int i = index(value); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+
+            if (slot == value) return true;
+            if (slot == 0) return false;
+        }
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    public boolean remove(long value) {
+
+        if (value == 0) {
+            if (!hasZero) return false;
+
+            hasZero = false;
+            size--;
+            return true;
+        }
+
+        int mask = slots.length - 1;
+
+        for (int i = index(value); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+
+            if (slot == 0) return false;
+
+            if (slot == value) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Backward shift deletion, moves the following values of the probe sequence into the gap
+     */
+    private void shiftBack(int gap) {
+
+        int mask = slots.length - 1;
+
+        for (int i = (gap + 1) & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+
+            if (slot == 0) break;
+
+            int home = index(slot);
+
+            //Moves the value only if its home slot is not between the gap and its current slot
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                slots[gap] = slot;
+                gap = i;
+            }
+        }
+
+        slots[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        var previous = slots;
+
+        allocate(capacity);
+
+        int mask = capacity - 1;
+
+        for (long value : previous) {
+            if (value == 0) continue;
+
+            int i = index(value);
+
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+
+            slots[i] = value;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    public void forEach(@NotNull LongConsumer consumer) {
+
+        if (hasZero) consumer.accept(0);
+
+        for (long value : slots) {
+            if (value != 0) consumer.accept(value);
+        }
+    }
+
+    public long @NotNull [] toArray() {
+        var result = new long[size];
+        int index = 0;
+
+        if (hasZero) index++;
+
+        for (long value : slots) {
+            if (value != 0) result[index++] = value;
+        }
+
+        return result;
+    }
+
+    public @NotNull LongStream stream() {
+        return Arrays.stream(toArray());
+    }
+
+    public PrimitiveIterator.@NotNull OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            private boolean zero = hasZero;
+            private int index = nextSlot(0);
+
+            private int nextSlot(int from) {
+                while (from < slots.length && slots[from] == 0) from++;
+
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return zero || index < slots.length;
+            }
+
+            @Override
+            public long nextLong() {
+
+                if (zero) {
+                    zero = false;
+                    return 0;
+                }
+
+                if (index >= slots.length) throw new NoSuchElementException();
+
+                long value = slots[index];
+                index = nextSlot(index + 1);
+
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) return true;
+
+        if (!(obj instanceof LongHashSet other) || other.size != size || other.hasZero != hasZero) return false;
+
+        for (long value : slots) {
+            if (value != 0 && !other.contains(value)) return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        //Same as Set<Long>
+        int hash = 0;
+
+        for (long value : slots) {
+            hash += Long.hashCode(value);
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("[");
+
+        forEach(value -> {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(value);
+        });
+
+        return builder.append(']').toString();
+    }
+}
@@ -2,6 +2,7 @@ package org.dooq.converter.converters;
 
 import org.dooq.converter.ObjectParser;
 import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.net.URL;
@@ -9,7 +10,7 @@ import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class AdditionalConverter extends ConverterHelper {
+public class AdditionalConverter extends BinaryConverter {
 
     protected URL parseURL(@Nullable AttributeValue value) {
         if (value == null || Boolean.TRUE.equals(value.nul())) return null;
@@ -32,11 +33,31 @@ public class AdditionalConverter extends ConverterHelper {
         return AttributeValue.fromS(value.toString());
     }
 
+    /**
+     * Reads the canonical string form and the 16 bytes binary form ({@code @DynamoBinary})
+     */
     protected UUID parseUUID(@Nullable AttributeValue value) {
         if (value == null || Boolean.TRUE.equals(value.nul())) return null;
 
+        if (value.b() != null) {
+            var buffer = value.b().asByteBuffer();
+
+            if (buffer.remaining() == 16) {
+                return new UUID(buffer.getLong(buffer.position()), buffer.getLong(buffer.position() + 8));
+            }
+
+            Logger.getLogger(ObjectParser.class.getName())
+                    .log(Level.WARNING, "Invalid UUID value of %d bytes".formatted(buffer.remaining()));
+
+            return null;
+        }
+
         if (value.s() == null) return null;
 
+        var uuid = Uuids.parse(value.s());
+
+        if (uuid != null) return uuid;
+
         try {
             return UUID.fromString(value.s());
         } catch (Exception ex) {
@@ -50,6 +71,13 @@ public class AdditionalConverter extends ConverterHelper {
     protected AttributeValue writeUUID(@Nullable UUID value) {
         if (value == null) return null;
 
-        return AttributeValue.fromS(value.toString());
+        return AttributeValue.fromS(Uuids.format(value));
+    }
+
+    @Variant
+    protected AttributeValue writeUUIDBinary(@Nullable UUID value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(Uuids.toBytes(value)));
     }
 }
@@ -0,0 +1,161 @@
+package org.dooq.converter.converters;
+
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive array codecs, values are never boxed.
+ * <p>
+ * Arrays are written as {@code L} of {@code N} to keep order and duplicates, and read from {@code L} or {@code NS}.
+ */
+public class ArrayConverter extends NumberConverter {
+
+    /**
+     * @return the elements of the L or NS value, null if it's neither of them
+     */
+    private static @Nullable List<?> numbers(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.hasL()) return value.l();
+        if (value.hasNs()) return value.ns();
+
+        return null;
+    }
+
+    private static String number(Object element) {
+        return element instanceof String string ? string : ((AttributeValue) element).n();
+    }
+
+    protected AttributeValue writeIntArray(int @Nullable [] value) {
+        if (value == null) return null;
+
+        var list = new AttributeValue[value.length];
+
+        for (int i = 0; i < value.length; i++) {
+            list[i] = AttributeValue.fromN(Integer.toString(value[i]));
+        }
+
+        return AttributeValue.fromL(Arrays.asList(list));
+    }
+
+    protected int[] parseIntArray(@Nullable AttributeValue value) {
+        var numbers = numbers(value);
+
+        if (numbers == null) return null;
+
+        var result = new int[numbers.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Integer.parseInt(number(numbers.get(i)));
+        }
+
+        return result;
+    }
+
+    protected AttributeValue writeLongArray(long @Nullable [] value) {
+        if (value == null) return null;
+
+        var list = new AttributeValue[value.length];
+
+        for (int i = 0; i < value.length; i++) {
+            list[i] = AttributeValue.fromN(Long.toString(value[i]));
+        }
+
+        return AttributeValue.fromL(Arrays.asList(list));
+    }
+
+    protected long[] parseLongArray(@Nullable AttributeValue value) {
+        var numbers = numbers(value);
+
+        if (numbers == null) return null;
+
+        var result = new long[numbers.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Long.parseLong(number(numbers.get(i)));
+        }
+
+        return result;
+    }
+
+    protected AttributeValue writeDoubleArray(double @Nullable [] value) {
+        if (value == null) return null;
+
+        var list = new AttributeValue[value.length];
+
+        for (int i = 0; i < value.length; i++) {
+            list[i] = AttributeValue.fromN(Double.toString(value[i]));
+        }
+
+        return AttributeValue.fromL(Arrays.asList(list));
+    }
+
+    protected double[] parseDoubleArray(@Nullable AttributeValue value) {
+        var numbers = numbers(value);
+
+        if (numbers == null) return null;
+
+        var result = new double[numbers.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Double.parseDouble(number(numbers.get(i)));
+        }
+
+        return result;
+    }
+
+    protected AttributeValue writeFloatArray(float @Nullable [] value) {
+        if (value == null) return null;
+
+        var list = new AttributeValue[value.length];
+
+        for (int i = 0; i < value.length; i++) {
+            list[i] = AttributeValue.fromN(Float.toString(value[i]));
+        }
+
+        return AttributeValue.fromL(Arrays.asList(list));
+    }
+
+    protected float[] parseFloatArray(@Nullable AttributeValue value) {
+        var numbers = numbers(value);
+
+        if (numbers == null) return null;
+
+        var result = new float[numbers.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Float.parseFloat(number(numbers.get(i)));
+        }
+
+        return result;
+    }
+
+    protected AttributeValue writeShortArray(short @Nullable [] value) {
+        if (value == null) return null;
+
+        var list = new AttributeValue[value.length];
+
+        for (int i = 0; i < value.length; i++) {
+            list[i] = AttributeValue.fromN(Short.toString(value[i]));
+        }
+
+        return AttributeValue.fromL(Arrays.asList(list));
+    }
+
+    protected short[] parseShortArray(@Nullable AttributeValue value) {
+        var numbers = numbers(value);
+
+        if (numbers == null) return null;
+
+        var result = new short[numbers.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Short.parseShort(number(numbers.get(i)));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package org.dooq.converter.converters;
+
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary ({@code B}) codecs, values are wrapped without copying.
+ * <p>
+ * Written arrays and buffers are shared with the request until it's sent, read values share the
+ * response bytes: arrays must be treated as read only, buffers are read only views. Use the copy
+ * variants ({@code @DynamoBinary(copyOnRead = true)}) to get private copies.
+ */
+public class BinaryConverter extends ConverterHelper {
+
+    protected AttributeValue writeBytes(byte @Nullable [] value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(value));
+    }
+
+    protected byte[] parseBytes(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.b() == null) return null;
+
+        return value.b().asByteArrayUnsafe();
+    }
+
+    @Variant
+    protected byte[] parseBytesCopy(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.b() == null) return null;
+
+        return value.b().asByteArray();
+    }
+
+    protected AttributeValue writeByteBuffer(@Nullable ByteBuffer value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromB(SdkBytes.fromByteBufferUnsafe(value));
+    }
+
+    protected ByteBuffer parseByteBuffer(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.b() == null) return null;
+
+        return value.b().asByteBuffer();
+    }
+
+    @Variant
+    protected ByteBuffer parseByteBufferCopy(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.b() == null) return null;
+
+        return ByteBuffer.wrap(value.b().asByteArray());
+    }
+
+    protected AttributeValue writeSdkBytes(@Nullable SdkBytes value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromB(value);
+    }
+
+    protected SdkBytes parseSdkBytes(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        return value.b();
+    }
+
+    /**
+     * Compresses the written value of a {@code @DynamoCompressed} field when its size reaches the threshold
+     */
+    @Variant
+    protected AttributeValue compress(@Nullable AttributeValue value, int threshold) {
+        if (value == null) return null;
+
+        return Compression.compress(value, threshold);
+    }
+
+    /**
+     * Restores the value of a {@code @DynamoCompressed} field before it's read, values of other types than
+     * {@code B} were not compressed and are returned as is
+     */
+    @Variant
+    protected AttributeValue decompress(@Nullable AttributeValue value) {
+        if (value == null || value.b() == null) return value;
+
+        return Compression.decompress(value.b().asByteArrayUnsafe());
+    }
+}
@@ -2,15 +2,19 @@ package org.dooq.converter.converters;
 
 import org.dooq.converter.Converter;
 import org.dooq.converter.DynamoConverter;
+import org.dooq.converter.collections.LongHashSet;
 import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public abstract class CollectionConverter extends NumberConverter {
+public abstract class CollectionConverter extends ArrayConverter {
 
     protected abstract AttributeValue lookUp(@Nullable Object value);
 
@@ -43,8 +47,6 @@ public abstract class CollectionConverter extends NumberConverter {
 
         if (value == null) return null;
 
-        if (value.isEmpty()) return null;
-
         if (isComplex(type)) {
 
             Converter<K> parser = DynamoConverter.getConverter(type);
@@ -65,37 +67,141 @@ public abstract class CollectionConverter extends NumberConverter {
 
         if (value == null || Boolean.TRUE.equals(value.nul())) return null;
 
-        if (value.ss() == null) return null;
+        if (value.hasNs()) {
+            return parseNumberSet(value.ns(), type);
+        }
+
+        if (value.hasBs()) {
+            return parseBinarySet(value.bs(), type);
+        }
+
+        if (!value.hasSs()) return null;
 
         if (type == String.class) {
             return parseStringSet(value);
         }
 
-        if (type == BigDecimal.class) {
-            return value.ss().stream()
-                    .map(BigDecimal::new)
-                    .collect(Collectors.toSet());
+        //Number sets were written as SS by previous versions
+        if (Number.class.isAssignableFrom(type)) {
+            return parseNumberSet(value.ss(), type);
+        }
+
+        @Nullable var parser = lookUpParser(type);
+
+        if (parser == null) return null;
+
+        Set<Object> result = new HashSet<>(hashCapacity(value.ss().size()));
+
+        for (String element : value.ss()) {
+            result.add(parser.apply(AttributeValue.fromS(element)));
+        }
+
+        return result;
+    }
+
+    private Set<?> parseNumberSet(List<String> values, Class<?> type) {
+
+        Set<Object> result = new HashSet<>(hashCapacity(values.size()));
+
+        for (String value : values) {
+            result.add(parseNumber(value, type));
+        }
+
+        return result;
+    }
+
+    private Object parseNumber(String value, Class<?> type) {
+
+        if (type == Integer.class) return Integer.valueOf(value);
+        if (type == Long.class) return Long.valueOf(value);
+        if (type == Short.class) return Short.valueOf(value);
+        if (type == Byte.class) return Byte.valueOf(value);
+        if (type == Float.class) return Float.valueOf(value);
+        if (type == Double.class) return Double.valueOf(value);
+        if (type == BigInteger.class) return new BigInteger(value);
+        if (type == String.class) return value;
+
+        return new BigDecimal(value);
+    }
+
+    private Set<?> parseBinarySet(List<SdkBytes> values, Class<?> type) {
+
+        Set<Object> result = new HashSet<>(hashCapacity(values.size()));
+
+        for (SdkBytes value : values) {
+            if (type == ByteBuffer.class) {
+                result.add(value.asByteBuffer());
+            } else if (type == byte[].class) {
+                result.add(value.asByteArrayUnsafe());
+            } else {
+                result.add(value);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Decodes a number set without boxing
+     */
+    protected LongHashSet parseLongHashSet(@Nullable AttributeValue value) {
+
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.hasNs()) {
+            var numbers = value.ns();
+            var result = new LongHashSet(numbers.size());
+
+            for (String number : numbers) {
+                result.add(Long.parseLong(number));
+            }
+
+            return result;
+        }
+
+        if (value.hasL()) {
+            var list = value.l();
+            var result = new LongHashSet(list.size());
+
+            for (AttributeValue element : list) {
+                result.add(Long.parseLong(element.n()));
+            }
+
+            return result;
         }
 
         return null;
     }
 
+    protected AttributeValue writeLongHashSet(@Nullable LongHashSet value) {
+
+        if (value == null || value.isEmpty()) return null;
+
+        List<String> numbers = new ArrayList<>(value.size());
+
+        for (var iterator = value.iterator(); iterator.hasNext(); ) {
+            numbers.add(Long.toString(iterator.nextLong()));
+        }
+
+        return AttributeValue.fromNs(numbers);
+    }
+
     protected List<?> parseList(AttributeValue value, Class<?> type) {
 
         if (value == null || Boolean.TRUE.equals(value.nul())) return null;
 
-        @Nullable var converter = lookUpParser(type);
-
-        if (converter != null) {
+        if (isComplex(type)) {
             return value.l().stream()
-                    .map(converter)
+                    .map(v -> parseComplex(v, type))
                     .filter(Objects::nonNull)
                     .toList();
         }
 
-        if (isComplex(type)) {
+        @Nullable var converter = lookUpParser(type);
+
+        if (converter != null) {
             return value.l().stream()
-                    .map(v -> parseComplex(v, type))
+                    .map(converter)
                     .filter(Objects::nonNull)
                     .toList();
         }
@@ -155,7 +261,34 @@ public abstract class CollectionConverter extends NumberConverter {
 
     protected AttributeValue writeSet(@Nullable Set<?> value, Class<?> type) {
 
-        if (value == null) return null;
+        //DynamoDB rejects empty sets
+        if (value == null || value.isEmpty()) return null;
+
+        if (Number.class.isAssignableFrom(type)) {
+            List<String> numbers = new ArrayList<>(value.size());
+
+            for (Object number : value) {
+                numbers.add(number instanceof BigDecimal decimal ? decimal.toPlainString() : number.toString());
+            }
+
+            return AttributeValue.fromNs(numbers);
+        }
+
+        if (type == SdkBytes.class || type == ByteBuffer.class || type == byte[].class) {
+            List<SdkBytes> bytes = new ArrayList<>(value.size());
+
+            for (Object element : value) {
+                if (element instanceof ByteBuffer buffer) {
+                    bytes.add(SdkBytes.fromByteBufferUnsafe(buffer));
+                } else if (element instanceof byte[] array) {
+                    bytes.add(SdkBytes.fromByteArrayUnsafe(array));
+                } else {
+                    bytes.add((SdkBytes) element);
+                }
+            }
+
+            return AttributeValue.fromBs(bytes);
+        }
 
         return AttributeValue.fromSs(value.stream()
                 .map(Object::toString)
@@ -163,7 +296,7 @@ public abstract class CollectionConverter extends NumberConverter {
     }
 
     protected AttributeValue writeStringSet(@Nullable Set<String> value) {
-        if (value == null) return null;
+        if (value == null || value.isEmpty()) return null;
 
         return AttributeValue.fromSs(new ArrayList<>(value));
     }
@@ -0,0 +1,329 @@
+package org.dooq.converter.converters;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate codec of attribute values, stored as {@code B} values starting with {@link #MAGIC}.
+ * Binary values that aren't compressed are stored after the {@link #RAW} tag, so the first byte always
+ * tells them apart.
+ * <p>
+ * The value is serialized as a tagged tree (type, length prefixed payload) and deflated. Deflaters,
+ * inflaters and buffers are kept per thread, the codec is reset on every call.
+ *
+ * @author alex
+ */
+final class Compression {
+
+    static final byte[] MAGIC = {(byte) 0xDC, 'Z', 1};
+    static final byte RAW = (byte) 0xDB;
+
+    private static final ThreadLocal<Compression> POOL = ThreadLocal.withInitial(Compression::new);
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final Inflater inflater = new Inflater(true);
+
+    //Serialized value, written on compression and read on decompression
+    private byte[] buffer = new byte[4096];
+    private int length;
+    private int position;
+
+    private byte[] output = new byte[4096];
+
+    private Compression() {
+    }
+
+    /**
+     * @return the compressed value, or the given one when its serialized size is below the threshold
+     * or deflate does not make it smaller
+     */
+    static @NotNull AttributeValue compress(@NotNull AttributeValue value, int threshold) {
+
+        var codec = POOL.get();
+
+        codec.length = 0;
+        codec.write(value);
+
+        if (codec.length < threshold) return raw(value);
+
+        var compressed = codec.deflate();
+
+        if (compressed == null) return raw(value);
+
+        return AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(compressed));
+    }
+
+    /**
+     * Binary values are tagged, other types are kept as they are
+     */
+    private static @NotNull AttributeValue raw(@NotNull AttributeValue value) {
+
+        if (value.b() == null) return value;
+
+        var bytes = value.b().asByteArrayUnsafe();
+        var tagged = new byte[bytes.length + 1];
+
+        tagged[0] = RAW;
+        System.arraycopy(bytes, 0, tagged, 1, bytes.length);
+
+        return AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(tagged));
+    }
+
+    /**
+     * @return the value of a {@code B} attribute written by {@link #compress}, selected by its first byte only
+     */
+    static @NotNull AttributeValue decompress(byte @NotNull [] bytes) {
+
+        if (bytes.length > 0 && bytes[0] == RAW) {
+            return AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(Arrays.copyOfRange(bytes, 1, bytes.length)));
+        }
+
+        if (bytes.length <= MAGIC.length || bytes[0] != MAGIC[0] || bytes[1] != MAGIC[1] || bytes[2] != MAGIC[2]) {
+            throw new IllegalArgumentException("Binary value of a compressed attribute has no compression tag");
+        }
+
+        var codec = POOL.get();
+
+        codec.inflate(bytes);
+        codec.position = 0;
+
+        return codec.read();
+    }
+
+    private byte @Nullable [] deflate() {
+
+        deflater.reset();
+        deflater.setInput(buffer, 0, length);
+        deflater.finish();
+
+        System.arraycopy(MAGIC, 0, output, 0, MAGIC.length);
+
+        int size = MAGIC.length;
+
+        while (!deflater.finished()) {
+
+            //Not worth it
+            if (size >= length) return null;
+
+            if (size == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+
+            size += deflater.deflate(output, size, output.length - size);
+        }
+
+        return size < length ? Arrays.copyOf(output, size) : null;
+    }
+
+    private void inflate(byte @NotNull [] bytes) {
+
+        inflater.reset();
+        inflater.setInput(bytes, MAGIC.length, bytes.length - MAGIC.length);
+
+        length = 0;
+
+        try {
+            while (!inflater.finished()) {
+
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+
+                int count = inflater.inflate(buffer, length, buffer.length - length);
+
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed attribute");
+                }
+
+                length += count;
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Corrupted compressed attribute", ex);
+        }
+    }
+
+    private void write(@NotNull AttributeValue value) {
+
+        switch (value.type()) {
+            case S -> {
+                writeByte('S');
+                writeString(value.s());
+            }
+            case N -> {
+                writeByte('N');
+                writeString(value.n());
+            }
+            case B -> {
+                writeByte('B');
+                writeBytes(value.b().asByteArrayUnsafe());
+            }
+            case BOOL -> writeByte(value.bool() ? 'T' : 'F');
+            case NUL -> writeByte('0');
+            case SS -> {
+                writeByte('s');
+                writeInt(value.ss().size());
+                value.ss().forEach(this::writeString);
+            }
+            case NS -> {
+                writeByte('n');
+                writeInt(value.ns().size());
+                value.ns().forEach(this::writeString);
+            }
+            case BS -> {
+                writeByte('b');
+                writeInt(value.bs().size());
+                value.bs().forEach(bytes -> writeBytes(bytes.asByteArrayUnsafe()));
+            }
+            case L -> {
+                writeByte('L');
+                writeInt(value.l().size());
+                value.l().forEach(this::write);
+            }
+            case M -> {
+                writeByte('M');
+                writeInt(value.m().size());
+                value.m().forEach((key, item) -> {
+                    writeString(key);
+                    write(item);
+                });
+            }
+            default -> throw new IllegalArgumentException("Unsupported attribute type: " + value.type());
+        }
+    }
+
+    private @NotNull AttributeValue read() {
+
+        int tag = buffer[position++];
+
+        return switch (tag) {
+            case 'S' -> AttributeValue.fromS(readString());
+            case 'N' -> AttributeValue.fromN(readString());
+            case 'B' -> AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(readBytes()));
+            case 'T' -> AttributeValue.fromBool(true);
+            case 'F' -> AttributeValue.fromBool(false);
+            case '0' -> AttributeValue.fromNul(true);
+            case 's' -> AttributeValue.fromSs(readStrings());
+            case 'n' -> AttributeValue.fromNs(readStrings());
+            case 'b' -> {
+                int size = readInt();
+                var list = new ArrayList<SdkBytes>(size);
+
+                for (int i = 0; i < size; i++) {
+                    list.add(SdkBytes.fromByteArrayUnsafe(readBytes()));
+                }
+
+                yield AttributeValue.fromBs(list);
+            }
+            case 'L' -> {
+                int size = readInt();
+                var list = new ArrayList<AttributeValue>(size);
+
+                for (int i = 0; i < size; i++) {
+                    list.add(read());
+                }
+
+                yield AttributeValue.fromL(list);
+            }
+            case 'M' -> {
+                int size = readInt();
+                var map = new HashMap<String, AttributeValue>(ConverterHelper.hashCapacity(size));
+
+                for (int i = 0; i < size; i++) {
+                    var key = readString();
+                    map.put(key, read());
+                }
+
+                yield AttributeValue.fromM(map);
+            }
+            default -> throw new IllegalArgumentException("Corrupted compressed attribute, unknown tag: " + tag);
+        };
+    }
+
+    private void ensure(int count) {
+        if (length + count > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + count));
+        }
+    }
+
+    private void writeByte(int value) {
+        ensure(1);
+        buffer[length++] = (byte) value;
+    }
+
+    /**
+     * Unsigned variable length int, 7 bits per byte
+     */
+    private void writeInt(int value) {
+        ensure(5);
+
+        while ((value & ~0x7F) != 0) {
+            buffer[length++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+
+        buffer[length++] = (byte) value;
+    }
+
+    private int readInt() {
+        int result = 0;
+
+        for (int shift = 0; ; shift += 7) {
+            byte value = buffer[position++];
+
+            result |= (value & 0x7F) << shift;
+
+            if (value >= 0) return result;
+        }
+    }
+
+    private void writeString(@NotNull String value) {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private @NotNull String readString() {
+        int size = readInt();
+        var value = new String(buffer, position, size, StandardCharsets.UTF_8);
+
+        position += size;
+
+        return value;
+    }
+
+    private @NotNull List<String> readStrings() {
+        int size = readInt();
+        var list = new ArrayList<String>(size);
+
+        for (int i = 0; i < size; i++) {
+            list.add(readString());
+        }
+
+        return list;
+    }
+
+    private void writeBytes(byte @NotNull [] value) {
+        writeInt(value.length);
+        ensure(value.length);
+        System.arraycopy(value, 0, buffer, length, value.length);
+        length += value.length;
+    }
+
+    private byte @NotNull [] readBytes() {
+        int size = readInt();
+        var value = Arrays.copyOfRange(buffer, position, position + size);
+
+        position += size;
+
+        return value;
+    }
+}
@@ -1,14 +1,19 @@
 package org.dooq.converter.converters;
 
 import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.core.SdkBytes;
 
 public class ConverterHelper {
 
     protected boolean isComplex(@NotNull Class<?> type) {
-        return !type.getName().startsWith("java");
+        return !type.getName().startsWith("java") && !type.isArray() && type != SdkBytes.class;
     }
 
     protected boolean isJVMClass(@NotNull Class<?> type) {
         return type.getName().startsWith("java");
     }
+
+    static int hashCapacity(int size) {
+        return Math.max(16, (int) (size / .75f) + 1);
+    }
 }
@@ -3,29 +3,28 @@ package org.dooq.converter.converters;
 import org.jetbrains.annotations.Nullable;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneOffset;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.*;
 
 public class DateConverter extends AdditionalConverter {
 
     protected AttributeValue writeLocalDate(@Nullable LocalDate value) {
         if (value == null) return null;
 
-        return AttributeValue.fromS(value.toString());
+        return AttributeValue.fromS(IsoDates.format(value));
     }
 
     protected AttributeValue writeLocalTime(@Nullable LocalTime value) {
         if (value == null) return null;
 
-        return AttributeValue.fromS(value.toString());
+        return AttributeValue.fromS(IsoDates.format(value));
     }
 
     protected AttributeValue writeLocalDateTime(@Nullable LocalDateTime value) {
         if (value == null) return null;
 
-        return AttributeValue.fromS(value.toString());
+        return AttributeValue.fromS(IsoDates.format(value));
     }
 
 
@@ -33,7 +32,9 @@ public class DateConverter extends AdditionalConverter {
         if (value == null || Boolean.TRUE.equals(value.nul())) return null;
 
         if (value.s() != null) {
-            return LocalDate.parse(value.s());
+            var date = IsoDates.parseLocalDate(value.s());
+
+            return date != null ? date : LocalDate.parse(value.s());
         }
 
         if (value.n() != null) {
@@ -47,7 +48,9 @@ public class DateConverter extends AdditionalConverter {
         if (value == null || Boolean.TRUE.equals(value.nul())) return null;
 
         if (value.s() != null) {
-            return LocalDateTime.parse(value.s());
+            var dateTime = IsoDates.parseLocalDateTime(value.s());
+
+            return dateTime != null ? dateTime : LocalDateTime.parse(value.s());
         }
 
         if (value.n() != null) {
@@ -56,4 +59,307 @@ public class DateConverter extends AdditionalConverter {
 
         return null;
     }
+
+    protected LocalTime parseLocalTime(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.s() != null) {
+            var time = IsoDates.parseLocalTime(value.s());
+
+            return time != null ? time : LocalTime.parse(value.s());
+        }
+
+        if (value.n() != null) {
+            return LocalTime.ofSecondOfDay(Long.parseLong(value.n()));
+        }
+
+        return null;
+    }
+
+    @Variant
+    protected AttributeValue writeLocalDateTimeEpochSeconds(@Nullable LocalDateTime value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(value.toEpochSecond(ZoneOffset.UTC)));
+    }
+
+    @Variant
+    protected AttributeValue writeLocalDateTimeEpochMillis(@Nullable LocalDateTime value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(epochMillis(value.toEpochSecond(ZoneOffset.UTC), value.getNano())));
+    }
+
+    @Variant
+    protected LocalDateTime parseLocalDateTimeEpochMillis(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.n() != null) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(value.n())), ZoneOffset.UTC);
+        }
+
+        return parseLocalDateTime(value);
+    }
+
+    protected AttributeValue writeInstant(@Nullable Instant value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromS(IsoDates.format(value));
+    }
+
+    /**
+     * Reads ISO strings or epoch seconds
+     */
+    protected Instant parseInstant(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.s() != null) {
+            var instant = IsoDates.parseInstant(value.s());
+
+            return instant != null ? instant : Instant.parse(value.s());
+        }
+
+        if (value.n() != null) {
+            return epochSeconds(value.n());
+        }
+
+        return null;
+    }
+
+    @Variant
+    protected AttributeValue writeInstantEpochSeconds(@Nullable Instant value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(value.getEpochSecond()));
+    }
+
+    @Variant
+    protected AttributeValue writeInstantEpochMillis(@Nullable Instant value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(epochMillis(value.getEpochSecond(), value.getNano())));
+    }
+
+    @Variant
+    protected Instant parseInstantEpochMillis(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.n() != null) {
+            return Instant.ofEpochMilli(Long.parseLong(value.n()));
+        }
+
+        return parseInstant(value);
+    }
+
+    protected AttributeValue writeOffsetDateTime(@Nullable OffsetDateTime value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromS(IsoDates.format(value));
+    }
+
+    /**
+     * Reads ISO strings or epoch seconds (UTC)
+     */
+    protected OffsetDateTime parseOffsetDateTime(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.s() != null) {
+            var offsetDateTime = IsoDates.parseOffsetDateTime(value.s());
+
+            return offsetDateTime != null ? offsetDateTime : OffsetDateTime.parse(value.s());
+        }
+
+        if (value.n() != null) {
+            return OffsetDateTime.ofInstant(epochSeconds(value.n()), ZoneOffset.UTC);
+        }
+
+        return null;
+    }
+
+    @Variant
+    protected AttributeValue writeOffsetDateTimeEpochSeconds(@Nullable OffsetDateTime value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(value.toEpochSecond()));
+    }
+
+    @Variant
+    protected AttributeValue writeOffsetDateTimeEpochMillis(@Nullable OffsetDateTime value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(epochMillis(value.toEpochSecond(), value.getNano())));
+    }
+
+    @Variant
+    protected OffsetDateTime parseOffsetDateTimeEpochMillis(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.n() != null) {
+            return OffsetDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(value.n())), ZoneOffset.UTC);
+        }
+
+        return parseOffsetDateTime(value);
+    }
+
+    protected AttributeValue writeZonedDateTime(@Nullable ZonedDateTime value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromS(IsoDates.format(value));
+    }
+
+    /**
+     * Reads ISO strings or epoch seconds (UTC)
+     */
+    protected ZonedDateTime parseZonedDateTime(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.s() != null) {
+            var zonedDateTime = IsoDates.parseZonedDateTime(value.s());
+
+            return zonedDateTime != null ? zonedDateTime : ZonedDateTime.parse(value.s());
+        }
+
+        if (value.n() != null) {
+            return ZonedDateTime.ofInstant(epochSeconds(value.n()), ZoneOffset.UTC);
+        }
+
+        return null;
+    }
+
+    @Variant
+    protected AttributeValue writeZonedDateTimeEpochSeconds(@Nullable ZonedDateTime value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(value.toEpochSecond()));
+    }
+
+    @Variant
+    protected AttributeValue writeZonedDateTimeEpochMillis(@Nullable ZonedDateTime value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(epochMillis(value.toEpochSecond(), value.getNano())));
+    }
+
+    @Variant
+    protected ZonedDateTime parseZonedDateTimeEpochMillis(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.n() != null) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(value.n())), ZoneOffset.UTC);
+        }
+
+        return parseZonedDateTime(value);
+    }
+
+    protected AttributeValue writeDuration(@Nullable Duration value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromS(IsoDates.format(value));
+    }
+
+    /**
+     * Reads ISO strings or seconds
+     */
+    protected Duration parseDuration(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.s() != null) {
+            var duration = IsoDates.parseDuration(value.s());
+
+            return duration != null ? duration : Duration.parse(value.s());
+        }
+
+        if (value.n() != null) {
+            var instant = epochSeconds(value.n());
+
+            return Duration.ofSeconds(instant.getEpochSecond(), instant.getNano());
+        }
+
+        return null;
+    }
+
+    @Variant
+    protected AttributeValue writeDurationEpochSeconds(@Nullable Duration value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(value.getSeconds()));
+    }
+
+    @Variant
+    protected AttributeValue writeDurationEpochMillis(@Nullable Duration value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Long.toString(epochMillis(value.getSeconds(), value.getNano())));
+    }
+
+    @Variant
+    protected Duration parseDurationEpochMillis(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.n() != null) {
+            return Duration.ofMillis(Long.parseLong(value.n()));
+        }
+
+        return parseDuration(value);
+    }
+
+    protected AttributeValue writeYear(@Nullable Year value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(Integer.toString(value.getValue()));
+    }
+
+    protected Year parseYear(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.n() != null) {
+            return Year.of(Integer.parseInt(value.n()));
+        }
+
+        if (value.s() != null) {
+            var year = IsoDates.parseYear(value.s());
+
+            return year != null ? year : Year.parse(value.s());
+        }
+
+        return null;
+    }
+
+    protected AttributeValue writeYearMonth(@Nullable YearMonth value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromS(IsoDates.format(value));
+    }
+
+    protected YearMonth parseYearMonth(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.s() == null) return null;
+
+        var yearMonth = IsoDates.parseYearMonth(value.s());
+
+        return yearMonth != null ? yearMonth : YearMonth.parse(value.s());
+    }
+
+    /**
+     * Same as {@link Instant#toEpochMilli()} without creating the instant, floors sub-millisecond precision
+     */
+    private static long epochMillis(long seconds, int nanos) {
+        return Math.addExact(Math.multiplyExact(seconds, 1_000L), nanos / 1_000_000);
+    }
+
+    /**
+     * Epoch seconds, fractions are kept up to nanoseconds
+     */
+    private static Instant epochSeconds(String value) {
+
+        if (value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0) {
+            return Instant.ofEpochSecond(Long.parseLong(value));
+        }
+
+        var decimal = new BigDecimal(value);
+        var seconds = decimal.setScale(0, RoundingMode.FLOOR);
+
+        return Instant.ofEpochSecond(seconds.longValueExact(), decimal.subtract(seconds).movePointRight(9).intValue());
+    }
 }
@@ -0,0 +1,540 @@
+package org.dooq.converter.converters;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+
+/**
+ * Fixed layout ISO-8601 parser and formatter working straight on the characters.
+ * <p>
+ * Output is the same as {@code toString()} of the JDK types. Parsers return {@code null} for any layout
+ * other than the ones written here (lowercase separators, offsets with seconds, years outside 0000-9999,
+ * durations in days or negative...) and the caller falls back to the JDK parser, invalid field values fail the
+ * same way as the JDK does.
+ *
+ * @author alex
+ */
+final class IsoDates {
+
+    private IsoDates() {
+    }
+
+    static @Nullable LocalDate parseLocalDate(@NotNull String value) {
+
+        if (value.length() != 10 || !isDate(value)) return null;
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+
+        if ((year | month | day) < 0) return null;
+
+        return LocalDate.of(year, month, day);
+    }
+
+    static @Nullable LocalTime parseLocalTime(@NotNull String value) {
+
+        long time = parseTime(value, 0, value.length());
+
+        if (time < 0) return null;
+
+        return LocalTime.ofNanoOfDay(time);
+    }
+
+    static @Nullable LocalDateTime parseLocalDateTime(@NotNull String value) {
+        return parseLocalDateTime(value, value.length());
+    }
+
+    /**
+     * Parses the date-time up to the end offset
+     */
+    private static @Nullable LocalDateTime parseLocalDateTime(@NotNull String value, int end) {
+
+        if (end < 16 || value.charAt(10) != 'T' || !isDate(value)) return null;
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+
+        if ((year | month | day) < 0) return null;
+
+        long time = parseTime(value, 11, end);
+
+        if (time < 0) return null;
+
+        return LocalDateTime.of(LocalDate.of(year, month, day), LocalTime.ofNanoOfDay(time));
+    }
+
+    static @Nullable Instant parseInstant(@NotNull String value) {
+
+        int length = value.length();
+
+        //Seconds are required, like the JDK
+        if (length < 20 || value.charAt(length - 1) != 'Z' || value.charAt(10) != 'T' || !isDate(value)) return null;
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+
+        if ((year | month | day) < 0) return null;
+
+        long time = parseTime(value, 11, length - 1);
+
+        if (time < 0) return null;
+
+        long epochDay = LocalDate.of(year, month, day).toEpochDay();
+
+        return Instant.ofEpochSecond(epochDay * 86_400 + time / 1_000_000_000, time % 1_000_000_000);
+    }
+
+    static @Nullable OffsetDateTime parseOffsetDateTime(@NotNull String value) {
+
+        int offset = offsetStart(value, value.length());
+
+        if (offset < 0) return null;
+
+        var dateTime = parseLocalDateTime(value, offset);
+        var zoneOffset = parseOffset(value, offset, value.length());
+
+        if (dateTime == null || zoneOffset == null) return null;
+
+        return OffsetDateTime.of(dateTime, zoneOffset);
+    }
+
+    /**
+     * Reads {@code date-time offset[zone]}, the local date-time is resolved with the offset like the JDK does
+     */
+    static @Nullable ZonedDateTime parseZonedDateTime(@NotNull String value) {
+
+        int end = value.length();
+        ZoneId zone = null;
+
+        if (end > 0 && value.charAt(end - 1) == ']') {
+            end = value.lastIndexOf('[');
+
+            if (end < 0) return null;
+
+            zone = ZoneId.of(value.substring(end + 1, value.length() - 1));
+        }
+
+        int offset = offsetStart(value, end);
+
+        if (offset < 0) return null;
+
+        var dateTime = parseLocalDateTime(value, offset);
+        var zoneOffset = parseOffset(value, offset, end);
+
+        if (dateTime == null || zoneOffset == null) return null;
+
+        return ZonedDateTime.ofInstant(dateTime, zoneOffset, zone == null ? zoneOffset : zone);
+    }
+
+    /**
+     * Reads {@code PT[nH][nM][n[.fraction]S]} with up to 9 digits a unit
+     */
+    static @Nullable Duration parseDuration(@NotNull String value) {
+
+        int length = value.length();
+
+        if (length < 4 || value.charAt(0) != 'P' || value.charAt(1) != 'T') return null;
+
+        long seconds = 0;
+        int nano = 0;
+        //Units must come in order: 1 hours, 2 minutes, 3 seconds
+        int unit = 0;
+
+        for (int position = 2; position < length; position++) {
+
+            int start = position;
+
+            while (position < length && position - start <= 9 && value.charAt(position) >= '0' && value.charAt(position) <= '9') {
+                position++;
+            }
+
+            int count = position - start;
+
+            if (count == 0 || count > 9 || position == length) return null;
+
+            long number = digits(value, start, count);
+
+            switch (value.charAt(position)) {
+                case 'H' -> {
+                    if (unit >= 1) return null;
+                    seconds += number * 3600;
+                    unit = 1;
+                }
+                case 'M' -> {
+                    if (unit >= 2) return null;
+                    seconds += number * 60;
+                    unit = 2;
+                }
+                case 'S' -> {
+                    if (unit >= 3) return null;
+                    seconds += number;
+                    unit = 3;
+                }
+                case '.' -> {
+                    int fraction = length - position - 2;
+
+                    if (unit >= 3 || fraction < 1 || fraction > 9 || value.charAt(length - 1) != 'S') return null;
+
+                    nano = digits(value, position + 1, fraction);
+
+                    if (nano < 0) return null;
+
+                    for (int i = fraction; i < 9; i++) {
+                        nano *= 10;
+                    }
+
+                    seconds += number;
+                    unit = 3;
+                    position = length - 1;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+
+        return Duration.ofSeconds(seconds, nano);
+    }
+
+    static @Nullable YearMonth parseYearMonth(@NotNull String value) {
+
+        if (value.length() != 7 || value.charAt(4) != '-') return null;
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+
+        if ((year | month) < 0) return null;
+
+        return YearMonth.of(year, month);
+    }
+
+    static @Nullable Year parseYear(@NotNull String value) {
+
+        if (value.length() != 4) return null;
+
+        int year = digits(value, 0, 4);
+
+        if (year < 0) return null;
+
+        return Year.of(year);
+    }
+
+    /**
+     * @return the offset of the {@code Z}, {@code +} or {@code -} ending the date-time, negative if there's none
+     */
+    private static int offsetStart(@NotNull String value, int end) {
+
+        //The date-time is at least yyyy-MM-ddTHH:mm, the date holds dashes
+        for (int i = 16; i < end; i++) {
+            char c = value.charAt(i);
+
+            if (c == 'Z' || c == '+' || c == '-') return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Parses {@code Z} or {@code +HH:MM} between the offsets
+     */
+    private static @Nullable ZoneOffset parseOffset(@NotNull String value, int start, int end) {
+
+        if (end - start == 1 && value.charAt(start) == 'Z') return ZoneOffset.UTC;
+
+        if (end - start != 6 || value.charAt(start + 3) != ':') return null;
+
+        int hours = digits(value, start + 1, 2);
+        int minutes = digits(value, start + 4, 2);
+
+        if ((hours | minutes) < 0) return null;
+
+        return switch (value.charAt(start)) {
+            case '+' -> ZoneOffset.ofHoursMinutes(hours, minutes);
+            case '-' -> ZoneOffset.ofHoursMinutes(-hours, -minutes);
+            default -> null;
+        };
+    }
+
+    private static boolean isDate(@NotNull String value) {
+        return value.charAt(4) == '-' && value.charAt(7) == '-';
+    }
+
+    /**
+     * Parses {@code HH:mm[:ss[.fraction]]} between the offsets
+     *
+     * @return nano of day, negative for an unsupported layout
+     */
+    private static long parseTime(@NotNull String value, int start, int end) {
+
+        int length = end - start;
+
+        if (length < 5 || value.charAt(start + 2) != ':') return -1;
+
+        int hour = digits(value, start, 2);
+        int minute = digits(value, start + 3, 2);
+        int second = 0;
+        int nano = 0;
+
+        if (length > 5) {
+
+            if (length < 8 || value.charAt(start + 5) != ':') return -1;
+
+            second = digits(value, start + 6, 2);
+
+            if (length > 8) {
+
+                int fraction = length - 9;
+
+                if (value.charAt(start + 8) != '.' || fraction < 1 || fraction > 9) return -1;
+
+                nano = digits(value, start + 9, fraction);
+
+                if (nano < 0) return -1;
+
+                for (int i = fraction; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+
+        if ((hour | minute | second) < 0) return -1;
+
+        //Validates the fields like the JDK does
+        return LocalTime.of(hour, minute, second, nano).toNanoOfDay();
+    }
+
+    /**
+     * @return the value of the digits, negative if any character is not a digit
+     */
+    private static int digits(@NotNull String value, int offset, int count) {
+
+        int result = 0;
+
+        for (int i = offset; i < offset + count; i++) {
+            int digit = value.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) return -1;
+
+            result = result * 10 + digit;
+        }
+
+        return result;
+    }
+
+    static @NotNull String format(@NotNull LocalDate value) {
+
+        if (value.getYear() < 0 || value.getYear() > 9999) return value.toString();
+
+        var buffer = new byte[10];
+
+        writeDate(buffer, value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    static @NotNull String format(@NotNull LocalTime value) {
+
+        var buffer = new byte[timeLength(value.getSecond(), value.getNano(), false)];
+
+        writeTime(buffer, 0, value.getHour(), value.getMinute(), value.getSecond(), value.getNano(), false);
+
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    static @NotNull String format(@NotNull LocalDateTime value) {
+
+        var result = format(value, "", null);
+
+        return result != null ? result : value.toString();
+    }
+
+    static @NotNull String format(@NotNull OffsetDateTime value) {
+
+        var result = format(value.toLocalDateTime(), value.getOffset().getId(), null);
+
+        return result != null ? result : value.toString();
+    }
+
+    static @NotNull String format(@NotNull ZonedDateTime value) {
+
+        //The zone is only printed when it's not the offset itself
+        var zone = value.getZone() instanceof ZoneOffset ? null : value.getZone().getId();
+        var result = format(value.toLocalDateTime(), value.getOffset().getId(), zone);
+
+        return result != null ? result : value.toString();
+    }
+
+    static @NotNull String format(@NotNull Duration value) {
+
+        if (value.isNegative()) return value.toString();
+
+        long seconds = value.getSeconds();
+        int nano = value.getNano();
+
+        if (seconds == 0 && nano == 0) return "PT0S";
+
+        var builder = new StringBuilder(24).append("PT");
+
+        long hours = seconds / 3600;
+        int minutes = (int) (seconds % 3600 / 60);
+        int second = (int) (seconds % 60);
+
+        if (hours != 0) builder.append(hours).append('H');
+        if (minutes != 0) builder.append(minutes).append('M');
+
+        if (second == 0 && nano == 0) return builder.toString();
+
+        builder.append(second);
+
+        if (nano != 0) {
+            int digits = 9;
+
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+
+            var fraction = new byte[digits];
+
+            writeDigits(fraction, 0, nano, digits);
+
+            builder.append('.').append(new String(fraction, StandardCharsets.ISO_8859_1));
+        }
+
+        return builder.append('S').toString();
+    }
+
+    static @NotNull String format(@NotNull YearMonth value) {
+
+        if (value.getYear() < 0 || value.getYear() > 9999) return value.toString();
+
+        var buffer = new byte[7];
+
+        writeDigits(buffer, 0, value.getYear(), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes {@code date-time offset[zone]}
+     *
+     * @return {@code null} for years outside 0000-9999
+     */
+    private static @Nullable String format(@NotNull LocalDateTime value, @NotNull String offset, @Nullable String zone) {
+
+        if (value.getYear() < 0 || value.getYear() > 9999) return null;
+
+        int end = 11 + timeLength(value.getSecond(), value.getNano(), false);
+        var buffer = new byte[end + offset.length() + (zone == null ? 0 : zone.length() + 2)];
+
+        writeDate(buffer, value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+        buffer[10] = 'T';
+        writeTime(buffer, 11, value.getHour(), value.getMinute(), value.getSecond(), value.getNano(), false);
+
+        end = writeChars(buffer, end, offset);
+
+        if (zone != null) {
+            buffer[end] = '[';
+            end = writeChars(buffer, end + 1, zone);
+            buffer[end] = ']';
+        }
+
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    static @NotNull String format(@NotNull Instant value) {
+
+        long epochDay = Math.floorDiv(value.getEpochSecond(), 86_400);
+        int secondOfDay = Math.floorMod(value.getEpochSecond(), 86_400);
+
+        var date = LocalDate.ofEpochDay(epochDay);
+
+        if (date.getYear() < 0 || date.getYear() > 9999) return value.toString();
+
+        int nano = value.getNano();
+        int second = secondOfDay % 60;
+
+        //Instants always print the seconds
+        var buffer = new byte[12 + timeLength(second, nano, true)];
+
+        writeDate(buffer, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        buffer[10] = 'T';
+        writeTime(buffer, 11, secondOfDay / 3600, secondOfDay / 60 % 60, second, nano, true);
+        buffer[buffer.length - 1] = 'Z';
+
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeDate(byte[] buffer, int year, int month, int day) {
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, month, 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, day, 2);
+    }
+
+    /**
+     * Seconds are omitted when they and the nanos are zero, the fraction is printed in groups of 3 digits
+     */
+    private static int timeLength(int second, int nano, boolean seconds) {
+
+        if (nano == 0) return second == 0 && !seconds ? 5 : 8;
+
+        if (nano % 1_000_000 == 0) return 12;
+        if (nano % 1_000 == 0) return 15;
+
+        return 18;
+    }
+
+    private static void writeTime(byte[] buffer, int offset, int hour, int minute, int second, int nano, boolean seconds) {
+
+        writeDigits(buffer, offset, hour, 2);
+        buffer[offset + 2] = ':';
+        writeDigits(buffer, offset + 3, minute, 2);
+
+        if (second == 0 && nano == 0 && !seconds) return;
+
+        buffer[offset + 5] = ':';
+        writeDigits(buffer, offset + 6, second, 2);
+
+        if (nano == 0) return;
+
+        buffer[offset + 8] = '.';
+
+        if (nano % 1_000_000 == 0) {
+            writeDigits(buffer, offset + 9, nano / 1_000_000, 3);
+        } else if (nano % 1_000 == 0) {
+            writeDigits(buffer, offset + 9, nano / 1_000, 6);
+        } else {
+            writeDigits(buffer, offset + 9, nano, 9);
+        }
+    }
+
+    /**
+     * Copies the ASCII characters of zone and offset ids
+     *
+     * @return the offset after the characters
+     */
+    private static int writeChars(byte[] buffer, int offset, @NotNull String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            buffer[offset + i] = (byte) value.charAt(i);
+        }
+
+        return offset + value.length();
+    }
+
+    private static void writeDigits(byte[] buffer, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
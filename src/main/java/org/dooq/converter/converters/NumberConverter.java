@@ -38,6 +38,14 @@ public class NumberConverter extends StringConverter {
         return AttributeValue.fromN(String.valueOf(value));
     }
 
+    protected AttributeValue writeDouble(double value) {
+        return AttributeValue.fromN(String.valueOf(value));
+    }
+
+    protected AttributeValue writeByte(byte value) {
+        return AttributeValue.fromN(String.valueOf(value));
+    }
+
     protected AttributeValue writeInteger(@Nullable Integer value) {
         if (value == null) return null;
 
@@ -62,6 +70,18 @@ public class NumberConverter extends StringConverter {
         return AttributeValue.fromN(String.valueOf(value));
     }
 
+    protected AttributeValue writeDoubler(@Nullable Double value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(String.valueOf(value));
+    }
+
+    protected AttributeValue writeByter(@Nullable Byte value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromN(String.valueOf(value));
+    }
+
     protected AttributeValue writeBigDecimal(@Nullable BigDecimal value) {
         if (value == null) return null;
 
@@ -69,15 +89,29 @@ public class NumberConverter extends StringConverter {
     }
 
     protected int parseInt(@Nullable AttributeValue value) {
-        if (value == null) return 0;
+        if (value == null || value.n() == null) return 0;
+
         return Integer.parseInt(value.n());
     }
 
-    protected int parseShort(@Nullable AttributeValue value) {
-        if (value == null) return 0;
+    protected short parseShort(@Nullable AttributeValue value) {
+        if (value == null || value.n() == null) return 0;
+
         return Short.parseShort(value.n());
     }
 
+    protected byte parseByte(@Nullable AttributeValue value) {
+        if (value == null || value.n() == null) return 0;
+
+        return Byte.parseByte(value.n());
+    }
+
+    protected double parseDouble(@Nullable AttributeValue value) {
+        if (value == null || value.n() == null) return 0.0d;
+
+        return Double.parseDouble(value.n());
+    }
+
     protected Integer parseInteger(@Nullable AttributeValue value) {
         if (value == null || Boolean.TRUE.equals(value.nul())) return null;
 
@@ -106,11 +140,29 @@ public class NumberConverter extends StringConverter {
     protected Float parseFloater(@Nullable AttributeValue value) {
         if (value == null || Boolean.TRUE.equals(value.nul())) return null;
 
+        if (value.n() == null) return null;
+
         return Float.valueOf(value.n());
     }
 
+    protected Double parseDoubler(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.n() == null) return null;
+
+        return Double.valueOf(value.n());
+    }
+
+    protected Byte parseByter(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.n() == null) return null;
+
+        return Byte.valueOf(value.n());
+    }
+
     protected float parseFloat(@Nullable AttributeValue value) {
-        if (value == null || Boolean.TRUE.equals(value.nul())) return 0.0f;
+        if (value == null || value.n() == null) return 0.0f;
 
         return Float.parseFloat(value.n());
     }
@@ -17,4 +17,28 @@ public class StringConverter extends BooleanConverter {
 
         return value.s();
     }
+
+    protected AttributeValue writeChar(char value) {
+        return AttributeValue.fromS(String.valueOf(value));
+    }
+
+    protected char parseChar(@Nullable AttributeValue value) {
+        if (value == null || value.s() == null || value.s().isEmpty()) return 0;
+
+        return value.s().charAt(0);
+    }
+
+    protected AttributeValue writeCharacter(@Nullable Character value) {
+        if (value == null) return null;
+
+        return AttributeValue.fromS(String.valueOf(value));
+    }
+
+    protected Character parseCharacter(@Nullable AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return null;
+
+        if (value.s() == null || value.s().isEmpty()) return null;
+
+        return value.s().charAt(0);
+    }
 }
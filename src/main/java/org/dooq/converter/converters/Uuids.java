@@ -0,0 +1,116 @@
+package org.dooq.converter.converters;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Canonical ({@code 8-4-4-4-12}) UUID hex parser and formatter, and the 16 bytes big endian binary form.
+ *
+ * @author alex
+ */
+final class Uuids {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+
+        for (int i = 0; i < 10; i++) {
+            VALUES['0' + i] = (byte) i;
+        }
+
+        for (int i = 0; i < 6; i++) {
+            VALUES['a' + i] = (byte) (10 + i);
+            VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private Uuids() {
+    }
+
+    /**
+     * @return null for any layout other than the canonical one, the caller falls back to {@link UUID#fromString(String)}
+     */
+    static @Nullable UUID parse(@NotNull String value) {
+
+        if (value.length() != 36 || value.charAt(8) != '-' || value.charAt(13) != '-'
+                || value.charAt(18) != '-' || value.charAt(23) != '-') return null;
+
+        long time = hex(value, 0, 8);
+        long mid = hex(value, 9, 4);
+        long high = hex(value, 14, 4);
+        long sequence = hex(value, 19, 4);
+        long node = hex(value, 24, 12);
+
+        if ((time | mid | high | sequence | node) < 0) return null;
+
+        return new UUID(time << 32 | mid << 16 | high, sequence << 48 | node);
+    }
+
+    /**
+     * @return the value of the hex digits, negative if any character is not a hex digit
+     */
+    private static long hex(@NotNull String value, int offset, int count) {
+
+        long result = 0;
+
+        for (int i = offset; i < offset + count; i++) {
+            char c = value.charAt(i);
+            int digit = c < 128 ? VALUES[c] : -1;
+
+            if (digit < 0) return -1;
+
+            result = result << 4 | digit;
+        }
+
+        return result;
+    }
+
+    static @NotNull String format(@NotNull UUID value) {
+
+        var buffer = new byte[36];
+        long most = value.getMostSignificantBits();
+        long least = value.getLeastSignificantBits();
+
+        writeHex(buffer, 0, most >>> 32, 8);
+        buffer[8] = '-';
+        writeHex(buffer, 9, most >>> 16, 4);
+        buffer[13] = '-';
+        writeHex(buffer, 14, most, 4);
+        buffer[18] = '-';
+        writeHex(buffer, 19, least >>> 48, 4);
+        buffer[23] = '-';
+        writeHex(buffer, 24, least, 12);
+
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeHex(byte[] buffer, int offset, long value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+    static byte @NotNull [] toBytes(@NotNull UUID value) {
+
+        var buffer = new byte[16];
+
+        writeLong(buffer, 0, value.getMostSignificantBits());
+        writeLong(buffer, 8, value.getLeastSignificantBits());
+
+        return buffer;
+    }
+
+    private static void writeLong(byte[] buffer, int offset, long value) {
+        for (int i = offset + 7; i >= offset; i--) {
+            buffer[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
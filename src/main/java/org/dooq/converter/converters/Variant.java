@@ -0,0 +1,15 @@
+package org.dooq.converter.converters;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an alternative codec of a type, it's only selected by name (e.g. by a field annotation)
+ * and never replaces the default codec of its type
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Variant {
+}
@@ -0,0 +1,61 @@
+package org.dooq.converter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * JFR event emitted by {@code ParserCompiler.getConverter} every time a converter class is generated
+ * or loaded from the bytecode cache. Bytecode is generated concurrently before the class is defined under a
+ * lock, the duration is the time spent defining the class once the lock is held and the generation time is
+ * recorded apart, waiting for the lock is part of neither.
+ *
+ * @author alex
+ */
+@Name("org.dooq.ConverterCompiled")
+@Label("Converter Compiled")
+@Category({"dooq", "Converter"})
+@Description("A converter class was generated or loaded from the bytecode cache")
+public final class ConverterCompiledEvent extends Event {
+
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Parser Class")
+    Class<?> parserClass;
+
+    @Label("Generation Time")
+    @Description("Time spent generating the bytecode or loading it from the on-disk cache")
+    @Timespan(Timespan.NANOSECONDS)
+    long generationTime;
+
+    @Label("Bytecode Size")
+    @DataAmount
+    int bytecodeSize;
+
+    @Label("Cached")
+    @Description("Bytecode was loaded from the on-disk cache instead of being generated")
+    boolean cached;
+
+    @ApiStatus.Internal
+    public void complete(@NotNull Class<?> type, @NotNull Class<?> parserClass, long generationTime,
+                         int bytecodeSize, boolean cached) {
+        end();
+
+        if (!shouldCommit()) return;
+
+        this.type = type;
+        this.parserClass = parserClass;
+        this.generationTime = generationTime;
+        this.bytecodeSize = bytecodeSize;
+        this.cached = cached;
+
+        commit();
+    }
+}
@@ -0,0 +1,36 @@
+package org.dooq.converter.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+/**
+ * Receives instrumentation events from the converters once registered with
+ * {@link ConverterMetrics#setListener(ConverterListener)}.
+ * <p>
+ * Callbacks run on the converting thread, implementations must be thread safe and cheap.
+ *
+ * @author alex
+ */
+public interface ConverterListener {
+
+    /**
+     * A converter class was generated, or loaded from the bytecode cache, the time doesn't include waiting for
+     * another type to be defined
+     */
+    default void onCompile(@NotNull Class<?> type, @NotNull Class<?> parserClass, long nanos, int bytecodeSize) {
+    }
+
+    default void onRead(@NotNull Class<?> type, long nanos, @NotNull Map<String, AttributeValue> item) {
+    }
+
+    default void onWrite(@NotNull Class<?> type, long nanos, @NotNull Map<String, AttributeValue> item) {
+    }
+
+    /**
+     * A value went through a fallback path, e.g. no parser or writer was found for its type
+     */
+    default void onFallback(@NotNull Class<?> valueType, @NotNull String reason) {
+    }
+}
@@ -0,0 +1,87 @@
+package org.dooq.converter.metrics;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+/**
+ * Entry point of the converter instrumentation.
+ * <p>
+ * Generated converters call {@link #start()} and {@link #read(Class, long, Map)} / {@link #write(Class, long, Map)}
+ * around every conversion. While no listener is registered and the {@link SlowConversionEvent} isn't enabled
+ * in a JFR recording, {@link #start()} returns {@code 0} and the completion hooks return immediately.
+ *
+ * @author alex
+ */
+public final class ConverterMetrics {
+
+    private static volatile @Nullable ConverterListener listener;
+
+    private ConverterMetrics() {
+    }
+
+    /**
+     * @param listener the listener, or {@code null} to disable the instrumentation
+     */
+    public static void setListener(@Nullable ConverterListener listener) {
+        ConverterMetrics.listener = listener;
+    }
+
+    public static @Nullable ConverterListener getListener() {
+        return listener;
+    }
+
+    @ApiStatus.Internal
+    public static long start() {
+        return listener == null && !SlowConversionEvent.enabled() ? 0L : System.nanoTime();
+    }
+
+    @ApiStatus.Internal
+    public static void read(@NotNull Class<?> type, long start, @NotNull Map<String, AttributeValue> item) {
+        if (start == 0L) return;
+
+        long nanos = System.nanoTime() - start;
+        var current = listener;
+
+        if (current != null) {
+            current.onRead(type, nanos, item);
+        }
+
+        SlowConversionEvent.emit(type, "read", nanos, item);
+    }
+
+    @ApiStatus.Internal
+    public static void write(@NotNull Class<?> type, long start, @NotNull Map<String, AttributeValue> item) {
+        if (start == 0L) return;
+
+        long nanos = System.nanoTime() - start;
+        var current = listener;
+
+        if (current != null) {
+            current.onWrite(type, nanos, item);
+        }
+
+        SlowConversionEvent.emit(type, "write", nanos, item);
+    }
+
+    @ApiStatus.Internal
+    public static void compiled(@NotNull Class<?> type, @NotNull Class<?> parserClass, long nanos, int bytecodeSize) {
+        var current = listener;
+
+        if (current != null) {
+            current.onCompile(type, parserClass, nanos, bytecodeSize);
+        }
+    }
+
+    @ApiStatus.Internal
+    public static void fallback(@NotNull Class<?> valueType, @NotNull String reason) {
+        var current = listener;
+
+        if (current != null) {
+            current.onFallback(valueType, reason);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.dooq.converter.metrics;
+
+import org.dooq.converter.AttributeSizes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link ConverterListener} keeping counters and latency histograms per type.
+ *
+ * <pre>{@code
+ * var stats = new ConverterStats();
+ * ConverterMetrics.setListener(stats);
+ * ...
+ * stats.get(Order.class).readLatency().percentile(0.99);
+ * }</pre>
+ *
+ * @author alex
+ */
+public class ConverterStats implements ConverterListener {
+
+    private final Map<Class<?>, TypeStats> stats = new ConcurrentHashMap<>();
+    private final Map<Class<?>, LongAdder> fallbacks = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCompile(@NotNull Class<?> type, @NotNull Class<?> parserClass, long nanos, int bytecodeSize) {
+        stats(type).compileNanos.add(nanos);
+    }
+
+    @Override
+    public void onRead(@NotNull Class<?> type, long nanos, @NotNull Map<String, AttributeValue> item) {
+        var typeStats = stats(type);
+
+        typeStats.readLatency.record(nanos);
+        typeStats.readAttributes.add(item.size());
+        typeStats.readBytes.add(AttributeSizes.of(item));
+    }
+
+    @Override
+    public void onWrite(@NotNull Class<?> type, long nanos, @NotNull Map<String, AttributeValue> item) {
+        var typeStats = stats(type);
+
+        typeStats.writeLatency.record(nanos);
+        typeStats.writeAttributes.add(item.size());
+        typeStats.writeBytes.add(AttributeSizes.of(item));
+    }
+
+    @Override
+    public void onFallback(@NotNull Class<?> valueType, @NotNull String reason) {
+        fallbacks.computeIfAbsent(valueType, ignored -> new LongAdder())
+                .increment();
+    }
+
+    public @Nullable TypeStats get(@NotNull Class<?> type) {
+        return stats.get(type);
+    }
+
+    public @NotNull Map<Class<?>, TypeStats> all() {
+        return Map.copyOf(stats);
+    }
+
+    public long fallbacks(@NotNull Class<?> valueType) {
+        var counter = fallbacks.get(valueType);
+
+        return counter == null ? 0 : counter.sum();
+    }
+
+    private @NotNull TypeStats stats(@NotNull Class<?> type) {
+        return stats.computeIfAbsent(type, ignored -> new TypeStats());
+    }
+
+    public static final class TypeStats {
+
+        private final LongAdder compileNanos = new LongAdder();
+        private final Histogram readLatency = new Histogram();
+        private final Histogram writeLatency = new Histogram();
+        private final LongAdder readAttributes = new LongAdder();
+        private final LongAdder writeAttributes = new LongAdder();
+        private final LongAdder readBytes = new LongAdder();
+        private final LongAdder writeBytes = new LongAdder();
+
+        public long compileNanos() {
+            return compileNanos.sum();
+        }
+
+        public long reads() {
+            return readLatency.count();
+        }
+
+        public long writes() {
+            return writeLatency.count();
+        }
+
+        public @NotNull Histogram readLatency() {
+            return readLatency;
+        }
+
+        public @NotNull Histogram writeLatency() {
+            return writeLatency;
+        }
+
+        public long readAttributes() {
+            return readAttributes.sum();
+        }
+
+        public long writeAttributes() {
+            return writeAttributes.sum();
+        }
+
+        /**
+         * Approximate encoded size of all read items, see {@link AttributeSizes}
+         */
+        public long readBytes() {
+            return readBytes.sum();
+        }
+
+        /**
+         * Approximate encoded size of all written items, see {@link AttributeSizes}
+         */
+        public long writeBytes() {
+            return writeBytes.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "TypeStats{reads=%d, writes=%d, readP99=%dns, writeP99=%dns, readBytes=%d, writeBytes=%d}"
+                    .formatted(reads(), writes(), readLatency.percentile(0.99), writeLatency.percentile(0.99),
+                            readBytes(), writeBytes());
+        }
+    }
+
+    /**
+     * Lock-free histogram with power of two buckets, percentiles are upper bounds of the bucket
+     */
+    public static final class Histogram {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        void record(long nanos) {
+            buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+            count.increment();
+            total.add(nanos);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long totalNanos() {
+            return total.sum();
+        }
+
+        public long percentile(double percentile) {
+            long target = (long) Math.ceil(count() * percentile);
+            long seen = 0;
+
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+
+                if (seen >= target && seen > 0) {
+                    return i == 63 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                }
+            }
+
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.dooq.converter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+/**
+ * JFR event emitted by generated {@code read} / {@code write} methods when a single conversion takes
+ * longer than {@code dooq.converter.slowConversionMicros} (1000 by default).
+ *
+ * @author alex
+ */
+@Name("org.dooq.SlowConversion")
+@Label("Slow Conversion")
+@Category({"dooq", "Converter"})
+@Description("A single item conversion exceeded the slow conversion threshold")
+public final class SlowConversionEvent extends Event {
+
+    static final long THRESHOLD_NANOS = Long.getLong("dooq.converter.slowConversionMicros", 1_000) * 1_000;
+
+    /**
+     * Only used to check whether the event is enabled in the current recording
+     */
+    private static final SlowConversionEvent PROBE = new SlowConversionEvent();
+
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Direction")
+    String direction;
+
+    @Label("Conversion Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long conversionTime;
+
+    @Label("Attribute Count")
+    int attributeCount;
+
+    @Label("Nesting Depth")
+    int nestingDepth;
+
+    static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+
+    static void emit(@NotNull Class<?> type, @NotNull String direction, long nanos,
+                     @NotNull Map<String, AttributeValue> item) {
+
+        if (nanos < THRESHOLD_NANOS) return;
+
+        var event = new SlowConversionEvent();
+
+        if (!event.shouldCommit()) return;
+
+        event.type = type;
+        event.direction = direction;
+        event.conversionTime = nanos;
+        event.attributeCount = item.size();
+        event.nestingDepth = depth(item);
+        event.commit();
+    }
+
+    private static int depth(@NotNull Map<String, AttributeValue> item) {
+        int depth = 0;
+
+        for (AttributeValue value : item.values()) {
+            depth = Math.max(depth, depth(value));
+        }
+
+        return depth;
+    }
+
+    private static int depth(AttributeValue value) {
+        if (value == null) return 0;
+
+        if (value.hasM()) return 1 + depth(value.m());
+
+        if (value.hasL()) {
+            int depth = 0;
+
+            for (AttributeValue element : value.l()) {
+                depth = Math.max(depth, depth(element));
+            }
+
+            return 1 + depth;
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,418 @@
+package org.dooq.converter.query;
+
+import org.dooq.converter.Converter;
+import org.dooq.converter.DynamoConverter;
+import org.dooq.converter.DynamoSharded;
+import org.dooq.converter.KeyShards;
+import org.dooq.converter.PartitionKey;
+import org.dooq.converter.SortKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Scatter-gather {@code Query} of a {@link DynamoSharded} partition.
+ * <p>
+ * The shards are queried in parallel and their results merged by sort key into one ordered stream. Items are
+ * read with the converter as the stream advances, and each shard prefetches its next page while the current one
+ * is consumed. Close the stream to cancel pending requests.
+ * <p>
+ * The sort key condition refers to the sort key attribute as {@code #sk}. Merging by another attribute queries
+ * the secondary index it's the sort key of, the index must have the sharded partition key.
+ *
+ * <pre>{@code
+ * ShardedQuery<Reading> query = ShardedQuery.builder(client, "readings", Reading.class)
+ *         .sortKeyCondition("#sk BETWEEN :from AND :to", Map.of(
+ *                 ":from", AttributeValue.fromN("100"),
+ *                 ":to", AttributeValue.fromN("200")))
+ *         .executor(ioExecutor)
+ *         .build();
+ *
+ * try (Stream<Reading> readings = query.stream("sensor-1")) {
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @author alex
+ */
+public final class ShardedQuery<T> {
+
+    private final DynamoDbClient client;
+    private final String tableName;
+    private final @Nullable String indexName;
+    private final Converter<T> converter;
+    private final String partitionKey;
+    private final String sortKey;
+    private final DynamoSharded sharded;
+    private final @Nullable String sortKeyCondition;
+    private final Map<String, AttributeValue> values;
+    private final boolean ascending;
+    private final @Nullable Integer pageSize;
+    private final boolean consistentRead;
+    private final Executor executor;
+    private final Comparator<Cursor> order;
+
+    private ShardedQuery(@NotNull Builder<T> builder, @NotNull Field partitionKey, @NotNull String sortKey) {
+        this.client = builder.client;
+        this.tableName = builder.tableName;
+        this.indexName = builder.indexName;
+        this.converter = builder.converter;
+        this.partitionKey = DynamoConverter.attributeName(builder.type, partitionKey.getName());
+        this.sortKey = sortKey;
+        this.sharded = partitionKey.getAnnotation(DynamoSharded.class);
+        this.sortKeyCondition = builder.sortKeyCondition;
+        this.values = builder.values;
+        this.ascending = builder.ascending;
+        this.pageSize = builder.pageSize;
+        this.consistentRead = builder.consistentRead;
+        this.executor = builder.executor;
+
+        Comparator<Cursor> bySortKey = (left, right) -> compare(left.sortKey(), right.sortKey());
+
+        //Ties are taken in shard order
+        this.order = (ascending ? bySortKey : bySortKey.reversed())
+                .thenComparingInt(cursor -> cursor.shard);
+    }
+
+    public static <T> @NotNull Builder<T> builder(@NotNull DynamoDbClient client, @NotNull String tableName,
+                                                  @NotNull Class<T> type) {
+        return new Builder<>(client, tableName, type);
+    }
+
+    /**
+     * Items of every shard of the partition, ordered by sort key
+     *
+     * @param partitionKey the partition key without shard suffix
+     */
+    public @NotNull Stream<T> stream(@NotNull Object partitionKey) {
+
+        var partitions = KeyShards.partitions(partitionKey.toString(), sharded.shards(), sharded.separator());
+        var cursors = new ArrayList<Cursor>(partitions.size());
+
+        //Every shard is requested before waiting for any of them
+        for (int i = 0; i < partitions.size(); i++) {
+            cursors.add(new Cursor(i, partitions.get(i)));
+        }
+
+        var iterator = new MergeIterator(cursors);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> cursors.forEach(Cursor::cancel));
+    }
+
+    private @NotNull QueryRequest request(@NotNull String partition, @Nullable Map<String, AttributeValue> startKey) {
+
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> requestValues = new HashMap<>(values);
+
+        names.put("#pk", partitionKey);
+        requestValues.put(":pk", AttributeValue.fromS(partition));
+
+        var condition = "#pk = :pk";
+
+        if (sortKeyCondition != null) {
+            names.put("#sk", sortKey);
+            condition += " AND " + sortKeyCondition;
+        }
+
+        return QueryRequest.builder()
+                .tableName(tableName)
+                .indexName(indexName)
+                .keyConditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(requestValues)
+                .exclusiveStartKey(startKey)
+                .scanIndexForward(ascending)
+                .limit(pageSize)
+                .consistentRead(consistentRead)
+                .build();
+    }
+
+    /**
+     * Order of sort keys in DynamoDB: numbers by value, strings by UTF-8 bytes and binaries as unsigned bytes
+     */
+    static int compare(@NotNull AttributeValue left, @NotNull AttributeValue right) {
+
+        if (left.n() != null && right.n() != null) {
+            return new BigDecimal(left.n()).compareTo(new BigDecimal(right.n()));
+        }
+
+        if (left.s() != null && right.s() != null) {
+            return compareUtf8(left.s(), right.s());
+        }
+
+        if (left.b() != null && right.b() != null) {
+            return Arrays.compareUnsigned(left.b().asByteArrayUnsafe(), right.b().asByteArrayUnsafe());
+        }
+
+        throw new IllegalArgumentException("Sort keys of different types: %s and %s".formatted(left, right));
+    }
+
+    /**
+     * Code point order is the byte order of UTF-8
+     */
+    private static int compareUtf8(@NotNull String left, @NotNull String right) {
+
+        int i = 0;
+        int j = 0;
+
+        while (i < left.length() && j < right.length()) {
+            int a = left.codePointAt(i);
+            int b = right.codePointAt(j);
+
+            if (a != b) return Integer.compare(a, b);
+
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+
+        return Integer.compare(left.length() - i, right.length() - j);
+    }
+
+    /**
+     * Pages of one shard, the next page is requested as soon as the current one arrives
+     */
+    private final class Cursor {
+
+        private final int shard;
+        private final String partition;
+
+        private List<Map<String, AttributeValue>> page = List.of();
+        private int position;
+        private @Nullable CompletableFuture<QueryResponse> next;
+
+        private Cursor(int shard, @NotNull String partition) {
+            this.shard = shard;
+            this.partition = partition;
+            this.next = fetch(null);
+        }
+
+        private @NotNull CompletableFuture<QueryResponse> fetch(@Nullable Map<String, AttributeValue> startKey) {
+            return CompletableFuture.supplyAsync(() -> client.query(request(partition, startKey)), executor);
+        }
+
+        /**
+         * @return the current item, waiting for the next page if needed, or {@code null} once exhausted
+         */
+        private @Nullable Map<String, AttributeValue> peek() {
+
+            while (position == page.size()) {
+
+                if (next == null) return null;
+
+                QueryResponse response;
+
+                try {
+                    response = next.join();
+                } catch (CompletionException ex) {
+                    throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+                }
+
+                page = response.items();
+                position = 0;
+                next = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                        ? fetch(response.lastEvaluatedKey())
+                        : null;
+            }
+
+            return page.get(position);
+        }
+
+        private @NotNull AttributeValue sortKey() {
+
+            var value = page.get(position).get(sortKey);
+
+            if (value == null) {
+                throw new IllegalStateException("Item of partition '%s' has no sort key '%s'".formatted(partition, sortKey));
+            }
+
+            return value;
+        }
+
+        private void cancel() {
+            if (next != null) next.cancel(true);
+        }
+    }
+
+    /**
+     * K-way merge of the cursors, the head of the queue holds the next item
+     */
+    private final class MergeIterator implements Iterator<T> {
+
+        private final List<Cursor> cursors;
+        private @Nullable PriorityQueue<Cursor> queue;
+
+        private MergeIterator(@NotNull List<Cursor> cursors) {
+            this.cursors = cursors;
+        }
+
+        private @NotNull PriorityQueue<Cursor> queue() {
+
+            if (queue == null) {
+                queue = new PriorityQueue<>(cursors.size(), order);
+
+                for (Cursor cursor : cursors) {
+                    if (cursor.peek() != null) queue.add(cursor);
+                }
+            }
+
+            return queue;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue().isEmpty();
+        }
+
+        @Override
+        public T next() {
+
+            var cursor = queue().poll();
+
+            if (cursor == null) throw new NoSuchElementException();
+
+            var item = Objects.requireNonNull(cursor.peek());
+
+            cursor.position++;
+
+            if (cursor.peek() != null) queue().add(cursor);
+
+            return converter.read(item);
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final DynamoDbClient client;
+        private final String tableName;
+        private final Class<T> type;
+        private final Converter<T> converter;
+        private @Nullable String indexName;
+        private @Nullable String sortKey;
+        private @Nullable String sortKeyCondition;
+        private Map<String, AttributeValue> values = Map.of();
+        private boolean ascending = true;
+        private @Nullable Integer pageSize;
+        private boolean consistentRead;
+        private Executor executor = ForkJoinPool.commonPool();
+
+        private Builder(@NotNull DynamoDbClient client, @NotNull String tableName, @NotNull Class<T> type) {
+            this.client = Objects.requireNonNull(client);
+            this.tableName = Objects.requireNonNull(tableName);
+            this.type = Objects.requireNonNull(type);
+            this.converter = DynamoConverter.getConverter(type);
+        }
+
+        /**
+         * Secondary index queried instead of the table, its partition key must be the sharded partition key
+         */
+        public Builder<T> indexName(@NotNull String indexName) {
+            this.indexName = Objects.requireNonNull(indexName);
+            return this;
+        }
+
+        /**
+         * Sort key attribute the results are merged by, the {@link SortKey} field by default. Another attribute
+         * must be the sort key of the {@link #indexName(String) index} queried
+         */
+        public Builder<T> sortKey(@NotNull String attribute) {
+            this.sortKey = Objects.requireNonNull(attribute);
+            return this;
+        }
+
+        /**
+         * Condition on the sort key, {@code #sk} is the sort key attribute
+         */
+        public Builder<T> sortKeyCondition(@NotNull String condition, @NotNull Map<String, AttributeValue> values) {
+            this.sortKeyCondition = Objects.requireNonNull(condition);
+            this.values = Map.copyOf(values);
+            return this;
+        }
+
+        public Builder<T> descending() {
+            this.ascending = false;
+            return this;
+        }
+
+        /**
+         * Items per request of each shard
+         */
+        public Builder<T> pageSize(int pageSize) {
+            if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be positive");
+
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public Builder<T> consistentRead(boolean consistentRead) {
+            this.consistentRead = consistentRead;
+            return this;
+        }
+
+        /**
+         * Executor of the requests, the common pool by default. Requests block, prefer a dedicated executor.
+         */
+        public Builder<T> executor(@NotNull Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        public ShardedQuery<T> build() {
+
+            var partitionKey = findField(type, PartitionKey.class);
+
+            if (partitionKey == null || !partitionKey.isAnnotationPresent(DynamoSharded.class)) {
+                throw new IllegalStateException("No @DynamoSharded @PartitionKey in " + type);
+            }
+
+            var sortKeyField = findField(type, SortKey.class);
+            var attribute = sortKey != null ? sortKey : sortKeyField != null ? DynamoConverter.attributeName(type, sortKeyField.getName()) : null;
+
+            if (attribute == null) throw new IllegalStateException("Sharded queries are merged by sort key, none declared in " + type);
+
+            //Each shard comes back in the order of the sort key of the table
+            if (indexName == null && (sortKeyField == null || !attribute.equals(DynamoConverter.attributeName(type, sortKeyField.getName())))) {
+                throw new IllegalStateException("'%s' is not the sort key of %s, set the indexName it's the sort key of"
+                        .formatted(attribute, type));
+            }
+
+            return new ShardedQuery<>(this, partitionKey, attribute);
+        }
+
+        private static @Nullable Field findField(@NotNull Class<?> type, @NotNull Class<? extends Annotation> annotation) {
+
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(annotation)) return field;
+                }
+            }
+
+            return null;
+        }
+    }
+}
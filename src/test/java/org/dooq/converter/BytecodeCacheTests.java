@@ -0,0 +1,156 @@
+package org.dooq.converter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class BytecodeCacheTests {
+
+    public record CachedItem(String id, int count) {
+    }
+
+    public record CorruptItem(String id, int count) {
+    }
+
+    public record DonorItem(String id) {
+    }
+
+    public record ForeignItem(String id) {
+    }
+
+    interface CacheTest {
+        void run(Path directory) throws Exception;
+    }
+
+    private static void withCache(CacheTest test) throws Exception {
+
+        var directory = Files.createTempDirectory("converters");
+
+        System.setProperty("dooq.converter.cache.dir", directory.toString());
+
+        try {
+            test.run(directory);
+        } finally {
+            System.clearProperty("dooq.converter.cache.dir");
+        }
+    }
+
+    private static List<Path> entries(Path directory, String name) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(name + "-")).toList();
+        }
+    }
+
+    @Test
+    void compiledConvertersAreStoredAndLoaded() throws Exception {
+        withCache(directory -> {
+
+            var converter = ParserCompiler.getConverter(CachedItem.class);
+            var item = new CachedItem("c-1", 3);
+
+            Assertions.assertEquals(item, converter.read(converter.write(item)));
+
+            var fingerprint = BytecodeCache.fingerprint(CachedItem.class, ObjectParser.class);
+            var file = directory.resolve("CachedItemObjectParser-" + fingerprint + ".class");
+
+            Assertions.assertNotNull(fingerprint);
+            Assertions.assertEquals(List.of(file), entries(directory, "CachedItemObjectParser"));
+            Assertions.assertArrayEquals(Files.readAllBytes(file),
+                    BytecodeCache.load("CachedItemObjectParser", CachedItem.class, ObjectParser.class));
+        });
+    }
+
+    @Test
+    void changedEntitiesMissTheCache() throws Exception {
+        withCache(directory -> {
+
+            var before = defineItem(directory.resolve("v1"), "id");
+            var after = defineItem(directory.resolve("v2"), "id", "count");
+
+            var fingerprint = BytecodeCache.fingerprint(before, ObjectParser.class);
+
+            Assertions.assertNotNull(fingerprint);
+            Assertions.assertNotEquals(fingerprint, BytecodeCache.fingerprint(after, ObjectParser.class));
+
+            BytecodeCache.store("ItemObjectParser", before, ObjectParser.class, new byte[]{1, 2, 3});
+
+            Assertions.assertNull(BytecodeCache.load("ItemObjectParser", after, ObjectParser.class));
+
+            //The entry of the previous version is replaced
+            BytecodeCache.store("ItemObjectParser", after, ObjectParser.class, new byte[]{4, 5, 6});
+
+            Assertions.assertEquals(1, entries(directory, "ItemObjectParser").size());
+            Assertions.assertArrayEquals(new byte[]{4, 5, 6}, BytecodeCache.load("ItemObjectParser", after, ObjectParser.class));
+        });
+    }
+
+    @Test
+    void corruptEntriesAreRegenerated() throws Exception {
+        withCache(directory -> {
+
+            var fingerprint = BytecodeCache.fingerprint(CorruptItem.class, ObjectParser.class);
+            var file = directory.resolve("CorruptItemObjectParser-" + fingerprint + ".class");
+
+            Files.write(file, new byte[]{(byte) 0xCA, (byte) 0xFE, 0, 1, 2});
+
+            var converter = ParserCompiler.getConverter(CorruptItem.class);
+            var item = new CorruptItem("c-1", 3);
+
+            Assertions.assertEquals(item, converter.read(converter.write(item)));
+            Assertions.assertTrue(Files.size(file) > 5);
+        });
+    }
+
+    @Test
+    void entriesFailingToLinkAreRegenerated() throws Exception {
+        withCache(directory -> {
+
+            ParserCompiler.getConverter(DonorItem.class);
+
+            //A valid class, defined under another name
+            var donor = entries(directory, "DonorItemObjectParser").get(0);
+            var fingerprint = BytecodeCache.fingerprint(ForeignItem.class, ObjectParser.class);
+            var file = directory.resolve("ForeignItemObjectParser-" + fingerprint + ".class");
+
+            Files.copy(donor, file);
+
+            var converter = ParserCompiler.getConverter(ForeignItem.class);
+
+            Assertions.assertEquals(new ForeignItem("f-1"), converter.read(converter.write(new ForeignItem("f-1"))));
+            Assertions.assertFalse(Arrays.equals(Files.readAllBytes(donor), Files.readAllBytes(file)));
+        });
+    }
+
+    /**
+     * Defines a version of the class {@code cache.Item} with the given string fields in its own loader
+     */
+    private static Class<?> defineItem(Path directory, String... fields) throws Exception {
+
+        var writer = new ClassWriter(0);
+
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "cache/Item", null, "java/lang/Object", null);
+
+        for (String field : fields) {
+            writer.visitField(Opcodes.ACC_PUBLIC, field, "Ljava/lang/String;", null, null).visitEnd();
+        }
+
+        writer.visitEnd();
+
+        Files.createDirectories(directory.resolve("cache"));
+        Files.write(directory.resolve("cache/Item.class"), writer.toByteArray());
+
+        var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, BytecodeCacheTests.class.getClassLoader());
+
+        return loader.loadClass("cache.Item");
+    }
+}
@@ -0,0 +1,14 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoCompressed;
+
+import java.util.List;
+import java.util.Map;
+
+public record Article(String id,
+                      @DynamoCompressed(threshold = 256) String body,
+                      @DynamoCompressed(threshold = 256) String summary,
+                      @DynamoCompressed Map<String, String> metadata,
+                      @DynamoCompressed(threshold = 128) List<Child> revisions,
+                      @DynamoCompressed byte[] thumbnail) {
+}
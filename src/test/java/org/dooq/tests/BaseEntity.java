@@ -0,0 +1,19 @@
+package org.dooq.tests;
+
+public abstract class BaseEntity {
+    private String id;
+    protected int version;
+
+    public String getId() {
+        return id;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    protected void init(String id, int version) {
+        this.id = id;
+        this.version = version;
+    }
+}
@@ -0,0 +1,9 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoBinary;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.nio.ByteBuffer;
+
+public record BinaryItem(String id, byte[] payload, @DynamoBinary(copyOnRead = true) ByteBuffer hash, SdkBytes raw) {
+}
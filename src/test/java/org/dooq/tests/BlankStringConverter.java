@@ -0,0 +1,15 @@
+package org.dooq.tests;
+
+import org.dooq.converter.ObjectParser;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Writes every string as an empty one, the default value of sparse fields
+ */
+public abstract class BlankStringConverter<T> extends ObjectParser<T> {
+
+    @Override
+    protected AttributeValue writeString(String value) {
+        return AttributeValue.fromS("");
+    }
+}
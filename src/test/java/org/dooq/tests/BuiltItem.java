@@ -0,0 +1,54 @@
+package org.dooq.tests;
+
+public final class BuiltItem {
+    private final String name;
+    private final boolean active;
+    private final Child child;
+
+    private BuiltItem(String name, boolean active, Child child) {
+        this.name = name;
+        this.active = active;
+        this.child = child;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean active() {
+        return active;
+    }
+
+    public Child child() {
+        return child;
+    }
+
+    public static class Builder {
+        private String name;
+        private boolean active;
+        private Child child;
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder active(boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        public Builder child(Child child) {
+            this.child = child;
+            return this;
+        }
+
+        public BuiltItem build() {
+            return new BuiltItem(name, active, child);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.dooq.tests;
+
+import org.dooq.converter.batch.BulkWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class BulkWriterTests {
+
+    /**
+     * Rejects half of the first requests, reports the table and one index consuming one unit per item
+     */
+    static class ThrottlingClient implements DynamoDbClient {
+
+        final Map<String, Map<String, AttributeValue>> items = new ConcurrentHashMap<>();
+        final List<Integer> batches = new CopyOnWriteArrayList<>();
+        int throttledRequests;
+
+        @Override
+        public BatchWriteItemResponse batchWriteItem(BatchWriteItemRequest request) {
+
+            var requests = request.requestItems().get("pojos");
+
+            if (requests.size() > 25) throw new IllegalArgumentException("Too many items: " + requests.size());
+            if (request.returnConsumedCapacity() != ReturnConsumedCapacity.INDEXES) throw new IllegalArgumentException();
+
+            batches.add(requests.size());
+
+            var unprocessed = new ArrayList<WriteRequest>();
+
+            for (int i = 0; i < requests.size(); i++) {
+                var item = requests.get(i).putRequest().item();
+
+                if (throttledRequests > 0 && i % 2 == 0) {
+                    unprocessed.add(requests.get(i));
+                    continue;
+                }
+
+                items.put(item.get("name").s(), item);
+            }
+
+            if (throttledRequests > 0) throttledRequests--;
+
+            double processed = requests.size() - unprocessed.size();
+
+            return BatchWriteItemResponse.builder()
+                    .unprocessedItems(unprocessed.isEmpty() ? Map.of() : Map.of("pojos", unprocessed))
+                    .consumedCapacity(List.of(ConsumedCapacity.builder()
+                            .tableName("pojos")
+                            .capacityUnits(processed * 2)
+                            .table(Capacity.builder().capacityUnits(processed).build())
+                            .globalSecondaryIndexes(Map.of("by-age", Capacity.builder().capacityUnits(processed).build()))
+                            .build()))
+                    .build();
+        }
+    }
+
+    /**
+     * Rejects one item out of five of the first request, reports the total consumed capacity without the table detail
+     */
+    static class TotalOnlyClient implements DynamoDbClient {
+
+        BulkWriter<Pojo> writer;
+        int requests;
+        double availableOnRetry;
+
+        @Override
+        public BatchWriteItemResponse batchWriteItem(BatchWriteItemRequest request) {
+
+            var requests = request.requestItems().get("pojos");
+            var unprocessed = new ArrayList<WriteRequest>();
+
+            if (this.requests++ == 0) {
+                for (int i = 0; i < requests.size(); i += 5) {
+                    unprocessed.add(requests.get(i));
+                }
+            } else {
+                availableOnRetry = writer.available();
+            }
+
+            double processed = requests.size() - unprocessed.size();
+
+            return BatchWriteItemResponse.builder()
+                    .unprocessedItems(unprocessed.isEmpty() ? Map.of() : Map.of("pojos", unprocessed))
+                    .consumedCapacity(List.of(ConsumedCapacity.builder()
+                            .tableName("pojos")
+                            .capacityUnits(processed * 2)
+                            .build()))
+                    .build();
+        }
+    }
+
+    static List<Pojo> pojos(int count) {
+        var result = new ArrayList<Pojo>(count);
+
+        for (int i = 0; i < count; i++) {
+            result.add(CachedTableTests.pojo(i).setName("pojo-" + i));
+        }
+
+        return result;
+    }
+
+    @Test
+    void pacedAndRetried() {
+
+        var client = new ThrottlingClient();
+        client.throttledRequests = 2;
+
+        var writer = BulkWriter.builder(client, "pojos", Pojo.class)
+                .writeCapacity(500)
+                .index("by-age", 500, "age")
+                .burst(Duration.ofMillis(100))
+                .build();
+
+        long start = System.nanoTime();
+
+        var result = writer.putAll(pojos(300));
+
+        long elapsed = System.nanoTime() - start;
+
+        Assertions.assertEquals(300, client.items.size());
+        Assertions.assertEquals(300, result.items());
+        Assertions.assertEquals(client.batches.size(), result.requests());
+        Assertions.assertEquals(26, result.retries());
+        Assertions.assertEquals(600, result.consumedCapacity());
+        Assertions.assertTrue(client.batches.stream().allMatch(size -> size <= 25));
+
+        //300 units over a 50 units burst at 500 units per second at most
+        Assertions.assertTrue(elapsed >= Duration.ofMillis(450).toNanos(), "Finished in " + elapsed / 1_000_000 + " ms");
+    }
+
+    @Test
+    void throttlingLowersTheRate() {
+
+        var client = new ThrottlingClient();
+        client.throttledRequests = 3;
+
+        var writer = BulkWriter.builder(client, "pojos", Pojo.class)
+                .writeCapacity(1_000)
+                .build();
+
+        writer.putAll(pojos(75));
+
+        //Halved three times, recovered by 5% of the budget per batch after
+        Assertions.assertTrue(writer.rate() < 1_000, "Rate: " + writer.rate());
+        Assertions.assertEquals(75, client.items.size());
+    }
+
+    @Test
+    void unprocessedItemsGiveTheirUnitsBack() {
+
+        var client = new TotalOnlyClient();
+
+        //40 units, halved to 20 with a refill of 20 units per second once throttled
+        client.writer = BulkWriter.builder(client, "pojos", Pojo.class)
+                .writeCapacity(40)
+                .burst(Duration.ofSeconds(1))
+                .build();
+
+        var result = client.writer.putAll(pojos(25));
+
+        Assertions.assertEquals(2, result.requests());
+        Assertions.assertEquals(5, result.retries());
+
+        //40 - 25 + 5 refunded, capped to 20, then 5 taken by the retry
+        Assertions.assertTrue(client.availableOnRetry >= 15 && client.availableOnRetry < 18, "Available: " + client.availableOnRetry);
+
+        //The total includes an index, the table keeps the estimate of the 5 items
+        Assertions.assertTrue(client.writer.available() >= 15, "Available: " + client.writer.available());
+    }
+
+    @Test
+    void oversizedItemsAreRejected() {
+
+        var client = new ThrottlingClient();
+
+        var writer = BulkWriter.builder(client, "pojos", Pojo.class)
+                .writeCapacity(100)
+                .build();
+
+        var items = pojos(2);
+        items.get(1).setName("x".repeat(410 * 1024));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> writer.putAll(items));
+        Assertions.assertTrue(client.batches.isEmpty());
+
+        Assertions.assertEquals(1, BulkWriter.writeUnits(1));
+        Assertions.assertEquals(1, BulkWriter.writeUnits(1024));
+        Assertions.assertEquals(2, BulkWriter.writeUnits(1025));
+    }
+}
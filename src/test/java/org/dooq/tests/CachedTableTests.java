@@ -0,0 +1,172 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoConverter;
+import org.dooq.converter.cache.CachedTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachedTableTests {
+
+    static class InMemoryClient implements DynamoDbClient {
+
+        final Map<Map<String, AttributeValue>, Map<String, AttributeValue>> items = new ConcurrentHashMap<>();
+        final AtomicInteger gets = new AtomicInteger();
+        volatile CountDownLatch gate;
+        volatile CountDownLatch loaded;
+
+        @Override
+        public GetItemResponse getItem(GetItemRequest request) {
+            gets.incrementAndGet();
+
+            var item = items.get(request.key());
+
+            if (loaded != null) loaded.countDown();
+
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            return GetItemResponse.builder()
+                    .item(item)
+                    .build();
+        }
+
+        @Override
+        public PutItemResponse putItem(PutItemRequest request) {
+            items.put(Map.of("name", request.item().get("name")), request.item());
+            return PutItemResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "dynamodb";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    static Pojo pojo(int age) {
+        return new Pojo()
+                .setAge(age)
+                .setName("Alex")
+                .setFlags(List.of(true))
+                .setHobbies(List.of("football"))
+                .setScores(List.of(1))
+                .setMap(Map.of("key", java.math.BigDecimal.ONE));
+    }
+
+    static final Map<String, AttributeValue> KEY = Map.of("name", AttributeValue.fromS("Alex"));
+
+    @Test
+    void readThroughAndInvalidateOnWrite() {
+
+        var client = new InMemoryClient();
+        client.items.put(KEY, DynamoConverter.getConverter(Pojo.class).write(pojo(33)));
+
+        var table = CachedTable.builder(client, "pojos", Pojo.class)
+                .keyAttributes("name")
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .build();
+
+        Assertions.assertEquals(33, table.get(KEY).getAge());
+        Assertions.assertSame(table.get(KEY), table.get(KEY));
+        Assertions.assertEquals(1, client.gets.get());
+
+        table.put(pojo(34));
+
+        Assertions.assertEquals(34, table.get(KEY).getAge());
+        Assertions.assertEquals(2, client.gets.get());
+
+        Assertions.assertNull(table.get(Map.of("name", AttributeValue.fromS("missing"))));
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+
+        var client = new InMemoryClient();
+        client.items.put(KEY, DynamoConverter.getConverter(Pojo.class).write(pojo(33)));
+        client.gate = new CountDownLatch(1);
+
+        var table = CachedTable.builder(client, "pojos", Pojo.class)
+                .keyAttributes("name")
+                .build();
+
+        var executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Pojo>> results = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> table.get(KEY)));
+            }
+
+            Thread.sleep(100);
+            client.gate.countDown();
+
+            var first = results.get(0).get();
+
+            for (Future<Pojo> result : results) {
+                Assertions.assertSame(first, result.get());
+            }
+
+            Assertions.assertEquals(1, client.gets.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void writeDuringLoadIsNotOverwritten() throws Exception {
+
+        var client = new InMemoryClient();
+        var gate = new CountDownLatch(1);
+
+        client.items.put(KEY, DynamoConverter.getConverter(Pojo.class).write(pojo(33)));
+        client.loaded = new CountDownLatch(1);
+        client.gate = gate;
+
+        var table = CachedTable.builder(client, "pojos", Pojo.class)
+                .keyAttributes("name")
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .build();
+
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            //The load reads the item before the write and publishes after it
+            var load = executor.submit(() -> table.get(KEY));
+
+            Assertions.assertTrue(client.loaded.await(5, TimeUnit.SECONDS));
+
+            client.loaded = null;
+            client.gate = null;
+            table.put(pojo(34));
+            gate.countDown();
+
+            Assertions.assertEquals(33, load.get().getAge());
+            Assertions.assertEquals(34, table.get(KEY).getAge());
+            Assertions.assertEquals(2, client.gets.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
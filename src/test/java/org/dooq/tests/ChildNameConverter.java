@@ -0,0 +1,18 @@
+package org.dooq.tests;
+
+import org.dooq.converter.ObjectParser;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Writes a {@link Child} as its name
+ */
+public abstract class ChildNameConverter<T> extends ObjectParser<T> {
+
+    protected AttributeValue writeChild(Child value) {
+        return value == null ? null : AttributeValue.fromS(value.getName());
+    }
+
+    protected Child parseChild(AttributeValue value) {
+        return value == null || value.s() == null ? null : new Child().setName(value.s());
+    }
+}
@@ -1,13 +1,36 @@
 package org.dooq.tests;
 
+import org.dooq.converter.AttributeSizes;
 import org.dooq.converter.DynamoConverter;
+import org.dooq.converter.KeyShards;
+import org.dooq.converter.KeyTemplate;
+import org.dooq.converter.ObjectParser;
+import org.dooq.converter.collections.LongHashSet;
+import org.dooq.converter.metrics.ConverterMetrics;
+import org.dooq.converter.metrics.ConverterStats;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 public class ConverterTests {
 
@@ -75,5 +98,708 @@ public class ConverterTests {
         Assertions.assertEquals(result.getName(), "custom");
     }
 
+    @Test
+    void precompileNestedTypes() {
+
+        var timings = DynamoConverter.precompile(Parent.class);
+
+        Assertions.assertTrue(timings.containsKey(Parent.class));
+        Assertions.assertTrue(timings.containsKey(Child.class));
+
+        //Mapped by a codec of the converter, not a nested entity
+        var custom = DynamoConverter.precompile(List.of(Parent.class), ChildNameConverter.class, ForkJoinPool.commonPool());
+
+        Assertions.assertEquals(Set.of(Parent.class), custom.keySet());
+
+        var parent = new Parent()
+                .setName("Alex")
+                .setChild(new Child().setName("Ana").setAge(3))
+                .setChildren(List.of(new Child().setName("Leo").setAge(5)));
+
+        var converter = DynamoConverter.getConverter(Parent.class);
+        var result = converter.read(converter.write(parent));
+
+        Assertions.assertEquals("Ana", result.getChild().getName());
+        Assertions.assertEquals(5, result.getChildren().get(0).getAge());
+    }
+
+    @Test
+    void metricsListener() {
+
+        var stats = new ConverterStats();
+        var converter = DynamoConverter.getConverter(RecordExample.class);
+
+        ConverterMetrics.setListener(stats);
+
+        try {
+            var map = converter.write(new RecordExample("Alex", 33, true, BigDecimal.TEN));
+            converter.read(map);
+            converter.read(map);
+        } finally {
+            ConverterMetrics.setListener(null);
+        }
+
+        var recordStats = stats.get(RecordExample.class);
+
+        Assertions.assertNotNull(recordStats);
+        Assertions.assertEquals(1, recordStats.writes());
+        Assertions.assertEquals(2, recordStats.reads());
+        Assertions.assertEquals(8, recordStats.readAttributes());
+        Assertions.assertTrue(recordStats.writeBytes() > 0);
+        Assertions.assertEquals(2 * recordStats.writeBytes(), recordStats.readBytes());
+    }
+
+    @Test
+    void jfrEvents() throws Exception {
+
+        var compiled = record(() -> {
+            var converter = DynamoConverter.getConverter(SlowItem.class);
+
+            converter.read(converter.write(new SlowItem("warm-up", 0)));
+        });
+
+        var event = compiled.stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("org.dooq.ConverterCompiled"))
+                .filter(recorded -> recorded.getClass("type").getName().equals(SlowItem.class.getName()))
+                .findFirst()
+                .orElseThrow();
+
+        Assertions.assertEquals(ObjectParser.class.getName(), event.getClass("parserClass").getName());
+        Assertions.assertTrue(event.getInt("bytecodeSize") > 0);
+        Assertions.assertFalse(event.getBoolean("cached"));
+        Assertions.assertTrue(event.getDuration("generationTime").toNanos() > 0);
+
+        var converter = DynamoConverter.getConverter(SlowItem.class);
+        var fast = converter.write(new SlowItem("fast", 0));
+        var slow = converter.write(new SlowItem("slow", 20));
+
+        var conversions = record(() -> {
+            for (int i = 0; i < 10; i++) {
+                converter.read(fast);
+            }
+
+            converter.read(slow);
+        });
+
+        var slowConversions = conversions.stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("org.dooq.SlowConversion"))
+                .toList();
+
+        //A pause can make a fast read slow too, but nothing under the 1 ms threshold is reported
+        Assertions.assertTrue(slowConversions.stream()
+                .allMatch(recorded -> recorded.getDuration("conversionTime").toNanos() >= 1_000_000), slowConversions.toString());
+
+        var slowReads = slowConversions.stream()
+                .filter(recorded -> recorded.getDuration("conversionTime").toMillis() >= 20)
+                .toList();
+
+        Assertions.assertEquals(1, slowReads.size(), slowConversions.toString());
+
+        event = slowReads.get(0);
+
+        Assertions.assertEquals(SlowItem.class.getName(), event.getClass("type").getName());
+        Assertions.assertEquals("read", event.getString("direction"));
+        Assertions.assertEquals(2, event.getInt("attributeCount"));
+        Assertions.assertEquals(0, event.getInt("nestingDepth"));
+    }
+
+    private static List<RecordedEvent> record(Runnable action) throws IOException {
+
+        var file = Files.createTempFile("converters", ".jfr");
+
+        try (var recording = new Recording()) {
+            recording.enable("org.dooq.ConverterCompiled");
+            recording.enable("org.dooq.SlowConversion");
+            recording.start();
+
+            action.run();
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void immutableEntities() {
+
+        var item = new ImmutableItem("Alex", 33, List.of("a", "b"), new Child().setName("Ana").setAge(5));
+        var converter = DynamoConverter.getConverter(ImmutableItem.class);
+
+        var result = converter.read(converter.write(item));
+
+        Assertions.assertEquals("Alex", result.getName());
+        Assertions.assertEquals(33, result.getAge());
+        Assertions.assertEquals(List.of("a", "b"), result.getTags());
+        Assertions.assertEquals("Ana", result.getChild().getName());
+
+        var built = BuiltItem.builder()
+                .name("Alex")
+                .active(true)
+                .child(new Child().setName("Ana"))
+                .build();
+
+        var builtConverter = DynamoConverter.getConverter(BuiltItem.class);
+        var builtResult = builtConverter.read(builtConverter.write(built));
+
+        Assertions.assertEquals("Alex", builtResult.name());
+        Assertions.assertTrue(builtResult.active());
+        Assertions.assertEquals("Ana", builtResult.child().getName());
+    }
+
+    @Test
+    void directFieldAccess() {
+
+        var entity = new FieldEntity("42", "Alex", List.of("a"), new Child().setName("Ana"));
+        var converter = DynamoConverter.getConverter(FieldEntity.class);
+
+        var map = converter.write(entity);
+
+        Assertions.assertEquals(Set.of("id", "version", "name", "tags", "child"), map.keySet());
+
+        var result = converter.read(map);
+
+        Assertions.assertEquals("42", result.getId());
+        Assertions.assertEquals(2, result.getVersion());
+        Assertions.assertEquals("Alex", result.name());
+        Assertions.assertEquals(List.of("a"), result.tags());
+        Assertions.assertEquals("Ana", result.child().getName());
+        Assertions.assertNull(result.cached());
+    }
+
+    @Test
+    void binaryAttributes() {
+
+        var payload = new byte[]{1, 2, 3};
+        var item = new BinaryItem("1", payload, ByteBuffer.wrap(new byte[]{4, 5}), SdkBytes.fromUtf8String("raw"));
+        var converter = DynamoConverter.getConverter(BinaryItem.class);
+
+        var map = converter.write(item);
+
+        Assertions.assertSame(payload, map.get("payload").b().asByteArrayUnsafe());
+
+        var result = converter.read(map);
+
+        Assertions.assertSame(payload, result.payload());
+        Assertions.assertFalse(result.hash().isReadOnly());
+        Assertions.assertEquals(ByteBuffer.wrap(new byte[]{4, 5}), result.hash());
+        Assertions.assertEquals("raw", result.raw().asUtf8String());
+    }
+
+    @Test
+    void numberAndBinarySets() {
+
+        var permissions = new LongHashSet();
+
+        for (long i = 0; i < 1_000; i++) {
+            permissions.add(i * 31);
+        }
+
+        permissions.remove(31);
+
+        var sets = new TagSets(Set.of(1L, 2L), Set.of(BigDecimal.ONE), Set.of(SdkBytes.fromUtf8String("a")), permissions);
+        var converter = DynamoConverter.getConverter(TagSets.class);
+
+        var map = converter.write(sets);
+
+        Assertions.assertEquals(2, map.get("ids").ns().size());
+        Assertions.assertEquals(List.of("1"), map.get("amounts").ns());
+        Assertions.assertEquals(1, map.get("hashes").bs().size());
+        Assertions.assertEquals(999, map.get("permissions").ns().size());
+
+        var result = converter.read(map);
+
+        Assertions.assertEquals(Set.of(1L, 2L), result.ids());
+        Assertions.assertEquals(Set.of(BigDecimal.ONE), result.amounts());
+        Assertions.assertEquals(sets.hashes(), result.hashes());
+        Assertions.assertEquals(permissions, result.permissions());
+        Assertions.assertTrue(result.permissions().contains(0));
+        Assertions.assertFalse(result.permissions().contains(31));
+
+        //Written as SS by previous versions
+        var legacy = converter.read(Map.of("amounts", AttributeValue.fromSs(List.of("2.5"))));
+
+        Assertions.assertEquals(Set.of(new BigDecimal("2.5")), legacy.amounts());
+    }
+
+    @Test
+    void primitiveArrays() {
+
+        var samples = new Samples(new int[]{3, 1, 3}, new long[]{1_700_000_000_000L}, new double[]{0.5, -2.25},
+                new float[]{1.5f}, new short[]{7, 7});
+        var converter = DynamoConverter.getConverter(Samples.class);
+
+        var map = converter.write(samples);
+
+        Assertions.assertEquals(3, map.get("counts").l().size());
+
+        var result = converter.read(map);
+
+        Assertions.assertArrayEquals(samples.counts(), result.counts());
+        Assertions.assertArrayEquals(samples.timestamps(), result.timestamps());
+        Assertions.assertArrayEquals(samples.values(), result.values());
+        Assertions.assertArrayEquals(samples.ratios(), result.ratios());
+        Assertions.assertArrayEquals(samples.levels(), result.levels());
+
+        var fromSet = converter.read(Map.of("timestamps", AttributeValue.fromNs(List.of("1", "2"))));
+
+        Assertions.assertArrayEquals(new long[]{1, 2}, fromSet.timestamps());
+    }
+
+    @Test
+    void scalarCoverage() {
+
+        var scalars = new Scalars(1_000_000, (short) 300, (short) -300, (byte) 7, (byte) -7, 0.25, 1e-3,
+                'A', 'z', List.of(5_000_000_000L), Map.of("w", 2.5));
+        var converter = DynamoConverter.getConverter(Scalars.class);
+
+        var map = converter.write(scalars);
+
+        Assertions.assertEquals("0.25", map.get("ratio").n());
+        Assertions.assertEquals("A", map.get("grade").s());
+        Assertions.assertEquals(scalars, converter.read(map));
+    }
+
+    @Test
+    void javaTime() {
+
+        var instant = Instant.parse("2024-05-01T13:45:30.123Z");
+        var timestamps = new Timestamps(instant, instant.plusSeconds(3600).truncatedTo(ChronoUnit.SECONDS),
+                OffsetDateTime.ofInstant(instant, ZoneOffset.UTC), ZonedDateTime.of(2024, 5, 1, 9, 0, 0, 0, ZoneId.of("Europe/Paris")),
+                Duration.ofMinutes(90), Duration.ofMillis(1_500), LocalDateTime.of(2024, 5, 1, 13, 45, 30),
+                LocalTime.of(8, 30), Year.of(2024), YearMonth.of(2024, 5), List.of(instant));
+        var converter = DynamoConverter.getConverter(Timestamps.class);
+
+        var map = converter.write(timestamps);
+
+        Assertions.assertEquals("2024-05-01T13:45:30.123Z", map.get("created").s());
+        Assertions.assertEquals(String.valueOf(instant.getEpochSecond() + 3600), map.get("expiresAt").n());
+        Assertions.assertEquals(String.valueOf(instant.toEpochMilli()), map.get("updated").n());
+        Assertions.assertEquals("1500", map.get("delay").n());
+        Assertions.assertEquals("2024", map.get("year").n());
+
+        Assertions.assertEquals(timestamps, converter.read(map));
+    }
+
+    @Test
+    void isoDates() {
+
+        var converter = DynamoConverter.getConverter(IsoTimes.class);
+
+        var values = List.of(
+                new IsoTimes(LocalDate.of(2024, 2, 29), LocalDateTime.of(2024, 5, 1, 13, 45),
+                        LocalTime.of(0, 0), Instant.parse("2024-05-01T00:00:00Z")),
+                new IsoTimes(LocalDate.of(1, 1, 1), LocalDateTime.of(1999, 12, 31, 23, 59, 0, 120_000_000),
+                        LocalTime.of(8, 30, 0, 1_000), Instant.ofEpochSecond(-1, 1)),
+                new IsoTimes(LocalDate.of(10_000, 1, 1), LocalDateTime.of(-5, 1, 1, 0, 0, 1),
+                        LocalTime.MAX, Instant.ofEpochSecond(253402300800L, 999_999_000)));
+
+        for (var value : values) {
+            var map = converter.write(value);
+
+            Assertions.assertEquals(value.day().toString(), map.get("day").s());
+            Assertions.assertEquals(value.at().toString(), map.get("at").s());
+            Assertions.assertEquals(value.time().toString(), map.get("time").s());
+            Assertions.assertEquals(value.instant().toString(), map.get("instant").s());
+
+            Assertions.assertEquals(value, converter.read(map));
+        }
+
+        //Layouts only the JDK parser understands
+        var read = converter.read(Map.of(
+                "day", AttributeValue.fromS("+10000-01-01"),
+                "at", AttributeValue.fromS("2024-05-01t13:45:30.5"),
+                "time", AttributeValue.fromS("08:30:15.25"),
+                "instant", AttributeValue.fromS("2024-05-01T15:45:30+02:00")));
+
+        Assertions.assertEquals(new IsoTimes(LocalDate.of(10_000, 1, 1), LocalDateTime.of(2024, 5, 1, 13, 45, 30, 500_000_000),
+                LocalTime.of(8, 30, 15, 250_000_000), Instant.parse("2024-05-01T13:45:30Z")), read);
+
+        Assertions.assertThrows(DateTimeException.class, () -> converter.read(Map.of("day", AttributeValue.fromS("2023-02-29"))));
+    }
+
+    @Test
+    void isoZonedDates() {
+
+        var converter = DynamoConverter.getConverter(ZonedTimes.class);
+
+        var values = List.of(
+                new ZonedTimes(OffsetDateTime.of(2024, 5, 1, 13, 45, 0, 0, ZoneOffset.UTC),
+                        ZonedDateTime.of(2024, 5, 1, 9, 0, 0, 0, ZoneId.of("Europe/Paris")),
+                        Duration.ofMinutes(90), YearMonth.of(2024, 5)),
+                new ZonedTimes(OffsetDateTime.of(1999, 12, 31, 23, 59, 59, 120_000_000, ZoneOffset.ofHoursMinutes(-5, -30)),
+                        ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 1_000, ZoneOffset.ofHours(2)),
+                        Duration.ofSeconds(3723, 450_000_000), YearMonth.of(1, 12)),
+                new ZonedTimes(OffsetDateTime.of(10_000, 1, 1, 0, 0, 1, 0, ZoneOffset.ofHoursMinutesSeconds(1, 0, 30)),
+                        ZonedDateTime.of(2024, 3, 31, 2, 30, 0, 0, ZoneId.of("UTC")),
+                        Duration.ofSeconds(-1, 1), YearMonth.of(-5, 1)),
+                new ZonedTimes(OffsetDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneOffset.ofHours(14)),
+                        ZonedDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+                        Duration.ZERO, YearMonth.of(9999, 1)),
+                new ZonedTimes(OffsetDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneOffset.ofHours(-18)),
+                        ZonedDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneId.of("America/New_York")),
+                        Duration.ofDays(3).plusNanos(7), YearMonth.of(2024, 12)));
 
+        for (var value : values) {
+            var map = converter.write(value);
+
+            Assertions.assertEquals(value.offset().toString(), map.get("offset").s());
+            Assertions.assertEquals(value.zoned().toString(), map.get("zoned").s());
+            Assertions.assertEquals(value.duration().toString(), map.get("duration").s());
+            Assertions.assertEquals(value.period().toString(), map.get("period").s());
+
+            Assertions.assertEquals(value, converter.read(map));
+        }
+
+        //The offset wins over the local time when it doesn't match the zone, like the JDK
+        Assertions.assertEquals(ZonedDateTime.parse("2024-05-01T09:00+05:00[Europe/Paris]"),
+                converter.read(Map.of("zoned", AttributeValue.fromS("2024-05-01T09:00+05:00[Europe/Paris]"))).zoned());
+
+        //Layouts only the JDK parser understands
+        var read = converter.read(Map.of(
+                "offset", AttributeValue.fromS("2024-05-01T13:45+01:00:30"),
+                "zoned", AttributeValue.fromS("2024-05-01t13:45Z[UTC]"),
+                "duration", AttributeValue.fromS("P1DT-2H"),
+                "period", AttributeValue.fromS("+10000-01")));
+
+        Assertions.assertEquals(new ZonedTimes(OffsetDateTime.parse("2024-05-01T13:45+01:00:30"),
+                ZonedDateTime.parse("2024-05-01T13:45Z[UTC]"), Duration.ofHours(22), YearMonth.of(10_000, 1)), read);
+
+        Assertions.assertEquals(Year.of(2024), DynamoConverter.getConverter(Timestamps.class)
+                .read(Map.of("year", AttributeValue.fromS("2024"))).year());
+
+        Assertions.assertThrows(DateTimeException.class, () -> converter.read(Map.of("offset", AttributeValue.fromS("2024-05-01T13:45+19:00"))));
+        Assertions.assertThrows(DateTimeException.class, () -> converter.read(Map.of("duration", AttributeValue.fromS("PT1X"))));
+    }
+
+    @Test
+    void uuidCodec() {
+
+        var item = new UuidItem(UUID.fromString("0189f7a2-3c4d-7e8f-9a0b-1c2d3e4f5a6b"),
+                new UUID(-1, 0x0123456789abcdefL), List.of(new UUID(0, 0), UUID.randomUUID()));
+        var converter = DynamoConverter.getConverter(UuidItem.class);
+
+        var map = converter.write(item);
+
+        Assertions.assertEquals(item.id().toString(), map.get("id").s());
+        Assertions.assertEquals(item.references().get(1).toString(), map.get("references").l().get(1).s());
+        Assertions.assertArrayEquals(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, 1, 35, 69, 103, -119, -85, -51, -17},
+                map.get("owner").b().asByteArray());
+
+        Assertions.assertEquals(item, converter.read(map));
+
+        //Both forms are read whatever the annotation, non canonical strings fall back to the JDK
+        var read = converter.read(Map.of(
+                "id", AttributeValue.fromB(SdkBytes.fromByteArray(new byte[16])),
+                "owner", AttributeValue.fromS("0189F7A2-3C4D-7E8F-9A0B-1C2D3E4F5A6B"),
+                "references", AttributeValue.fromL(List.of(AttributeValue.fromS("1-2-3-4-5")))));
+
+        Assertions.assertEquals(new UUID(0, 0), read.id());
+        Assertions.assertEquals(item.id(), read.owner());
+        Assertions.assertEquals(List.of(UUID.fromString("1-2-3-4-5")), read.references());
+    }
+
+    @Test
+    void compressedAttributes() {
+
+        var body = "The quick brown fox jumps over the lazy dog. ".repeat(100);
+        var metadata = new HashMap<String, String>();
+
+        for (int i = 0; i < 100; i++) {
+            metadata.put("key-" + i, "value of the metadata entry " + i);
+        }
+
+        var revisions = new ArrayList<Child>();
+
+        for (int i = 0; i < 20; i++) {
+            revisions.add(new Child().setName("revision").setAge(i));
+        }
+
+        //Small binary values are stored as they are, even when they start like a compressed value
+        var thumbnail = new byte[]{(byte) 0xDC, 'Z', 1, 5, 6};
+        var article = new Article("a-1", body, "short", metadata, revisions, thumbnail);
+        var converter = DynamoConverter.getConverter(Article.class);
+
+        var map = converter.write(article);
+
+        Assertions.assertNotNull(map.get("body").b());
+        Assertions.assertTrue(map.get("body").b().asByteArray().length < body.length() / 5);
+        Assertions.assertNotNull(map.get("metadata").b());
+        Assertions.assertNotNull(map.get("revisions").b());
+        Assertions.assertEquals("short", map.get("summary").s());
+
+        var read = converter.read(map);
+
+        Assertions.assertEquals(body, read.body());
+        Assertions.assertEquals("short", read.summary());
+        Assertions.assertEquals(metadata, read.metadata());
+        Assertions.assertEquals(20, read.revisions().size());
+        Assertions.assertEquals(19, read.revisions().get(19).getAge());
+        Assertions.assertArrayEquals(thumbnail, read.thumbnail());
+
+        //Values written before the annotation was added are read as they are
+        var legacy = converter.read(Map.of("body", AttributeValue.fromS("plain text")));
+
+        Assertions.assertEquals("plain text", legacy.body());
+    }
+
+    @Test
+    void estimateSize() {
+
+        var owner = new Pojo()
+                .setAge(33)
+                .setName("Alex")
+                .setHobbies(List.of("football"));
+
+        var items = List.of(
+                new SizedItem("item-1", "T\u00EDtulo \u00F1 \u2713 \uD83D\uDE00", 120, 1_000_000L, Long.MIN_VALUE, (short) -5, null,
+                        true, null, 0.125, List.of("a", "bc"), Map.of("x", 1), owner),
+                new SizedItem("item-2", null, 0, null, Long.MAX_VALUE, (short) 0, 7, false, false, -3.5e10,
+                        List.of(), Map.of(), null));
+
+        var converter = DynamoConverter.getConverter(SizedItem.class);
+
+        for (var item : items) {
+            Assertions.assertEquals(AttributeSizes.of(converter.write(item)), converter.estimateSize(item));
+        }
+
+        var compressed = DynamoConverter.getConverter(Article.class);
+        var article = new Article("a-1", "text ".repeat(500), "short", Map.of(), List.of(), new byte[16]);
+
+        Assertions.assertEquals(AttributeSizes.of(compressed.write(article)), compressed.estimateSize(article));
+
+        //Strings are written by the custom codec
+        var custom = DynamoConverter.getConverter(Pojo.class, CustomObjectConverter.class);
+
+        Assertions.assertEquals(AttributeSizes.of(custom.write(owner)), custom.estimateSize(owner));
+    }
+
+    @Test
+    void polymorphicConverters() {
+
+        var order = new Entity.Order("o-1", "c-1", 25.5);
+        var customer = new Entity.Customer("c-1", "Alex");
+
+        //Subtypes write their discriminator with their own converters too
+        var written = DynamoConverter.getConverter(Entity.Order.class).write(order);
+
+        Assertions.assertEquals("ORDER", written.get("kind").s());
+
+        var converter = DynamoConverter.getConverter(Entity.class);
+
+        Assertions.assertEquals(order, converter.read(written));
+        Assertions.assertEquals(customer, converter.read(converter.write(customer)));
+        Assertions.assertEquals("CUSTOMER", converter.write(customer).get("kind").s());
+
+        var ledger = new Ledger("l-1", customer, List.of(order, customer));
+        var ledgers = DynamoConverter.getConverter(Ledger.class);
+
+        Assertions.assertEquals(ledger, ledgers.read(ledgers.write(ledger)));
+
+        for (var value : List.<Entity>of(order, customer)) {
+            Assertions.assertEquals(AttributeSizes.of(converter.write(value)), converter.estimateSize(value));
+        }
+
+        Assertions.assertEquals(AttributeSizes.of(ledgers.write(ledger)), ledgers.estimateSize(ledger));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> converter.read(Map.of("kind", AttributeValue.fromS("INVOICE"))));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> converter.read(Map.of("id", AttributeValue.fromS("o-1"))));
+    }
+
+    @Test
+    void keyConverters() {
+
+        var shipment = new Shipment("c-1", 42L, "ups", 1200);
+        var converter = DynamoConverter.getConverter(Shipment.class);
+
+        var key = converter.writeKey(shipment);
+
+        Assertions.assertEquals(Map.of("customer", AttributeValue.fromS("c-1"), "sequence", AttributeValue.fromN("42")), key);
+        Assertions.assertEquals(key, converter.key("c-1", 42L));
+
+        var cursor = new HashMap<>(key);
+        cursor.put("gsi1pk", AttributeValue.fromS("ups"));
+
+        Assertions.assertEquals(new Shipment("c-1", 42L, null, 0), converter.readKey(cursor));
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> converter.key("c-1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> converter.readKey(Map.of("customer", AttributeValue.fromS("c-1"))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> converter.writeKey(new Shipment(null, 1L, "ups", 1)));
+
+        //Key fields are written with the variant of the field
+        var id = UUID.randomUUID();
+        var devices = DynamoConverter.getConverter(Device.class);
+        var deviceKey = devices.writeKey(new Device().setId(id).setName("sensor"));
+
+        Assertions.assertEquals(1, deviceKey.size());
+        Assertions.assertEquals(16, deviceKey.get("id").b().asByteArray().length);
+        Assertions.assertEquals(deviceKey, devices.key(id));
+        Assertions.assertEquals(id, devices.readKey(deviceKey).getId());
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> DynamoConverter.getConverter(Pojo.class).writeKey(new Pojo()));
+    }
+
+    @Test
+    void keyTemplates() {
+
+        var id = UUID.fromString("0189f7a2-3c4d-7e8f-9a0b-1c2d3e4f5a6b");
+        var line = new OrderLine("c-1", LocalDate.of(2024, 5, 1), 3, id, 1200L);
+        var converter = DynamoConverter.getConverter(OrderLine.class);
+
+        var item = converter.write(line);
+
+        Assertions.assertEquals("CUSTOMER#c-1", item.get("pk").s());
+        Assertions.assertEquals("ORDER#2024-05-01#3#" + id, item.get("sk").s());
+        Assertions.assertEquals(line, converter.read(item));
+        Assertions.assertEquals(AttributeSizes.of(item), converter.estimateSize(line));
+
+        //Components missing from the item are read from the composite attributes
+        var keys = Map.of("pk", item.get("pk"), "sk", item.get("sk"));
+
+        Assertions.assertEquals(new OrderLine("c-1", LocalDate.of(2024, 5, 1), 3, id, 0L), converter.read(keys));
+
+        var template = KeyTemplate.of(OrderLine.class, "sk");
+
+        Assertions.assertEquals("ORDER#", template.prefix());
+        Assertions.assertEquals("ORDER#2024-05-01#", template.prefix(LocalDate.of(2024, 5, 1)));
+        Assertions.assertEquals(item.get("sk").s(), template.format(LocalDate.of(2024, 5, 1), 3, id));
+        Assertions.assertArrayEquals(new String[]{"2024-05-01", "3", id.toString()}, template.split(item.get("sk").s()));
+        Assertions.assertNull(template.split("INVOICE#2024-05-01#3#x"));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> converter.read(Map.of("sk", AttributeValue.fromS("ORDER#2024-05-01"))));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> converter.write(new OrderLine(null, LocalDate.of(2024, 5, 1), 3, id, 0L)));
+        //Components are the text written by the custom codec, like the attribute of the field
+        var custom = DynamoConverter.getConverter(OrderLine.class, CustomObjectConverter.class).write(line);
+
+        Assertions.assertEquals("custom", custom.get("customer").s());
+        Assertions.assertEquals("CUSTOMER#custom", custom.get("pk").s());
+
+        var meters = DynamoConverter.getConverter(Meter.class, CustomObjectConverter.class);
+        var meter = new Meter("site-1", 7, "d-1");
+
+        Assertions.assertEquals("custom#" + KeyShards.shard("custom", 4), meters.write(meter).get("site").s());
+        Assertions.assertEquals(meters.write(meter).get("site"), meters.writeKey(meter).get("site"));
+    }
+
+    @Test
+    void schemaEvolution() {
+
+        var converter = DynamoConverter.getConverter(Profile.class);
+        var profile = new Profile("p-1", "Ada Lovelace", "ada", "admin");
+
+        var item = converter.write(profile);
+
+        Assertions.assertEquals("2", item.get("_v").n());
+        Assertions.assertFalse(item.containsKey("full_name"));
+        Assertions.assertEquals(profile, converter.read(item));
+        Assertions.assertEquals(AttributeSizes.of(item), converter.estimateSize(profile));
+
+        //Items written before the renames
+        var legacy = Map.of(
+                "id", AttributeValue.fromS("p-1"),
+                "full_name", AttributeValue.fromS("Ada Lovelace"),
+                "name", AttributeValue.fromS("ada"));
+
+        Assertions.assertEquals(new Profile("p-1", "Ada Lovelace", "ada", "ada"), converter.read(legacy));
+
+        var versionOne = Map.of(
+                "_v", AttributeValue.fromN("1"),
+                "fullName", AttributeValue.fromS("Ada"),
+                "name", AttributeValue.fromS("ada"));
+
+        Assertions.assertEquals(new Profile(null, "Ada", "ada", "ada"), converter.read(versionOne));
+
+        //The current name wins over the aliases, and version 2 no longer reads "name" as the nickname
+        var current = Map.of(
+                "_v", AttributeValue.fromN("2"),
+                "displayName", AttributeValue.fromS("Ada L."),
+                "full_name", AttributeValue.fromS("Ada Lovelace"),
+                "name", AttributeValue.fromS("admin"));
+
+        Assertions.assertEquals(new Profile(null, "Ada L.", null, "admin"), converter.read(current));
+    }
+
+    @Test
+    void attributeNames() {
+
+        var converter = DynamoConverter.getConverter(Event.class);
+        var event = new Event("d-1", 1_700_000_000_000L, 1_700_000_000_500L, "REBOOT", 3, true,
+                new Event.Origin("edge-7", "eu-west-1"));
+
+        var item = converter.write(event);
+
+        Assertions.assertEquals(Set.of("pk", "ts", "et", "et2", "ec", "a", "o"), item.keySet());
+        Assertions.assertEquals("REBOOT", item.get("et2").s());
+        Assertions.assertEquals(Set.of("h", "r"), item.get("o").m().keySet());
+        Assertions.assertEquals(event, converter.read(item));
+        Assertions.assertEquals(AttributeSizes.of(item), converter.estimateSize(event));
+
+        Assertions.assertEquals(Map.of("pk", AttributeValue.fromS("d-1"), "ts", AttributeValue.fromN("1700000000000")),
+                converter.writeKey(event));
+        Assertions.assertEquals("et2", DynamoConverter.attributeName(Event.class, "eventType"));
+        Assertions.assertEquals(Map.of("host", "h", "region", "r"), DynamoConverter.attributeNames(Event.Origin.class));
+
+        //Projected reads only hold the requested attributes
+        var projected = converter.read(Map.of("pk", item.get("pk"), "ec", item.get("ec")));
+
+        Assertions.assertEquals(new Event("d-1", 0, 0, null, 3, false, null), projected);
+
+        //Stored names are kept when a field is added, the new field must be added to the dictionary first
+        var exception = Assertions.assertThrows(IllegalStateException.class, () -> DynamoConverter.getConverter(TaggedEvent.class));
+
+        Assertions.assertTrue(exception.getMessage().contains("eventTag=et3"), exception.getMessage());
+
+        var dictionary = DynamoConverter.attributeDictionary(TaggedEvent.class);
+
+        Assertions.assertEquals("et3", dictionary.get("eventTag"));
+        Assertions.assertEquals(DynamoConverter.attributeDictionary(Event.class),
+                dictionary.entrySet().stream()
+                        .filter(entry -> !entry.getKey().equals("eventTag"))
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
+    @Test
+    void sparseItems() {
+
+        var converter = DynamoConverter.getConverter(Counters.class);
+        var defaults = new Counters("c-1", 0, 0, 0L, 0.0, false, 0, "", List.of(), Set.of(), Map.of());
+
+        var item = converter.write(defaults);
+
+        //Keys are always written, boxed zeros are not defaults
+        Assertions.assertEquals(Set.of("id", "day", "limit"), item.keySet());
+        Assertions.assertEquals(AttributeSizes.of(item), converter.estimateSize(defaults));
+        Assertions.assertEquals(defaults, converter.read(item));
+
+        //Null strings and collections are read back as empty
+        Assertions.assertEquals(defaults, converter.read(converter.write(
+                new Counters("c-1", 0, 0, 0L, 0.0, false, 0, null, null, null, null))));
+
+        var counters = new Counters("c-1", 7, 3, 12L, 0.25, true, null, "hot", List.of(9, 10), Set.of("a"), Map.of("x", 1));
+
+        item = converter.write(counters);
+
+        Assertions.assertEquals(10, item.size());
+        Assertions.assertEquals(counters, converter.read(item));
+        Assertions.assertEquals(AttributeSizes.of(item), converter.estimateSize(counters));
+
+        //Values of custom codecs are written as they are
+        var blank = DynamoConverter.getConverter(Counters.class, BlankStringConverter.class).write(counters);
+
+        Assertions.assertEquals("", blank.get("note").s());
+
+        //Without sparse mode empty lists are written like empty maps and string lists
+        var pojo = new Pojo().setName("Alex").setScores(List.of());
+        var pojoItem = DynamoConverter.getConverter(Pojo.class).write(pojo);
+
+        Assertions.assertTrue(pojoItem.get("scores").l().isEmpty());
+        Assertions.assertEquals(List.of(), DynamoConverter.getConverter(Pojo.class).read(pojoItem).getScores());
+    }
 }
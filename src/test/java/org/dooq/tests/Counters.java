@@ -0,0 +1,23 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoSparse;
+import org.dooq.converter.PartitionKey;
+import org.dooq.converter.SortKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@DynamoSparse
+public record Counters(@PartitionKey String id,
+                       @SortKey int day,
+                       int views,
+                       long clicks,
+                       double ratio,
+                       boolean flagged,
+                       Integer limit,
+                       String note,
+                       List<Integer> hours,
+                       Set<String> tags,
+                       Map<String, Integer> totals) {
+}
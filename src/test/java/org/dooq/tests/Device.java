@@ -0,0 +1,32 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoBinary;
+import org.dooq.converter.PartitionKey;
+
+import java.util.UUID;
+
+public class Device {
+
+    @PartitionKey
+    @DynamoBinary
+    private UUID id;
+    private String name;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Device setId(UUID id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Device setName(String name) {
+        this.name = name;
+        return this;
+    }
+}
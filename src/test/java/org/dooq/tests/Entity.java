@@ -0,0 +1,18 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoSubtypes;
+
+@DynamoSubtypes(attribute = "kind", value = {
+        @DynamoSubtypes.Subtype(name = "ORDER", type = Entity.Order.class),
+        @DynamoSubtypes.Subtype(name = "CUSTOMER", type = Entity.Customer.class)
+})
+public sealed interface Entity {
+
+    String id();
+
+    record Order(String id, String customer, double total) implements Entity {
+    }
+
+    record Customer(String id, String name) implements Entity {
+    }
+}
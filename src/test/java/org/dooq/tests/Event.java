@@ -0,0 +1,22 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoAbbreviate;
+import org.dooq.converter.DynamoAttribute;
+import org.dooq.converter.PartitionKey;
+import org.dooq.converter.SortKey;
+
+/**
+ * "timestamp" comes from the dictionary, "eventTime" and "eventType" are both abbreviated to "et"
+ */
+@DynamoAbbreviate(dictionary = "event-names.properties")
+public record Event(@PartitionKey @DynamoAttribute("pk") String deviceId,
+                    @SortKey long timestamp,
+                    long eventTime,
+                    String eventType,
+                    int errorCount,
+                    boolean acknowledged,
+                    Origin origin) {
+
+    public record Origin(@DynamoAttribute("h") String host, @DynamoAttribute("r") String region) {
+    }
+}
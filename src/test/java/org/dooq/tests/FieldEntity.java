@@ -0,0 +1,40 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoFieldAccess;
+
+import java.util.List;
+
+@DynamoFieldAccess
+public class FieldEntity extends BaseEntity {
+    private String name;
+    private List<String> tags;
+    private Child child;
+    private transient String cached;
+
+    private FieldEntity() {
+    }
+
+    public FieldEntity(String id, String name, List<String> tags, Child child) {
+        init(id, 2);
+        this.name = name;
+        this.tags = tags;
+        this.child = child;
+        this.cached = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<String> tags() {
+        return tags;
+    }
+
+    public Child child() {
+        return child;
+    }
+
+    public String cached() {
+        return cached;
+    }
+}
@@ -0,0 +1,35 @@
+package org.dooq.tests;
+
+import java.beans.ConstructorProperties;
+import java.util.List;
+
+public final class ImmutableItem {
+    private final String name;
+    private final int age;
+    private final List<String> tags;
+    private final Child child;
+
+    @ConstructorProperties({"name", "age", "tags", "child"})
+    public ImmutableItem(String name, int age, List<String> tags, Child child) {
+        this.name = name;
+        this.age = age;
+        this.tags = tags;
+        this.child = child;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public Child getChild() {
+        return child;
+    }
+}
@@ -0,0 +1,9 @@
+package org.dooq.tests;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public record IsoTimes(LocalDate day, LocalDateTime at, LocalTime time, Instant instant) {
+}
@@ -0,0 +1,6 @@
+package org.dooq.tests;
+
+import java.util.List;
+
+public record Ledger(String id, Entity owner, List<Entity> entries) {
+}
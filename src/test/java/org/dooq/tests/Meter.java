@@ -0,0 +1,10 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoSharded;
+import org.dooq.converter.PartitionKey;
+import org.dooq.converter.SortKey;
+
+public record Meter(@PartitionKey @DynamoSharded(shards = 4, by = "device") String site,
+                    @SortKey long time,
+                    String device) {
+}
@@ -0,0 +1,11 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoKeyTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@DynamoKeyTemplate(attribute = "pk", value = "CUSTOMER#{customer}")
+@DynamoKeyTemplate(attribute = "sk", value = "ORDER#{created}#{line}#{id}")
+public record OrderLine(String customer, LocalDate created, int line, UUID id, long total) {
+}
@@ -0,0 +1,36 @@
+package org.dooq.tests;
+
+import java.util.List;
+
+public class Parent {
+    private String name;
+    private Child child;
+    private List<Child> children;
+
+    public String getName() {
+        return name;
+    }
+
+    public Child getChild() {
+        return child;
+    }
+
+    public List<Child> getChildren() {
+        return children;
+    }
+
+    public Parent setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Parent setChild(Child child) {
+        this.child = child;
+        return this;
+    }
+
+    public Parent setChildren(List<Child> children) {
+        this.children = children;
+        return this;
+    }
+}
@@ -0,0 +1,14 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoAlias;
+import org.dooq.converter.DynamoSchema;
+
+/**
+ * Version 1 stored the nickname as "name", version 2 reuses "name" for the account name
+ */
+@DynamoSchema(version = 2)
+public record Profile(String id,
+                      @DynamoAlias({"full_name", "fullName"}) String displayName,
+                      @DynamoAlias(value = "name", until = 2) String nickname,
+                      String name) {
+}
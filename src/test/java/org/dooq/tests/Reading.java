@@ -0,0 +1,10 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoSharded;
+import org.dooq.converter.PartitionKey;
+import org.dooq.converter.SortKey;
+
+public record Reading(@PartitionKey @DynamoSharded(shards = 4, by = "sequence") String sensor,
+                      @SortKey long sequence,
+                      double value) {
+}
@@ -0,0 +1,4 @@
+package org.dooq.tests;
+
+public record Samples(int[] counts, long[] timestamps, double[] values, float[] ratios, short[] levels) {
+}
@@ -0,0 +1,8 @@
+package org.dooq.tests;
+
+import java.util.List;
+import java.util.Map;
+
+public record Scalars(int count, short level, Short boxedLevel, byte flags, Byte boxedFlags, double ratio, Double boxedRatio,
+                      char grade, Character boxedGrade, List<Long> ids, Map<String, Double> weights) {
+}
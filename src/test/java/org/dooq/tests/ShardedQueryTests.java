@@ -0,0 +1,226 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoConverter;
+import org.dooq.converter.query.ShardedQuery;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ShardedQueryTests {
+
+    /**
+     * Partitions ordered by numeric sort key, the value in the index, pages of the request limit
+     */
+    static class PartitionClient implements DynamoDbClient {
+
+        final Map<String, List<Map<String, AttributeValue>>> partitions = new ConcurrentHashMap<>();
+        final List<String> queried = new CopyOnWriteArrayList<>();
+        final Set<String> indexes = ConcurrentHashMap.newKeySet();
+        final AtomicInteger requests = new AtomicInteger();
+
+        void put(Map<String, AttributeValue> item) {
+            var partition = partitions.computeIfAbsent(item.get("sensor").s(), key -> new ArrayList<>());
+
+            partition.add(item);
+            partition.sort(Comparator.comparing(value -> new BigDecimal(value.get("sequence").n())));
+        }
+
+        @Override
+        public QueryResponse query(QueryRequest request) {
+            requests.incrementAndGet();
+
+            var partition = request.expressionAttributeValues().get(":pk").s();
+            var items = new ArrayList<>(partitions.getOrDefault(partition, List.of()));
+
+            queried.add(partition);
+
+            if (request.indexName() != null) {
+                indexes.add(request.indexName());
+                items.sort(Comparator.comparing(value -> new BigDecimal(value.get("value").n())));
+            }
+
+            if (Boolean.FALSE.equals(request.scanIndexForward())) {
+                Collections.reverse(items);
+            }
+
+            int start = 0;
+
+            if (request.hasExclusiveStartKey()) {
+                start = items.indexOf(items.stream()
+                        .filter(item -> item.get("sequence").equals(request.exclusiveStartKey().get("sequence")))
+                        .findFirst()
+                        .orElseThrow()) + 1;
+            }
+
+            int end = request.limit() == null ? items.size() : Math.min(items.size(), start + request.limit());
+            var page = items.subList(start, end);
+            var builder = QueryResponse.builder().items(List.copyOf(page)).count(page.size());
+
+            if (end < items.size()) {
+                var last = page.get(page.size() - 1);
+                builder.lastEvaluatedKey(Map.of("sensor", last.get("sensor"), "sequence", last.get("sequence")));
+            }
+
+            return builder.build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "dynamodb";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    static PartitionClient load(int count) {
+
+        var client = new PartitionClient();
+        var converter = DynamoConverter.getConverter(Reading.class);
+
+        for (int i = 0; i < count; i++) {
+            client.put(converter.write(new Reading("s-1", i, i / 2.0)));
+        }
+
+        client.put(converter.write(new Reading("s-2", 1, 0)));
+
+        return client;
+    }
+
+    @Test
+    void shardedKeys() {
+
+        var converter = DynamoConverter.getConverter(Reading.class);
+        var reading = new Reading("s-1", 7, 1.5);
+        var item = converter.write(reading);
+
+        Assertions.assertTrue(item.get("sensor").s().matches("s-1#[0-3]"));
+        Assertions.assertEquals(reading, converter.read(item));
+        Assertions.assertEquals(Map.of("sensor", item.get("sensor"), "sequence", item.get("sequence")), converter.writeKey(reading));
+        Assertions.assertEquals(converter.writeKey(reading), converter.key("s-1", 7L));
+        Assertions.assertEquals(new Reading("s-1", 7, 0), converter.readKey(converter.writeKey(reading)));
+
+        var client = load(40);
+
+        Assertions.assertEquals(5, client.partitions.size(), "Items are spread over the 4 shards");
+    }
+
+    @Test
+    void shardedByAnotherField() {
+
+        var converter = DynamoConverter.getConverter(Meter.class);
+        var meter = new Meter("site-1", 7, "d-1");
+        var key = converter.writeKey(meter);
+
+        Assertions.assertTrue(key.get("site").s().matches("site-1#[0-3]"));
+        Assertions.assertEquals(meter, converter.read(converter.write(meter)));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> converter.key("site-1", 7L));
+    }
+
+    @Test
+    void legacyKeysAreReadUnchanged() {
+
+        var converter = DynamoConverter.getConverter(Reading.class);
+
+        for (String sensor : List.of("CUSTOMER#42", "CUSTOMER#4", "CUSTOMER#01", "CUSTOMER#", "CUSTOMER#x", "CUSTOMER", "#99999999999")) {
+            var item = Map.of("sensor", AttributeValue.fromS(sensor), "sequence", AttributeValue.fromN("1"));
+
+            Assertions.assertEquals(sensor, converter.read(item).sensor());
+        }
+
+        Assertions.assertEquals("CUSTOMER#42", converter.read(Map.of("sensor", AttributeValue.fromS("CUSTOMER#42#3"))).sensor());
+        Assertions.assertEquals("s-1", converter.read(Map.of("sensor", AttributeValue.fromS("s-1#0"))).sensor());
+    }
+
+    @Test
+    void mergesShardsInSortKeyOrder() {
+
+        var client = load(40);
+
+        var query = ShardedQuery.builder(client, "readings", Reading.class)
+                .pageSize(3)
+                .build();
+
+        List<Reading> readings;
+
+        try (var stream = query.stream("s-1")) {
+            readings = stream.toList();
+        }
+
+        Assertions.assertEquals(40, readings.size());
+
+        for (int i = 0; i < readings.size(); i++) {
+            Assertions.assertEquals(new Reading("s-1", i, i / 2.0), readings.get(i));
+        }
+
+        Assertions.assertEquals(Set.of("s-1#0", "s-1#1", "s-1#2", "s-1#3"), Set.copyOf(client.queried));
+
+        var descending = ShardedQuery.builder(client, "readings", Reading.class)
+                .descending()
+                .build();
+
+        try (var stream = descending.stream("s-1")) {
+            Assertions.assertEquals(List.of(39L, 38L, 37L), stream.limit(3).map(Reading::sequence).toList());
+        }
+    }
+
+    @Test
+    void mergesIndexSortKeys() {
+
+        var client = new PartitionClient();
+        var converter = DynamoConverter.getConverter(Reading.class);
+
+        for (int i = 0; i < 20; i++) {
+            client.put(converter.write(new Reading("s-1", i, 20 - i)));
+        }
+
+        var query = ShardedQuery.builder(client, "readings", Reading.class)
+                .indexName("by-value")
+                .sortKey("value")
+                .build();
+
+        try (var stream = query.stream("s-1")) {
+            Assertions.assertEquals(List.of(19L, 18L, 17L), stream.limit(3).map(Reading::sequence).toList());
+        }
+
+        Assertions.assertEquals(Set.of("by-value"), client.indexes);
+
+        //The table only orders shards by sequence
+        Assertions.assertThrows(IllegalStateException.class, () -> ShardedQuery.builder(client, "readings", Reading.class)
+                .sortKey("value")
+                .build());
+    }
+
+    @Test
+    void streamsLazily() {
+
+        var client = load(40);
+
+        var query = ShardedQuery.builder(client, "readings", Reading.class)
+                .pageSize(2)
+                .executor(Runnable::run)
+                .build();
+
+        try (var stream = query.stream("s-1")) {
+            Assertions.assertEquals(List.of(0L, 1L), stream.limit(2).map(Reading::sequence).toList());
+        }
+
+        //First page and its prefetched next page per shard, far from the 20 pages of the partition
+        Assertions.assertTrue(client.requests.get() <= 10, "Requests: " + client.requests.get());
+    }
+}
@@ -0,0 +1,7 @@
+package org.dooq.tests;
+
+import org.dooq.converter.PartitionKey;
+import org.dooq.converter.SortKey;
+
+public record Shipment(@PartitionKey String customer, @SortKey long sequence, String carrier, int weight) {
+}
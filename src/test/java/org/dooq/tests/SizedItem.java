@@ -0,0 +1,9 @@
+package org.dooq.tests;
+
+import java.util.List;
+import java.util.Map;
+
+public record SizedItem(String id, String title, int count, Long total, long balance, short flags, Integer missing,
+                        boolean active, Boolean archived, double ratio, List<String> tags, Map<String, Integer> scores,
+                        Pojo owner) {
+}
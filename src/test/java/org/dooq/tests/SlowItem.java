@@ -0,0 +1,17 @@
+package org.dooq.tests;
+
+/**
+ * Takes the delay to be created, so reading it is a slow conversion
+ */
+public record SlowItem(String id, int delayMillis) {
+
+    public SlowItem {
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.dooq.tests;
+
+import org.dooq.converter.collections.LongHashSet;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+public record TagSets(Set<Long> ids, Set<BigDecimal> amounts, Set<SdkBytes> hashes, LongHashSet permissions) {
+}
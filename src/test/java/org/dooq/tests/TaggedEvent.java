@@ -0,0 +1,18 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoAbbreviate;
+import org.dooq.converter.DynamoAttribute;
+
+/**
+ * {@link Event} with a new field, "eventTag" is abbreviated to "et" too but isn't in the dictionary yet
+ */
+@DynamoAbbreviate(dictionary = "event-names.properties")
+public record TaggedEvent(@DynamoAttribute("pk") String deviceId,
+                          long timestamp,
+                          long eventTime,
+                          String eventTag,
+                          String eventType,
+                          int errorCount,
+                          boolean acknowledged,
+                          Event.Origin origin) {
+}
@@ -0,0 +1,20 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoTemporal;
+import org.dooq.converter.DynamoTemporal.Format;
+
+import java.time.*;
+import java.util.List;
+
+public record Timestamps(Instant created,
+                         @DynamoTemporal(Format.EPOCH_SECONDS) Instant expiresAt,
+                         @DynamoTemporal(Format.EPOCH_MILLIS) OffsetDateTime updated,
+                         ZonedDateTime zoned,
+                         Duration timeout,
+                         @DynamoTemporal(Format.EPOCH_MILLIS) Duration delay,
+                         @DynamoTemporal(Format.EPOCH_SECONDS) LocalDateTime local,
+                         LocalTime opens,
+                         Year year,
+                         YearMonth period,
+                         List<Instant> history) {
+}
@@ -0,0 +1,9 @@
+package org.dooq.tests;
+
+import org.dooq.converter.DynamoBinary;
+
+import java.util.List;
+import java.util.UUID;
+
+public record UuidItem(UUID id, @DynamoBinary UUID owner, List<UUID> references) {
+}
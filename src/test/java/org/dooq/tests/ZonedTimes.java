@@ -0,0 +1,6 @@
+package org.dooq.tests;
+
+import java.time.*;
+
+public record ZonedTimes(OffsetDateTime offset, ZonedDateTime zoned, Duration duration, YearMonth period) {
+}